@@ -1,24 +1,46 @@
 package com.example.eventix.controller;
 
 
+import com.example.eventix.dto.CatalogStatsDTO;
 import com.example.eventix.dto.CategoryDTO;
+import com.example.eventix.dto.EventCancellationDTO;
 import com.example.eventix.dto.EventDTO;
+import com.example.eventix.dto.EventStatsDTO;
 import com.example.eventix.dto.ReservationDTO;
+import com.example.eventix.dto.SalesAnalyticsDTO;
+import com.example.eventix.dto.SalesPointDTO;
 import com.example.eventix.dto.UserDTO;
+import com.example.eventix.dto.VenueSectionDTO;
 import com.example.eventix.service.AdminService;
+import com.example.eventix.service.EventCommandPipeline;
+import com.example.eventix.service.EventStatsService;
+import com.example.eventix.service.ExportService;
 import com.example.eventix.service.FileUploadService;
-
+import com.example.eventix.service.SalesStream;
+import com.example.eventix.service.SalesTimeSeries;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/admin")
@@ -29,6 +51,14 @@ public class AdminController {
 
     private final AdminService adminService;
     private final FileUploadService fileUploadService;
+    private final EventCommandPipeline eventCommandPipeline;
+    private final ExportService exportService;
+    private final SalesTimeSeries salesTimeSeries;
+    private final SalesStream salesStream;
+    private final EventStatsService eventStatsService;
+
+    @Value("${eventix.exports.timeout-ms:1800000}")
+    private long exportTimeoutMillis;
 
 
     
@@ -53,6 +83,128 @@ public class AdminController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/events/{id}/sections")
+    public ResponseEntity<VenueSectionDTO> addSection(@PathVariable Long id, @RequestBody VenueSectionDTO sectionDTO) {
+        return new ResponseEntity<>(adminService.addSection(id, sectionDTO), HttpStatus.CREATED);
+    }
+
+    @PutMapping("/events/{id}/admission-queue")
+    public ResponseEntity<Void> enableAdmissionQueue(@PathVariable Long id, @RequestParam double ratePerSecond) {
+        adminService.enableAdmissionQueue(id, ratePerSecond);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/events/{id}/admission-queue")
+    public ResponseEntity<Void> disableAdmissionQueue(@PathVariable Long id) {
+        adminService.disableAdmissionQueue(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/events/{id}/cancellation")
+    public ResponseEntity<EventCancellationDTO> cancelEvent(@PathVariable Long id) {
+        return new ResponseEntity<>(adminService.cancelEvent(id), HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/events/{id}/cancellation")
+    public ResponseEntity<EventCancellationDTO> getEventCancellation(@PathVariable Long id) {
+        return ResponseEntity.ok(adminService.getEventCancellation(id));
+    }
+
+    @PutMapping("/events/{id}/gate")
+    public ResponseEntity<Map<String, Integer>> openGate(@PathVariable Long id) {
+        return ResponseEntity.ok(Map.of("tickets", adminService.openGate(id)));
+    }
+
+    @DeleteMapping("/events/{id}/gate")
+    public ResponseEntity<Void> closeGate(@PathVariable Long id) {
+        adminService.closeGate(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/catalog/stats")
+    public ResponseEntity<CatalogStatsDTO> getCatalogStats() {
+        return ResponseEntity.ok(adminService.getCatalogStats());
+    }
+
+    // Revenue and seats sold per event and category, kept up to date as payments and cancels commit.
+    @GetMapping("/analytics")
+    public ResponseEntity<SalesAnalyticsDTO> getSalesAnalytics(@RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(adminService.getSalesAnalytics(limit));
+    }
+
+    // Net sales per bucket over the last 5 minutes (second), 2 hours (minute) or 2 days (hour).
+    @GetMapping("/events/{id}/sales")
+    public ResponseEntity<List<SalesPointDTO>> getSalesHistory(@PathVariable Long id,
+                                                               @RequestParam(required = false) String resolution) {
+        return ResponseEntity.ok(salesTimeSeries.history(id, SalesTimeSeries.Resolution.of(resolution)));
+    }
+
+    @GetMapping(value = "/events/{id}/sales/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSales(@PathVariable Long id) {
+        return salesStream.subscribe(id);
+    }
+
+    // One summary row per event: reservations and seats by status, check-ins and revenue.
+    @GetMapping("/events/stats")
+    public ResponseEntity<List<EventStatsDTO>> getEventStats(@RequestParam(required = false) String cursor,
+                                                             @RequestParam(required = false) Integer limit) {
+        return CursorResponses.ok(eventStatsService.getStatsPage(cursor, limit));
+    }
+
+    @GetMapping("/events/{id}/stats")
+    public ResponseEntity<EventStatsDTO> getEventStats(@PathVariable Long id) {
+        return ResponseEntity.ok(eventStatsService.getStats(id));
+    }
+
+    // Recomputes the row from reservations, payments and tickets, as the nightly repair job does.
+    @PostMapping("/events/{id}/stats/repair")
+    public ResponseEntity<EventStatsDTO> repairEventStats(@PathVariable Long id) {
+        return ResponseEntity.ok(eventStatsService.repairStats(id));
+    }
+
+    // Streamed exports: ?format=csv (default) or ndjson, optional from/to date-time range.
+    @GetMapping("/exports/reservations")
+    public WebAsyncTask<Void> exportReservations(HttpServletResponse response,
+                                                 @RequestParam(required = false) String format,
+                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        ExportService.Format exportFormat = ExportService.Format.of(format);
+        return export(response, "reservations", exportFormat, out -> exportService.exportReservations(exportFormat, from, to, out));
+    }
+
+    @GetMapping("/exports/tickets")
+    public WebAsyncTask<Void> exportTickets(HttpServletResponse response,
+                                            @RequestParam(required = false) String format,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        ExportService.Format exportFormat = ExportService.Format.of(format);
+        return export(response, "tickets", exportFormat, out -> exportService.exportTickets(exportFormat, from, to, out));
+    }
+
+    @GetMapping("/exports/payments")
+    public WebAsyncTask<Void> exportPayments(HttpServletResponse response,
+                                             @RequestParam(required = false) String format,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        ExportService.Format exportFormat = ExportService.Format.of(format);
+        return export(response, "payments", exportFormat, out -> exportService.exportPayments(exportFormat, from, to, out));
+    }
+
+    // Written straight to the response on an async thread. The timeout is set here, for exports
+    // only: a download may take many minutes, every other async endpoint keeps the default.
+    private WebAsyncTask<Void> export(HttpServletResponse response, String name, ExportService.Format format, StreamingResponseBody body) {
+        response.setContentType(format.contentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(name + "-" + LocalDate.now() + "." + format.extension())
+                .build()
+                .toString());
+        return new WebAsyncTask<>(exportTimeoutMillis, () -> {
+            body.writeTo(response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+
     @PostMapping("/upload-event-image")
     public ResponseEntity<Map<String, String>> uploadEventImage(@RequestParam("file") MultipartFile file) {
         try {
@@ -90,17 +242,30 @@ public class AdminController {
     
 
     @GetMapping("/users")
-    public ResponseEntity<List<UserDTO>> getAllUsers(){
-        return ResponseEntity.ok(adminService.getAllUsers());
+    public ResponseEntity<List<UserDTO>> getAllUsers(@RequestParam(required = false) String role,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer limit){
+        return CursorResponses.ok(adminService.getUsers(role, cursor, limit));
     }
 
     @GetMapping("/reservations")
-    public ResponseEntity<List<ReservationDTO>> getAllReservations(){return ResponseEntity.ok(adminService.getAllReservations());}
+    public ResponseEntity<List<ReservationDTO>> getAllReservations(@RequestParam(required = false) String status,
+                                                                   @RequestParam(required = false) Long eventId,
+                                                                   @RequestParam(required = false) Long userId,
+                                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                                   @RequestParam(required = false) String cursor,
+                                                                   @RequestParam(required = false) Integer limit){
+        return CursorResponses.ok(adminService.getReservations(status, eventId, userId, from, to, cursor, limit));
+    }
     
     
     @DeleteMapping("/reservations/{id}")
-    public ResponseEntity<Void> cancelReservation(@PathVariable Long id) {
-        adminService.cancelReservation(id);
-        return ResponseEntity.noContent().build();
+    public CompletableFuture<ResponseEntity<Void>> cancelReservation(@PathVariable Long id) {
+        return eventCommandPipeline.submitForReservation(id, () -> adminService.checkCancellation(id), () -> {
+                    adminService.cancelReservation(id);
+                    return null;
+                })
+                .thenApply(done -> ResponseEntity.noContent().build());
 
 }}
@@ -4,6 +4,7 @@ import com.example.eventix.dto.CategoryDTO;
 import com.example.eventix.service.CategoryService;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,14 +19,17 @@ public class CategoryController {
     private final CategoryService categoryService;
 
     @GetMapping
-    public ResponseEntity<List<CategoryDTO>> getAllCategories(){
-        return ResponseEntity.ok(categoryService.getAllCategories());
+    public ResponseEntity<List<CategoryDTO>> getAllCategories(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        return ConditionalResponses.ifNoneMatch(ifNoneMatch, ConditionalResponses.etag("categories", categoryService.version()),
+                () -> ResponseEntity.ok(categoryService.getAllCategories()));
     }
 
 
     @GetMapping("/{id}")
-    public ResponseEntity<CategoryDTO> getCategoryById(@PathVariable Long id){
-      return ResponseEntity.ok(categoryService.getCategoryById(id));
+    public ResponseEntity<CategoryDTO> getCategoryById(@PathVariable Long id,
+                                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+      return ConditionalResponses.ifNoneMatch(ifNoneMatch, ConditionalResponses.etag("category-" + id, categoryService.version()),
+              () -> ResponseEntity.ok(categoryService.getCategoryById(id)));
     }
 
 
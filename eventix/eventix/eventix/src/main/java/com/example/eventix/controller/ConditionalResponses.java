@@ -0,0 +1,52 @@
+package com.example.eventix.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+// Conditional GETs on a cheap version string: If-None-Match is answered before the body is
+// built, so a revalidation costs neither a query nor serialization (event lists, versioned by
+// their rows, skip only the serialization). Tags carry a per-process
+// prefix because versions are in-memory counters that restart with the application.
+final class ConditionalResponses {
+
+    private static final String INSTANCE = Long.toString(System.currentTimeMillis(), 36);
+
+    private ConditionalResponses() {
+    }
+
+    static String etag(String resource, String version) {
+        return "\"" + resource + "-" + INSTANCE + "-" + version + "\"";
+    }
+
+    static <T> ResponseEntity<T> ifNoneMatch(String ifNoneMatch, String etag, Supplier<ResponseEntity<T>> response) {
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        ResponseEntity<T> full = response.get();
+        return ResponseEntity.status(full.getStatusCode())
+                .headers(full.getHeaders())
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(full.getBody());
+    }
+
+    // If-None-Match compares weakly and may list several tags.
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || (tag.startsWith("W/") && tag.substring(2).equals(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
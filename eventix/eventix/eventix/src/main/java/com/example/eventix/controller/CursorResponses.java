@@ -0,0 +1,23 @@
+package com.example.eventix.controller;
+
+import com.example.eventix.dto.CursorPage;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+// Paged lists keep a plain array body; the cursor for the next page travels in a header.
+final class CursorResponses {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private CursorResponses() {
+    }
+
+    static <T> ResponseEntity<List<T>> ok(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+}
@@ -2,18 +2,29 @@ package com.example.eventix.controller;
 
 
 import com.example.eventix.dto.EventDTO;
+import com.example.eventix.dto.EventFacetsDTO;
+import com.example.eventix.dto.VenueSectionDTO;
 import com.example.eventix.model.Event;
+import com.example.eventix.service.AvailabilityStream;
 import com.example.eventix.service.EventService;
+import com.example.eventix.service.VenueSectionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/v1/events")
@@ -21,27 +32,100 @@ import java.util.List;
 public class EventController {
 
     private final EventService eventService;
+    private final VenueSectionService venueSectionService;
+    private final AvailabilityStream availabilityStream;
 
     @GetMapping
-    public ResponseEntity<List<EventDTO>> getAllEvents(){
-        return ResponseEntity.ok(eventService.getAllEvents());
+    public ResponseEntity<List<EventDTO>> getAllEvents(@RequestParam(required = false) String search,
+                                                       @RequestParam(required = false) Long categoryId,
+                                                       @RequestParam(required = false) Long userId,
+                                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                       @RequestParam(required = false) String sort,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestParam(required = false) Integer limit,
+                                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        return eventList(ifNoneMatch, () -> search != null && !search.isBlank()
+                        ? ResponseEntity.ok(eventService.searchEvents(search, categoryId, userId, from, to, limit))
+                        : CursorResponses.ok(eventService.getEvents(categoryId, userId, from, to, sort, cursor, limit)));
     }
 
 
+    @GetMapping("/facets")
+    public ResponseEntity<EventFacetsDTO> getFacets(@RequestParam(required = false) Long categoryId,
+                                                    @RequestParam(required = false) String date,
+                                                    @RequestParam(required = false) String price,
+                                                    @RequestParam(required = false) String availability,
+                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        return ConditionalResponses.ifNoneMatch(ifNoneMatch, ConditionalResponses.etag("facets", eventService.facetsVersion()),
+                () -> ResponseEntity.ok(eventService.getFacets(categoryId, date, price, availability)));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<EventDTO> getEventById(@PathVariable Long id){
-        return ResponseEntity.ok(eventService.getEventById(id));
+    public ResponseEntity<EventDTO> getEventById(@PathVariable Long id,
+                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        return ConditionalResponses.ifNoneMatch(ifNoneMatch, ConditionalResponses.etag("event-" + id, eventService.eventVersion(id)),
+                () -> ResponseEntity.ok(eventService.getEventById(id)));
+    }
+
+
+    // Server-Sent Events: the seat count now, then whenever it changes, a few times a second at most.
+    @GetMapping(value = "/{id}/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability(@PathVariable Long id){
+        return availabilityStream.subscribe(id);
+    }
+
+
+    @GetMapping("/{id}/sections")
+    public ResponseEntity<List<VenueSectionDTO>> getEventSections(@PathVariable Long id){
+        return ResponseEntity.ok(venueSectionService.getSections(id));
     }
 
 
     @GetMapping("/byCategory/{id}")
-    public  ResponseEntity<List<EventDTO>> getEventByCategoryId(@PathVariable Long id){
-        return ResponseEntity.ok(eventService.getEventByCategoryId(id));
+    public  ResponseEntity<List<EventDTO>> getEventByCategoryId(@PathVariable Long id,
+                                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        return eventList(ifNoneMatch, () -> ResponseEntity.ok(eventService.getEventByCategoryId(id)));
     }
 
     @GetMapping("byDate/{date}")
-    public ResponseEntity<List<EventDTO>> getEventByDate(@PathVariable("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date){
-        return ResponseEntity.ok(eventService.getEventByDate(date));
+    public ResponseEntity<List<EventDTO>> getEventByDate(@PathVariable("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                                         @RequestParam(required = false) Integer limit,
+                                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        return eventList(ifNoneMatch, () -> ResponseEntity.ok(eventService.getEventByDate(date, limit)));
+    }
+
+    @GetMapping("/range")
+    public ResponseEntity<List<EventDTO>> getEventsBetween(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                           @RequestParam(required = false) Integer limit,
+                                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        return eventList(ifNoneMatch, () -> ResponseEntity.ok(eventService.getEventsBetween(from, to, limit)));
+    }
+
+    @GetMapping("/upcoming")
+    public ResponseEntity<List<EventDTO>> getUpcomingEvents(@RequestParam(required = false) Integer limit,
+                                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        return eventsIn(eventService.upcoming(), limit, ifNoneMatch);
+    }
+
+    @GetMapping("/weekend")
+    public ResponseEntity<List<EventDTO>> getWeekendEvents(@RequestParam(required = false) Integer limit,
+                                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        return eventsIn(eventService.weekend(), limit, ifNoneMatch);
+    }
+
+    private ResponseEntity<List<EventDTO>> eventsIn(EventService.DateRange range, Integer limit, String ifNoneMatch){
+        return eventList(ifNoneMatch, () -> ResponseEntity.ok(eventService.getEventsBetween(range.from(), range.to(), limit)));
+    }
+
+    // A list's version depends on the events in it, so its rows are built first; a match still
+    // saves serializing and sending them.
+    private ResponseEntity<List<EventDTO>> eventList(String ifNoneMatch, Supplier<ResponseEntity<List<EventDTO>>> response){
+        long catalogVersion = eventService.catalogVersion();
+        ResponseEntity<List<EventDTO>> full = response.get();
+        String etag = ConditionalResponses.etag("events", eventService.listVersion(catalogVersion, full.getBody()));
+        return ConditionalResponses.ifNoneMatch(ifNoneMatch, etag, () -> full);
     }
 
 }
@@ -1,14 +1,18 @@
 package com.example.eventix.controller;
 
 import com.example.eventix.dto.PaymentDTO;
+import com.example.eventix.service.EventCommandPipeline;
 import com.example.eventix.service.PaymentService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/payments")
@@ -17,9 +21,14 @@ public class PaymentController {
 
     private final PaymentService paymentService;
 
+    private final EventCommandPipeline eventCommandPipeline;
+
     @PostMapping
-    public ResponseEntity<PaymentDTO> createPayment(@RequestBody PaymentDTO paymentDTO){
-        return ResponseEntity.ok(paymentService.createPayment(paymentDTO));
+    public CompletableFuture<ResponseEntity<PaymentDTO>> createPayment(@RequestBody PaymentDTO paymentDTO){
+        return eventCommandPipeline.submitForReservation(paymentDTO.getReservation_id(),
+                        () -> paymentService.checkPayment(paymentDTO),
+                        () -> paymentService.createPayment(paymentDTO))
+                .thenApply(ResponseEntity::ok);
     }
 
     @GetMapping("/{id}")
@@ -34,8 +43,15 @@ public class PaymentController {
 
 
     @GetMapping
-    public ResponseEntity<List<PaymentDTO>> getAllPayments(){
-        return ResponseEntity.ok(paymentService.getAllPayments());
+    public ResponseEntity<List<PaymentDTO>> getAllPayments(@RequestParam(required = false) String status,
+                                                           @RequestParam(required = false) Long reservationId,
+                                                           @RequestParam(required = false) Long eventId,
+                                                           @RequestParam(required = false) Long userId,
+                                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(required = false) Integer limit){
+        return CursorResponses.ok(paymentService.getPayments(status, reservationId, eventId, userId, from, to, cursor, limit));
     }
 
     @DeleteMapping("/{id}")
@@ -1,9 +1,12 @@
 package com.example.eventix.controller;
 
 
+import com.example.eventix.dto.QueueTicketDTO;
 import com.example.eventix.dto.ReservationDTO;
 import com.example.eventix.model.ReservationStatus;
 import com.example.eventix.service.AdminService;
+import com.example.eventix.service.AdmissionQueueService;
+import com.example.eventix.service.EventCommandPipeline;
 import com.example.eventix.service.ReservationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -11,6 +14,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/reservations")
@@ -21,10 +25,34 @@ public class ReservationController {
 
     private final ReservationService reservationService;
 
+    private final AdmissionQueueService admissionQueueService;
+
+    private final EventCommandPipeline eventCommandPipeline;
+
     @PostMapping
-    public ResponseEntity<ReservationDTO> createReservation(@RequestBody ReservationDTO reservationDTO){
-        ReservationDTO created = reservationService.createReservation(reservationDTO);
-        return new ResponseEntity<> (created, HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<ReservationDTO>> createReservation(@RequestBody ReservationDTO reservationDTO,
+                                                                               @RequestHeader(value = "X-Queue-Token", required = false) String queueToken){
+        // Checked before the service call so queued clients never take a DB connection.
+        Long admitted = admissionQueueService.claim(reservationDTO.getEvent_id(), queueToken);
+        return eventCommandPipeline.submit(reservationDTO.getEvent_id(),
+                        () -> reservationService.checkReservation(reservationDTO),
+                        () -> reservationService.createReservation(reservationDTO))
+                .whenComplete((created, e) -> {
+                    if (e != null) {
+                        admissionQueueService.restore(reservationDTO.getEvent_id(), queueToken, admitted);
+                    }
+                })
+                .thenApply(created -> new ResponseEntity<>(created, HttpStatus.CREATED));
+    }
+
+    @PostMapping("/queue/{eventId}")
+    public ResponseEntity<QueueTicketDTO> joinQueue(@PathVariable Long eventId){
+        return new ResponseEntity<>(admissionQueueService.join(eventId), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/queue/{eventId}/{token}")
+    public ResponseEntity<QueueTicketDTO> getQueuePosition(@PathVariable Long eventId, @PathVariable String token){
+        return ResponseEntity.ok(admissionQueueService.status(eventId, token));
     }
 
     @GetMapping("/{userid}")
@@ -43,9 +71,12 @@ public class ReservationController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> cancelReservation(@PathVariable Long id){
-        reservationService.cancelReservation(id);
-        return ResponseEntity.noContent().build();
+    public CompletableFuture<ResponseEntity<Void>> cancelReservation(@PathVariable Long id){
+        return eventCommandPipeline.submitForReservation(id, () -> reservationService.checkCancellation(id), () -> {
+                    reservationService.cancelReservation(id);
+                    return null;
+                })
+                .thenApply(done -> ResponseEntity.noContent().build());
     }
 
 
@@ -1,7 +1,13 @@
 package com.example.eventix.controller;
 
+import com.example.eventix.dto.CheckInBatchDTO;
+import com.example.eventix.dto.CheckInResultDTO;
 import com.example.eventix.dto.TicketDTO;
+import com.example.eventix.dto.TicketSyncDTO;
+import com.example.eventix.dto.TicketTokenDTO;
+import com.example.eventix.service.GateCheckInService;
 import com.example.eventix.service.TicketService;
+import com.example.eventix.service.TicketSyncService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,6 +20,8 @@ import java.util.List;
 public class TicketController {
 
     private final TicketService ticketService;
+    private final GateCheckInService gateCheckInService;
+    private final TicketSyncService ticketSyncService;
 
     @PostMapping
     public ResponseEntity<TicketDTO> createTicket(@RequestBody TicketDTO ticketDTO){
@@ -42,12 +50,36 @@ public class TicketController {
 
     @PutMapping("/checkin/{ticketCode}")
     public ResponseEntity<TicketDTO> checkInTicket(@PathVariable String ticketCode){
-        return ResponseEntity.ok(ticketService.checkInTicket(ticketCode));
+        return ResponseEntity.ok(gateCheckInService.checkIn(ticketCode));
+    }
+
+    @GetMapping("/verify/{token}")
+    public ResponseEntity<TicketTokenDTO> verifyToken(@PathVariable String token){
+        return ResponseEntity.ok(gateCheckInService.verifyToken(token));
+    }
+
+    @PutMapping("/checkin/token/{token}")
+    public ResponseEntity<TicketDTO> checkInToken(@PathVariable String token){
+        return ResponseEntity.ok(gateCheckInService.checkInToken(token));
+    }
+
+    @PostMapping("/checkin/batch")
+    public ResponseEntity<List<CheckInResultDTO>> checkInBatch(@RequestBody CheckInBatchDTO batch){
+        return ResponseEntity.ok(ticketSyncService.checkInBatch(batch));
+    }
+
+    @GetMapping("/sync/{eventId}")
+    public ResponseEntity<TicketSyncDTO> syncTickets(@PathVariable Long eventId, @RequestParam(required = false) Long since){
+        return ResponseEntity.ok(ticketSyncService.sync(eventId, since));
     }
 
     @GetMapping
-    public ResponseEntity<List<TicketDTO>> getAllTickets(){
-        return ResponseEntity.ok(ticketService.getAllTickets());
+    public ResponseEntity<List<TicketDTO>> getAllTickets(@RequestParam(required = false) String status,
+                                                         @RequestParam(required = false) Long reservationId,
+                                                         @RequestParam(required = false) Long eventId,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer limit){
+        return CursorResponses.ok(ticketService.getTickets(status, reservationId, eventId, cursor, limit));
     }
 
     @DeleteMapping("/{id}")
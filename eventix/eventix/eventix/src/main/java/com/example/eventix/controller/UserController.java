@@ -19,9 +19,10 @@ public class UserController {
     private final UserService userService;
 
     @GetMapping
-    public ResponseEntity<List<UserDTO>> getAllUsers(){
-        List<UserDTO> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<List<UserDTO>> getAllUsers(@RequestParam(required = false) String role,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer limit){
+        return CursorResponses.ok(userService.getUsers(role, cursor, limit));
     }
 
     @GetMapping("/{id}")
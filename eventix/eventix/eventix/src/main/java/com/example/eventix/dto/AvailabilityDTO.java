@@ -0,0 +1,17 @@
+package com.example.eventix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityDTO {
+
+    private Long event_id;
+    private long availableSeats;
+    private boolean soldOut;
+}
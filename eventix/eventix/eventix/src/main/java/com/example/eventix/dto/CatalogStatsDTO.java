@@ -0,0 +1,23 @@
+package com.example.eventix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogStatsDTO {
+
+    private int size;
+    private int maxSize;
+    private long ttlMillis;
+    private long hits;
+    private long misses;
+    private double hitRate;
+    private long loads;
+    private long evictions;
+    private long invalidations;
+}
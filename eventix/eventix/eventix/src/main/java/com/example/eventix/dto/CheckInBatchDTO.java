@@ -0,0 +1,20 @@
+package com.example.eventix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckInBatchDTO {
+
+    private String device_id;
+
+    private List<CheckInScanDTO> scans;
+
+}
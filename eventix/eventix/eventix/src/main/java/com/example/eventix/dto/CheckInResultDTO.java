@@ -0,0 +1,25 @@
+package com.example.eventix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckInResultDTO {
+
+    private String ticketCode;
+
+    private Long ticket_id;
+
+    // ADMITTED, ALREADY_CHECKED_IN, CANCELED, NOT_FOUND or INVALID
+    private String result;
+
+    private LocalDateTime checkedInAt;
+
+}
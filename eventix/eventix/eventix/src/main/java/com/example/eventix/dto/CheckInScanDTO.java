@@ -0,0 +1,21 @@
+package com.example.eventix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckInScanDTO {
+
+    private String ticketCode;
+
+    // Device clock at the moment of the scan.
+    private LocalDateTime scannedAt;
+
+}
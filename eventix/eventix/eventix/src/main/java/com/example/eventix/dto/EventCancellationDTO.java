@@ -0,0 +1,36 @@
+package com.example.eventix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventCancellationDTO {
+
+    private Long id;
+
+    private Long event_id;
+
+    private String status;
+
+    private Long reservationsCancelled;
+
+    private Long paymentsCancelled;
+
+    private Long ticketsCancelled;
+
+    private String error;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime completedAt;
+
+}
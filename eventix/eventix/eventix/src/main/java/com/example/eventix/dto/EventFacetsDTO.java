@@ -0,0 +1,22 @@
+package com.example.eventix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventFacetsDTO {
+
+    private long total;
+    // category id -> count
+    private Map<Long, Long> categories;
+    private Map<String, Long> dates;
+    private Map<String, Long> prices;
+    private Map<String, Long> availability;
+}
@@ -0,0 +1,42 @@
+package com.example.eventix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventStatsDTO {
+
+    private Long event_id;
+
+    private long heldReservations;
+
+    private long heldSeats;
+
+    private long paidReservations;
+
+    private long seatsSold;
+
+    private long cancelledReservations;
+
+    private long cancelledSeats;
+
+    private long expiredReservations;
+
+    private long expiredSeats;
+
+    private long ticketsCheckedIn;
+
+    private long revenueCents;
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime repairedAt;
+
+}
@@ -0,0 +1,22 @@
+package com.example.eventix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueueTicketDTO {
+
+    private Long event_id;
+
+    private String token;
+
+    private Long position;
+
+    private boolean admitted;
+
+}
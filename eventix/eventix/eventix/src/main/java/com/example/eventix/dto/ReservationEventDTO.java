@@ -0,0 +1,22 @@
+package com.example.eventix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Payload of the reservation domain events. amount is what was paid, or refunded on a cancel.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationEventDTO {
+
+    private Long reservation_id;
+    private Long event_id;
+    private Long user_id;
+    private Long seats;
+    private BigDecimal amount;
+}
@@ -0,0 +1,26 @@
+package com.example.eventix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesAnalyticsDTO {
+
+    private long totalEvents;
+    private long totalUsers;
+    // Paid reservations only.
+    private long reservations;
+    private long seatsSold;
+    private long revenueCents;
+    private List<SalesDTO> topEventsBySeats;
+    private List<SalesDTO> topEventsByRevenue;
+    private List<SalesDTO> categories;
+    private List<ReservationDTO> topReservations;
+}
@@ -0,0 +1,20 @@
+package com.example.eventix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Paid sales of one event or one category.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesDTO {
+
+    private Long id;
+    private String name;
+    private long reservations;
+    private long seatsSold;
+    private long revenueCents;
+}
@@ -0,0 +1,21 @@
+package com.example.eventix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Net sales in one time bucket; cancellations count negative.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesPointDTO {
+
+    private LocalDateTime at;
+    private long reservations;
+    private long seats;
+    private long revenueCents;
+}
@@ -0,0 +1,19 @@
+package com.example.eventix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// The current second, minute and hour of an event's sales, as pushed to live dashboards.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesUpdateDTO {
+
+    private Long event_id;
+    private SalesPointDTO second;
+    private SalesPointDTO minute;
+    private SalesPointDTO hour;
+}
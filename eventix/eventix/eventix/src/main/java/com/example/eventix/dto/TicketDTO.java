@@ -9,6 +9,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -27,6 +29,19 @@ public class TicketDTO {
 
     private boolean checked_in;
 
+    private LocalDateTime checkedInAt;
+
     private String status;
 
+    private Long section_id;
+
+    private String sectionName;
+
+    private Integer seatRow;
+
+    private Integer seatNumber;
+
+    // Signed token for DB-free validation; see TicketTokenService.
+    private String token;
+
 }
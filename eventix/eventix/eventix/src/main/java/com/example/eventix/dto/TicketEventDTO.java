@@ -0,0 +1,19 @@
+package com.example.eventix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketEventDTO {
+
+    private Long ticket_id;
+    private Long event_id;
+    private LocalDateTime checkedInAt;
+}
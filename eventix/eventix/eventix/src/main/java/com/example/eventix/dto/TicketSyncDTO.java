@@ -0,0 +1,29 @@
+package com.example.eventix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketSyncDTO {
+
+    private Long event_id;
+
+    // Pass back as "since" on the next sync.
+    private Long version;
+
+    // True when the list is the complete ticket set rather than changes.
+    private boolean full;
+
+    // True when more changes are waiting; pull again with version as since.
+    private boolean more;
+
+    private List<TicketDTO> tickets;
+
+}
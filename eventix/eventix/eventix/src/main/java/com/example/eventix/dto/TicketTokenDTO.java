@@ -0,0 +1,20 @@
+package com.example.eventix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketTokenDTO {
+
+    private Long ticket_id;
+
+    private Long event_id;
+
+    private Integer statusEpoch;
+
+}
@@ -0,0 +1,36 @@
+package com.example.eventix.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VenueSectionDTO {
+
+    private Long id;
+
+    private Long event_id;
+
+    @NotBlank(message = "Section Name is required")
+    private String name;
+
+    @NotNull
+    @Min(value = 1, message = "A section needs at least one row")
+    private Integer rowCount;
+
+    @NotNull
+    @Min(value = 1, message = "A row needs at least one seat")
+    private Integer seatsPerRow;
+
+    private Integer priority;
+
+    private Long availableSeats;
+
+}
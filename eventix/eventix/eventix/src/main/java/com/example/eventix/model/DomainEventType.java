@@ -0,0 +1,8 @@
+package com.example.eventix.model;
+
+public enum DomainEventType {
+    RESERVATION_CREATED,
+    RESERVATION_PAID,
+    RESERVATION_CANCELLED,
+    TICKET_CHECKED_IN
+}
@@ -7,7 +7,12 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        @Index(name = "idx_events_date_id", columnList = "date, id"),
+        // List filters, each followed by the keyset column.
+        @Index(name = "idx_events_category_id_id", columnList = "category_id, id"),
+        @Index(name = "idx_events_user_id_id", columnList = "user_id, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -27,7 +32,7 @@ public class Event {
     @Column(name = "image_url", length = 500)
     private String imageUrl;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
 
@@ -39,7 +44,7 @@ public class Event {
     private Long availableSeats;
     private BigDecimal priceBase;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
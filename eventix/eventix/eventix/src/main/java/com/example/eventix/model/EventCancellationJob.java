@@ -0,0 +1,65 @@
+package com.example.eventix.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Progress of a bulk event cancellation. Each chunk commits together with the cursor,
+// so a job interrupted by a failure or restart resumes right after the last chunk.
+@Entity
+@Table(name = "event_cancellation_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+public class EventCancellationJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false, unique = true)
+    private Long eventId;
+
+    private CancellationStatus status;
+
+    // Highest reservation id handled by the current pass.
+    @Column(name = "last_reservation_id", nullable = false)
+    private Long lastReservationId;
+
+    @Column(name = "reservations_cancelled", nullable = false)
+    private Long reservationsCancelled;
+
+    @Column(name = "payments_cancelled", nullable = false)
+    private Long paymentsCancelled;
+
+    @Column(name = "tickets_cancelled", nullable = false)
+    private Long ticketsCancelled;
+
+    @Column(length = 1000)
+    private String error;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+}
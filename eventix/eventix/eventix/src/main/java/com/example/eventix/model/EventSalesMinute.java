@@ -0,0 +1,41 @@
+package com.example.eventix.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Net sales of one event in one minute, compacted from the in-memory time series once the
+// minute is over. Rows are only ever added to, so a minute written twice still sums correctly.
+@Entity
+@Table(name = "event_sales_minutes", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_event_sales_minutes_event_bucket", columnNames = {"event_id", "bucket_start"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+public class EventSalesMinute {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false)
+    private Long reservations;
+
+    @Column(nullable = false)
+    private Long seats;
+
+    @Column(name = "revenue_cents", nullable = false)
+    private Long revenueCents;
+
+}
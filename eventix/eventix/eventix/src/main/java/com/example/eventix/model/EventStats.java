@@ -0,0 +1,62 @@
+package com.example.eventix.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// One row per event with its reservation counts by status, check-ins and revenue. Kept current
+// by delta updates in the same transactions as the changes they count, and recomputed from the
+// base tables by the repair job. repairedAt is null while the row only holds deltas.
+@Entity
+@Table(name = "event_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+public class EventStats {
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "held_reservations", nullable = false)
+    private Long heldReservations;
+
+    @Column(name = "held_seats", nullable = false)
+    private Long heldSeats;
+
+    @Column(name = "paid_reservations", nullable = false)
+    private Long paidReservations;
+
+    @Column(name = "paid_seats", nullable = false)
+    private Long paidSeats;
+
+    @Column(name = "cancelled_reservations", nullable = false)
+    private Long cancelledReservations;
+
+    @Column(name = "cancelled_seats", nullable = false)
+    private Long cancelledSeats;
+
+    @Column(name = "expired_reservations", nullable = false)
+    private Long expiredReservations;
+
+    @Column(name = "expired_seats", nullable = false)
+    private Long expiredSeats;
+
+    @Column(name = "tickets_checked_in", nullable = false)
+    private Long ticketsCheckedIn;
+
+    // Successful payments.
+    @Column(name = "revenue_cents", nullable = false)
+    private Long revenueCents;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "repaired_at")
+    private LocalDateTime repairedAt;
+
+}
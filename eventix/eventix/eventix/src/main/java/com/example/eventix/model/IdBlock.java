@@ -0,0 +1,24 @@
+package com.example.eventix.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// High-water mark for ids handed out in blocks by the application instead of by AUTO_INCREMENT.
+@Entity
+@Table(name = "id_blocks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+public class IdBlock {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(name = "next_id", nullable = false)
+    private Long nextId;
+
+}
@@ -0,0 +1,7 @@
+package com.example.eventix.model;
+
+public enum OutboxStatus {
+    PENDING,
+    DISPATCHED,
+    FAILED
+}
@@ -12,14 +12,18 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+        // List filters, each followed by the keyset column.
+        @Index(name = "idx_payments_status_id", columnList = "status, id"),
+        @Index(name = "idx_payments_paid_at_id", columnList = "paid_at, id")
+})
 public class Payment {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "reservation_id", nullable = false, updatable = false)
     private Reservation reservation;
 
@@ -6,7 +6,15 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = {
+        @Index(name = "idx_reservations_status_expires_at", columnList = "status, expires_at"),
+        @Index(name = "idx_reservations_status_seats", columnList = "status, seats"),
+        // List filters, each followed by the keyset column.
+        @Index(name = "idx_reservations_status_id", columnList = "status, id"),
+        @Index(name = "idx_reservations_event_id_id", columnList = "event_id, id"),
+        @Index(name = "idx_reservations_user_id_id", columnList = "user_id, id"),
+        @Index(name = "idx_reservations_created_at_id", columnList = "created_at, id")
+})
 @Setter
 @Getter
 @NoArgsConstructor
@@ -19,11 +27,11 @@ public class Reservation {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "event_id", nullable = false)
     private Event event;
 
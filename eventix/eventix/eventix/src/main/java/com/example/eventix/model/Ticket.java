@@ -3,8 +3,15 @@ package com.example.eventix.model;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Entity
-@Table(name = "tickets")
+@Table(name = "tickets", indexes = {
+        @Index(name = "idx_tickets_sync_version", columnList = "sync_version"),
+        // List filters, each followed by the keyset column.
+        @Index(name = "idx_tickets_status_id", columnList = "status, id"),
+        @Index(name = "idx_tickets_reservation_id_id", columnList = "reservation_id, id")
+})
 @Setter
 @Getter
 @NoArgsConstructor
@@ -12,11 +19,11 @@ import lombok.*;
 @Builder
 public class Ticket {
 
+    // Assigned from TicketIdAllocator blocks so tickets can be batch-inserted.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "reservation_id", nullable = false, updatable = false)
     private Reservation reservation;
 
@@ -25,6 +32,29 @@ public class Ticket {
 
     private boolean checked_in;
 
+    // Earliest scan wins when offline devices upload late.
+    @Column(name = "checked_in_at")
+    private LocalDateTime checkedInAt;
+
     private TicketStatus status;
 
+    // Assigned seat, only for events with a seat map. Rows and seats are 1-based.
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "section_id")
+    private VenueSection section;
+
+    @Column(name = "seat_row")
+    private Integer seatRow;
+
+    @Column(name = "seat_number")
+    private Integer seatNumber;
+
+    // Bumped when the ticket is cancelled; signed into its tokens so older tokens stop verifying.
+    @Column(name = "status_epoch")
+    private Integer statusEpoch;
+
+    // Version of the last change scanners must pick up (issue, cancel, check-in), from TicketSyncVersions.
+    @Column(name = "sync_version")
+    private Long syncVersion;
+
 }
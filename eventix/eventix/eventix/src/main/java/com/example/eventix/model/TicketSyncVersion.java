@@ -0,0 +1,24 @@
+package com.example.eventix.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Last sync version handed to an event's tickets. Bumped under its row lock by every transaction
+// that changes them, so versions become visible in the order they were assigned.
+@Entity
+@Table(name = "ticket_sync_versions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketSyncVersion {
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(nullable = false)
+    private Long version;
+
+}
@@ -0,0 +1,12 @@
+package com.example.eventix.repository;
+
+import com.example.eventix.model.EventCancellationJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface EventCancellationJobRepository extends JpaRepository<EventCancellationJob, Long> {
+
+    Optional<EventCancellationJob> findByEventId(Long eventId);
+
+}
@@ -0,0 +1,17 @@
+package com.example.eventix.repository;
+
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Queries with optional filters; null filters are left out of the query (see FilteredQuery).
+// Pages select ids only; the rows themselves come from the event catalog cache.
+public interface EventFilters {
+
+    List<Long> findPageIdsById(long afterId, Long categoryId, Long userId, LocalDateTime from, LocalDateTime to, Limit limit);
+
+    // Events without a date are not part of the date ordering. A null afterDate starts at the first.
+    List<Long> findPageIdsByDate(LocalDateTime afterDate, long afterId, Long categoryId, Long userId,
+                                 LocalDateTime from, LocalDateTime to, Limit limit);
+}
@@ -0,0 +1,40 @@
+package com.example.eventix.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+class EventFiltersImpl implements EventFilters {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findPageIdsById(long afterId, Long categoryId, Long userId, LocalDateTime from, LocalDateTime to, Limit limit) {
+        return filtered(new FilteredQuery("SELECT e.id FROM Event e")
+                .where("e.id > :afterId", "afterId", afterId), categoryId, userId, from, to)
+                .list(entityManager, "e.id", Long.class, limit);
+    }
+
+    @Override
+    public List<Long> findPageIdsByDate(LocalDateTime afterDate, long afterId, Long categoryId, Long userId,
+                                        LocalDateTime from, LocalDateTime to, Limit limit) {
+        FilteredQuery query = new FilteredQuery("SELECT e.id FROM Event e").where("e.date IS NOT NULL");
+        if (afterDate != null) {
+            query.where("(e.date > :afterDate OR (e.date = :afterDate AND e.id > :afterId))", "afterDate", afterDate)
+                    .bind("afterId", afterId);
+        }
+        return filtered(query, categoryId, userId, from, to)
+                .list(entityManager, "e.date, e.id", Long.class, limit);
+    }
+
+    private static FilteredQuery filtered(FilteredQuery query, Long categoryId, Long userId, LocalDateTime from, LocalDateTime to) {
+        return query.where("e.category.id = :categoryId", "categoryId", categoryId)
+                .where("e.user.id = :userId", "userId", userId)
+                .where("e.date >= :from", "from", from)
+                .where("e.date < :to", "to", to);
+    }
+}
@@ -1,20 +1,75 @@
 package com.example.eventix.repository;
 
 import com.example.eventix.model.Event;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.time.LocalDate;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface EventRepository extends JpaRepository<Event,Long> {
+public interface EventRepository extends JpaRepository<Event,Long>, EventFilters {
 
-    List<Event> findByCategory_Id(Long CategoryId);
+    @Query("SELECT e.id FROM Event e WHERE e.category.id = :categoryId ORDER BY e.id")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
 
-    @Query("SELECT e FROM Event e WHERE DATE(e.date) = :date")
-    List<Event> findByDateOnly(@Param("date") LocalDate date);
+    // Half-open ranges on the bare column, so idx_events_date_id serves them.
+    @Query("SELECT e.id FROM Event e WHERE e.date >= :from AND e.date < :to ORDER BY e.date, e.id")
+    List<Long> findIdsByDateBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Limit limit);
+
+    @Query("SELECT e.id FROM Event e WHERE e.id IN :ids AND (e.date IS NULL OR e.date >= :since)")
+    List<Long> findIdsNotOverBefore(@Param("ids") Collection<Long> ids, @Param("since") LocalDateTime since);
+
+    @Query("SELECT e.id AS id, e.date AS date FROM Event e WHERE e.date >= :from")
+    List<EventDate> findDatesFrom(@Param("from") LocalDateTime from);
+
+    @Query("SELECT e.id AS id, e.totalCapacity AS totalCapacity, e.availableSeats AS availableSeats FROM Event e")
+    List<EventCapacity> findAllCapacities();
+
+    @Query("SELECT COALESCE(e.totalCapacity, 0) FROM Event e WHERE e.id = :id")
+    Optional<Long> findTotalCapacityById(@Param("id") Long id);
+
+    @Query("SELECT e FROM Event e JOIN FETCH e.category JOIN FETCH e.user WHERE e.id IN :ids")
+    List<Event> findAllWithRelationsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT e.id AS id, e.name AS name, e.description AS description, e.location AS location, " +
+            "c.id AS categoryId, c.name AS categoryName, e.user.id AS userId, e.date AS date FROM Event e JOIN e.category c")
+    List<SearchRow> findAllSearchRows();
+
+    @Query("SELECT e.id AS id, e.category.id AS categoryId, e.date AS date, e.priceBase AS priceBase FROM Event e")
+    List<FacetRow> findAllFacetRows();
+
+    interface EventDate {
+        Long getId();
+        LocalDateTime getDate();
+    }
+
+    interface SearchRow {
+        Long getId();
+        String getName();
+        String getDescription();
+        String getLocation();
+        Long getCategoryId();
+        String getCategoryName();
+        Long getUserId();
+        LocalDateTime getDate();
+    }
+
+    interface FacetRow {
+        Long getId();
+        Long getCategoryId();
+        LocalDateTime getDate();
+        BigDecimal getPriceBase();
+    }
+
+    interface EventCapacity {
+        Long getId();
+        Long getTotalCapacity();
+        Long getAvailableSeats();
+    }
 
 }
@@ -0,0 +1,14 @@
+package com.example.eventix.repository;
+
+import com.example.eventix.model.EventSalesMinute;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EventSalesMinuteRepository extends JpaRepository<EventSalesMinute, Long> {
+
+    List<EventSalesMinute> findByEventIdAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart(
+            Long eventId, LocalDateTime from, LocalDateTime to);
+
+}
@@ -0,0 +1,24 @@
+package com.example.eventix.repository;
+
+import com.example.eventix.model.EventStats;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface EventStatsRepository extends JpaRepository<EventStats, Long> {
+
+    @Query("SELECT s FROM EventStats s WHERE s.eventId > :afterId ORDER BY s.eventId")
+    List<EventStats> findPage(@Param("afterId") long afterId, Limit limit);
+
+    // Events without a row, or whose row has never been recomputed from the base tables.
+    @Query("SELECT e.id FROM Event e WHERE e.id > :afterId AND NOT EXISTS " +
+            "(SELECT s.eventId FROM EventStats s WHERE s.eventId = e.id AND s.repairedAt IS NOT NULL) ORDER BY e.id")
+    List<Long> findUnrepairedEventIds(@Param("afterId") long afterId, Limit limit);
+
+    @Query("SELECT e.id FROM Event e WHERE e.id > :afterId ORDER BY e.id")
+    List<Long> findEventIds(@Param("afterId") long afterId, Limit limit);
+
+}
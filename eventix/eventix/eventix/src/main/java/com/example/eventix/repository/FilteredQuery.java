@@ -0,0 +1,93 @@
+package com.example.eventix.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// JPQL for list pages and exports with optional filters. Only the filters that are set become
+// predicates, so each combination is a plain query the database can serve from its
+// (filter column, id) index. A catch-all "(:x IS NULL OR col = :x)" gets one plan for all of
+// them, and that plan scans.
+final class FilteredQuery {
+
+    private static final int EXPORT_FETCH_SIZE = 1000;
+    private static final ProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
+    private final StringBuilder jpql;
+    private final Map<String, Object> params = new HashMap<>();
+    private boolean filtered;
+
+    FilteredQuery(String select) {
+        this.jpql = new StringBuilder(select);
+    }
+
+    // Always applied.
+    FilteredQuery where(String predicate) {
+        jpql.append(filtered ? " AND " : " WHERE ").append(predicate);
+        filtered = true;
+        return this;
+    }
+
+    // Applied only when value is set; the predicate names it :name.
+    FilteredQuery where(String predicate, String name, Object value) {
+        if (value == null) {
+            return this;
+        }
+        params.put(name, value);
+        return where(predicate);
+    }
+
+    // For a parameter of a predicate that is always applied.
+    FilteredQuery bind(String name, Object value) {
+        params.put(name, value);
+        return this;
+    }
+
+    <T> List<T> list(EntityManager entityManager, String orderBy, Class<T> type, Limit limit) {
+        TypedQuery<T> query = query(entityManager, orderBy, type);
+        if (limit.isLimited()) {
+            query.setMaxResults(limit.max());
+        }
+        return query.getResultList();
+    }
+
+    // Selects with aliases, read as the interface view whose getters match them.
+    <T> List<T> views(EntityManager entityManager, String orderBy, Class<T> view, Limit limit) {
+        return list(entityManager, orderBy, Tuple.class, limit).stream()
+                .map(tuple -> view(tuple, view))
+                .toList();
+    }
+
+    // Exports: scrolled with a bounded fetch size; the caller must close the stream inside a transaction.
+    <T> Stream<T> streamViews(EntityManager entityManager, String orderBy, Class<T> view) {
+        return query(entityManager, orderBy, Tuple.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE)
+                .getResultStream()
+                .map(tuple -> view(tuple, view));
+    }
+
+    private <T> TypedQuery<T> query(EntityManager entityManager, String orderBy, Class<T> type) {
+        TypedQuery<T> query = entityManager.createQuery(jpql + " ORDER BY " + orderBy, type);
+        params.forEach(query::setParameter);
+        return query;
+    }
+
+    private static <T> T view(Tuple tuple, Class<T> view) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (TupleElement<?> element : tuple.getElements()) {
+            values.put(element.getAlias(), tuple.get(element));
+        }
+        return PROJECTIONS.createProjection(view, values);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.eventix.repository;
+
+import com.example.eventix.model.Payment;
+import com.example.eventix.model.Payment_Status;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Queries with optional filters; null filters are left out of the query (see FilteredQuery).
+public interface PaymentFilters {
+
+    List<Payment> findPage(long afterId, Payment_Status status, Long reservationId, Long eventId, Long userId,
+                           LocalDateTime from, LocalDateTime to, Limit limit);
+
+    Stream<PaymentRepository.PaymentView> streamViews(LocalDateTime from, LocalDateTime to);
+}
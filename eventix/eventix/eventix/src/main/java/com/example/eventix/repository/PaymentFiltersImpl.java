@@ -0,0 +1,44 @@
+package com.example.eventix.repository;
+
+import com.example.eventix.model.Payment;
+import com.example.eventix.model.Payment_Status;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+class PaymentFiltersImpl implements PaymentFilters {
+
+    private static final String SELECT_VIEW = "SELECT p.id AS id, r.id AS reservationId, r.event.id AS eventId, " +
+            "r.user.id AS userId, p.amount AS amount, p.method AS method, p.status AS status, p.paidAt AS paidAt " +
+            "FROM Payment p JOIN p.reservation r";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Payment> findPage(long afterId, Payment_Status status, Long reservationId, Long eventId, Long userId,
+                                  LocalDateTime from, LocalDateTime to, Limit limit) {
+        return paid(new FilteredQuery("SELECT p FROM Payment p JOIN p.reservation r")
+                .where("p.id > :afterId", "afterId", afterId)
+                .where("p.status = :status", "status", status)
+                .where("r.id = :reservationId", "reservationId", reservationId)
+                .where("r.event.id = :eventId", "eventId", eventId)
+                .where("r.user.id = :userId", "userId", userId), from, to)
+                .list(entityManager, "p.id", Payment.class, limit);
+    }
+
+    @Override
+    public Stream<PaymentRepository.PaymentView> streamViews(LocalDateTime from, LocalDateTime to) {
+        return paid(new FilteredQuery(SELECT_VIEW), from, to)
+                .streamViews(entityManager, "p.id", PaymentRepository.PaymentView.class);
+    }
+
+    private static FilteredQuery paid(FilteredQuery query, LocalDateTime from, LocalDateTime to) {
+        return query.where("p.paidAt >= :from", "from", from)
+                .where("p.paidAt < :to", "to", to);
+    }
+}
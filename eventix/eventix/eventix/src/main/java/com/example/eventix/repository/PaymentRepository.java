@@ -1,12 +1,43 @@
 package com.example.eventix.repository;
 
 import com.example.eventix.model.Payment;
+import com.example.eventix.model.Payment_Method;
+import com.example.eventix.model.Payment_Status;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
-public interface PaymentRepository extends JpaRepository<Payment,Long> {
+public interface PaymentRepository extends JpaRepository<Payment,Long>, PaymentFilters {
 
     Optional<Payment> findByReservation_Id(Long reservationId);
 
+    @Query("SELECT r.event.id AS eventId, SUM(p.amount) AS amount FROM Payment p JOIN p.reservation r " +
+            "WHERE p.status = :status GROUP BY r.event.id")
+    List<EventRevenue> sumAmountByStatus(@Param("status") Payment_Status status);
+
+    @Query("SELECT r.event.id AS eventId, SUM(p.amount) AS amount FROM Payment p JOIN p.reservation r " +
+            "WHERE r.event.id = :eventId AND p.status = :status GROUP BY r.event.id")
+    List<EventRevenue> sumAmountByEventIdAndStatus(@Param("eventId") Long eventId, @Param("status") Payment_Status status);
+
+    interface PaymentView {
+        Long getId();
+        Long getReservationId();
+        Long getEventId();
+        Long getUserId();
+        BigDecimal getAmount();
+        Payment_Method getMethod();
+        Payment_Status getStatus();
+        LocalDateTime getPaidAt();
+    }
+
+    interface EventRevenue {
+        Long getEventId();
+        BigDecimal getAmount();
+    }
+
 }
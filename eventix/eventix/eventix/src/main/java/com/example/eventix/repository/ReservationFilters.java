@@ -0,0 +1,17 @@
+package com.example.eventix.repository;
+
+import com.example.eventix.model.ReservationStatus;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Queries with optional filters; null filters are left out of the query (see FilteredQuery).
+public interface ReservationFilters {
+
+    List<ReservationRepository.ReservationView> findPage(long afterId, ReservationStatus status, Long eventId, Long userId,
+                                                         LocalDateTime from, LocalDateTime to, Limit limit);
+
+    Stream<ReservationRepository.ReservationView> streamViews(LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,42 @@
+package com.example.eventix.repository;
+
+import com.example.eventix.model.ReservationStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+class ReservationFiltersImpl implements ReservationFilters {
+
+    private static final String SELECT_VIEW = "SELECT r.id AS id, u.id AS userId, u.name AS userName, e.id AS eventId, " +
+            "e.name AS eventName, r.seats AS seats, r.status AS status, r.createdAt AS createdAt " +
+            "FROM Reservation r JOIN r.user u JOIN r.event e";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ReservationRepository.ReservationView> findPage(long afterId, ReservationStatus status, Long eventId, Long userId,
+                                                                LocalDateTime from, LocalDateTime to, Limit limit) {
+        return created(new FilteredQuery(SELECT_VIEW)
+                .where("r.id > :afterId", "afterId", afterId)
+                .where("r.status = :status", "status", status)
+                .where("e.id = :eventId", "eventId", eventId)
+                .where("u.id = :userId", "userId", userId), from, to)
+                .views(entityManager, "r.id", ReservationRepository.ReservationView.class, limit);
+    }
+
+    @Override
+    public Stream<ReservationRepository.ReservationView> streamViews(LocalDateTime from, LocalDateTime to) {
+        return created(new FilteredQuery(SELECT_VIEW), from, to)
+                .streamViews(entityManager, "r.id", ReservationRepository.ReservationView.class);
+    }
+
+    private static FilteredQuery created(FilteredQuery query, LocalDateTime from, LocalDateTime to) {
+        return query.where("r.createdAt >= :from", "from", from)
+                .where("r.createdAt < :to", "to", to);
+    }
+}
@@ -2,14 +2,108 @@ package com.example.eventix.repository;
 
 import com.example.eventix.model.Reservation;
 import com.example.eventix.model.ReservationStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface ReservationRepository extends JpaRepository<Reservation,Long> {
+public interface ReservationRepository extends JpaRepository<Reservation,Long>, ReservationFilters {
 
-    List<Reservation> findByUser_Id(Long userId);
+    @Query("SELECT r.id AS id, u.id AS userId, u.name AS userName, e.id AS eventId, e.name AS eventName, " +
+            "r.seats AS seats, r.status AS status, r.createdAt AS createdAt FROM Reservation r JOIN r.user u JOIN r.event e " +
+            "WHERE r.id = :id")
+    Optional<ReservationView> findViewById(@Param("id") Long id);
 
-    Reservation findByEvent_IdAndStatus(Long eventId , ReservationStatus reservationStatus);
+    @Query("SELECT r.id AS id, u.id AS userId, u.name AS userName, e.id AS eventId, e.name AS eventName, " +
+            "r.seats AS seats, r.status AS status, r.createdAt AS createdAt FROM Reservation r JOIN r.user u JOIN r.event e " +
+            "WHERE u.id = :userId ORDER BY r.id")
+    List<ReservationView> findViewsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT r.id AS id, u.id AS userId, u.name AS userName, e.id AS eventId, e.name AS eventName, " +
+            "r.seats AS seats, r.status AS status, r.createdAt AS createdAt FROM Reservation r JOIN r.user u JOIN r.event e " +
+            "WHERE e.id = :eventId AND r.status = :status ORDER BY r.id")
+    List<ReservationView> findViewsByEventIdAndStatus(@Param("eventId") Long eventId, @Param("status") ReservationStatus status);
+
+    @Query("SELECT r.event.id AS eventId, r.status AS status, SUM(r.seats) AS seats FROM Reservation r " +
+            "WHERE r.status IN :statuses GROUP BY r.event.id, r.status")
+    List<EventSeatSum> sumSeatsByStatus(@Param("statuses") Collection<ReservationStatus> statuses);
+
+    @Query("SELECT r.event.id AS eventId, r.status AS status, SUM(r.seats) AS seats FROM Reservation r " +
+            "WHERE r.event.id = :eventId AND r.status IN :statuses GROUP BY r.event.id, r.status")
+    List<EventSeatSum> sumSeatsByEventIdAndStatus(@Param("eventId") Long eventId, @Param("statuses") Collection<ReservationStatus> statuses);
+
+    @Query("SELECT r.event.id AS eventId, COUNT(r) AS reservations, SUM(r.seats) AS seats FROM Reservation r " +
+            "WHERE r.status = :status GROUP BY r.event.id")
+    List<EventSales> sumSalesByStatus(@Param("status") ReservationStatus status);
+
+    @Query("SELECT r.event.id AS eventId, COUNT(r) AS reservations, SUM(r.seats) AS seats FROM Reservation r " +
+            "WHERE r.event.id = :eventId AND r.status = :status GROUP BY r.event.id")
+    List<EventSales> sumSalesByEventIdAndStatus(@Param("eventId") Long eventId, @Param("status") ReservationStatus status);
+
+    @Query("SELECT r.id AS id, u.id AS userId, u.name AS userName, e.id AS eventId, e.name AS eventName, " +
+            "r.seats AS seats, r.status AS status, r.createdAt AS createdAt FROM Reservation r JOIN r.user u JOIN r.event e " +
+            "WHERE r.status = :status ORDER BY r.seats DESC, r.id DESC")
+    List<ReservationView> findLargestViews(@Param("status") ReservationStatus status, Limit limit);
+
+    @Query("SELECT r.event.id FROM Reservation r WHERE r.id = :id")
+    Optional<Long> findEventIdById(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Reservation r WHERE r.id = :id")
+    Optional<Reservation> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Reservation r WHERE r.id IN :ids AND r.status = :status")
+    List<Reservation> findByIdInAndStatusForUpdate(@Param("ids") Collection<Long> ids, @Param("status") ReservationStatus status);
+
+    @Modifying
+    @Query("UPDATE Reservation r SET r.status = :status WHERE r.id IN :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") ReservationStatus status);
+
+    @Query("SELECT r.id AS id, r.event.id AS eventId, r.seats AS seats, r.expiresAt AS expiresAt FROM Reservation r " +
+            "WHERE r.status = :status AND r.expiresAt <= :now ORDER BY r.expiresAt")
+    List<HoldExpiry> findExpiredHolds(@Param("status") ReservationStatus status, @Param("now") LocalDateTime now, Limit limit);
+
+    @Query("SELECT r.id AS id, r.event.id AS eventId, r.seats AS seats, r.expiresAt AS expiresAt FROM Reservation r " +
+            "WHERE r.status = :status AND r.id > :afterId ORDER BY r.id")
+    List<HoldExpiry> findHoldsAfter(@Param("status") ReservationStatus status, @Param("afterId") Long afterId, Limit limit);
+
+    interface ReservationView {
+        Long getId();
+        Long getUserId();
+        String getUserName();
+        Long getEventId();
+        String getEventName();
+        Long getSeats();
+        ReservationStatus getStatus();
+        LocalDateTime getCreatedAt();
+    }
+
+    interface HoldExpiry {
+        Long getId();
+        Long getEventId();
+        Long getSeats();
+        LocalDateTime getExpiresAt();
+    }
+
+    interface EventSeatSum {
+        Long getEventId();
+        ReservationStatus getStatus();
+        Long getSeats();
+    }
+
+    interface EventSales {
+        Long getEventId();
+        Long getReservations();
+        Long getSeats();
+    }
 
 }
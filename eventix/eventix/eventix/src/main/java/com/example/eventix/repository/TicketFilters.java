@@ -0,0 +1,17 @@
+package com.example.eventix.repository;
+
+import com.example.eventix.model.TicketStatus;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Queries with optional filters; null filters are left out of the query (see FilteredQuery).
+public interface TicketFilters {
+
+    List<TicketRepository.TicketView> findPage(long afterId, TicketStatus status, Long reservationId, Long eventId, Limit limit);
+
+    // Exports, by the reservation's creation time.
+    Stream<TicketRepository.TicketView> streamViews(LocalDateTime from, LocalDateTime to);
+}
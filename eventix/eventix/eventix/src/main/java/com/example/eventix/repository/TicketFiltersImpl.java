@@ -0,0 +1,39 @@
+package com.example.eventix.repository;
+
+import com.example.eventix.model.TicketStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+class TicketFiltersImpl implements TicketFilters {
+
+    private static final String SELECT_VIEW = "SELECT t.id AS id, r.id AS reservationId, r.event.id AS eventId, " +
+            "t.ticketCode AS ticketCode, t.status AS status, t.checked_in AS checkedIn, t.checkedInAt AS checkedInAt, " +
+            "s.id AS sectionId, s.name AS sectionName, t.seatRow AS seatRow, t.seatNumber AS seatNumber, " +
+            "t.statusEpoch AS statusEpoch FROM Ticket t JOIN t.reservation r LEFT JOIN t.section s";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TicketRepository.TicketView> findPage(long afterId, TicketStatus status, Long reservationId, Long eventId, Limit limit) {
+        return new FilteredQuery(SELECT_VIEW)
+                .where("t.id > :afterId", "afterId", afterId)
+                .where("t.status = :status", "status", status)
+                .where("r.id = :reservationId", "reservationId", reservationId)
+                .where("r.event.id = :eventId", "eventId", eventId)
+                .views(entityManager, "t.id", TicketRepository.TicketView.class, limit);
+    }
+
+    @Override
+    public Stream<TicketRepository.TicketView> streamViews(LocalDateTime from, LocalDateTime to) {
+        return new FilteredQuery(SELECT_VIEW)
+                .where("r.createdAt >= :from", "from", from)
+                .where("r.createdAt < :to", "to", to)
+                .streamViews(entityManager, "t.id", TicketRepository.TicketView.class);
+    }
+}
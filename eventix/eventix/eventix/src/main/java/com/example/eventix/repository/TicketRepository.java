@@ -1,14 +1,126 @@
 package com.example.eventix.repository;
 
 import com.example.eventix.model.Ticket;
+import com.example.eventix.model.TicketStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface TicketRepository extends JpaRepository<Ticket,Long> {
-
-    Optional<Ticket> findByTicketCode(String ticketCode);
+public interface TicketRepository extends JpaRepository<Ticket,Long>, TicketFilters {
 
     java.util.List<Ticket> findByReservation_Id(Long reservationId);
 
+    @Query("SELECT t.id AS id, r.id AS reservationId, r.event.id AS eventId, t.ticketCode AS ticketCode, t.status AS status, " +
+            "t.checked_in AS checkedIn, t.checkedInAt AS checkedInAt, s.id AS sectionId, s.name AS sectionName, " +
+            "t.seatRow AS seatRow, t.seatNumber AS seatNumber, t.statusEpoch AS statusEpoch FROM Ticket t JOIN t.reservation r LEFT JOIN t.section s " +
+            "WHERE t.id = :id")
+    Optional<TicketView> findViewById(@Param("id") Long id);
+
+    @Query("SELECT t.id AS id, r.id AS reservationId, r.event.id AS eventId, t.ticketCode AS ticketCode, t.status AS status, " +
+            "t.checked_in AS checkedIn, t.checkedInAt AS checkedInAt, s.id AS sectionId, s.name AS sectionName, " +
+            "t.seatRow AS seatRow, t.seatNumber AS seatNumber, t.statusEpoch AS statusEpoch FROM Ticket t JOIN t.reservation r LEFT JOIN t.section s " +
+            "WHERE t.ticketCode = :ticketCode")
+    Optional<TicketView> findViewByTicketCode(@Param("ticketCode") String ticketCode);
+
+    @Query("SELECT t.id AS id, r.id AS reservationId, r.event.id AS eventId, t.ticketCode AS ticketCode, t.status AS status, " +
+            "t.checked_in AS checkedIn, t.checkedInAt AS checkedInAt, s.id AS sectionId, s.name AS sectionName, " +
+            "t.seatRow AS seatRow, t.seatNumber AS seatNumber, t.statusEpoch AS statusEpoch FROM Ticket t JOIN t.reservation r LEFT JOIN t.section s " +
+            "WHERE r.id = :reservationId ORDER BY t.id")
+    List<TicketView> findViewsByReservationId(@Param("reservationId") Long reservationId);
+
+    boolean existsByReservation_Id(Long reservationId);
+
+    // Tickets whose status changed since issue, of events not over before :since.
+    @Query("SELECT t.id AS id, e.id AS eventId, t.statusEpoch AS statusEpoch FROM Ticket t JOIN t.reservation r JOIN r.event e " +
+            "WHERE t.statusEpoch > 0 AND (e.date IS NULL OR e.date >= :since)")
+    List<TicketEpoch> findChangedEpochs(@Param("since") LocalDateTime since);
+
+    @Query("SELECT t.section.id AS sectionId, t.seatRow AS seatRow, t.seatNumber AS seatNumber FROM Ticket t " +
+            "WHERE t.section.event.id = :eventId AND (t.status IS NULL OR t.status <> :canceled)")
+    List<AssignedSeat> findAssignedSeatsByEventId(@Param("eventId") Long eventId, @Param("canceled") TicketStatus canceled);
+
+    @Query("SELECT t.id AS id, t.reservation.id AS reservationId, t.ticketCode AS ticketCode, t.status AS status, " +
+            "t.checked_in AS checkedIn, t.checkedInAt AS checkedInAt, s.id AS sectionId, s.name AS sectionName, " +
+            "t.seatRow AS seatRow, t.seatNumber AS seatNumber, t.syncVersion AS syncVersion " +
+            "FROM Ticket t LEFT JOIN t.section s WHERE t.reservation.event.id = :eventId")
+    List<GateTicketRow> findGateTicketsByEventId(@Param("eventId") Long eventId);
+
+    @Query("SELECT t.id AS id, t.reservation.id AS reservationId, t.ticketCode AS ticketCode, t.status AS status, " +
+            "t.checked_in AS checkedIn, t.checkedInAt AS checkedInAt, s.id AS sectionId, s.name AS sectionName, " +
+            "t.seatRow AS seatRow, t.seatNumber AS seatNumber, t.syncVersion AS syncVersion " +
+            "FROM Ticket t LEFT JOIN t.section s WHERE t.reservation.event.id = :eventId AND t.syncVersion > :since " +
+            "ORDER BY t.syncVersion, t.id")
+    List<GateTicketRow> findGateTicketsByEventIdChangedSince(@Param("eventId") Long eventId, @Param("since") long since, Limit limit);
+
+    @Query("SELECT t.id AS id, t.reservation.id AS reservationId, t.ticketCode AS ticketCode, t.status AS status, " +
+            "t.checked_in AS checkedIn, t.checkedInAt AS checkedInAt, s.id AS sectionId, s.name AS sectionName, " +
+            "t.seatRow AS seatRow, t.seatNumber AS seatNumber, t.syncVersion AS syncVersion " +
+            "FROM Ticket t LEFT JOIN t.section s WHERE t.reservation.event.id = :eventId AND t.syncVersion = :version")
+    List<GateTicketRow> findGateTicketsByEventIdAndSyncVersion(@Param("eventId") Long eventId, @Param("version") long version);
+
+    @Query("SELECT t.id AS id, t.reservation.event.id AS eventId, t.ticketCode AS ticketCode, t.status AS status, " +
+            "t.checked_in AS checkedIn, t.checkedInAt AS checkedInAt FROM Ticket t WHERE t.ticketCode IN :codes")
+    List<ScanTarget> findScanTargetsByTicketCodeIn(@Param("codes") Collection<String> codes);
+
+    @Modifying
+    @Query("UPDATE Ticket t SET t.checked_in = true, t.checkedInAt = :at WHERE t.id = :id AND t.checked_in = false")
+    int markCheckedIn(@Param("id") Long id, @Param("at") LocalDateTime at);
+
+    interface TicketView {
+        Long getId();
+        Long getReservationId();
+        Long getEventId();
+        String getTicketCode();
+        TicketStatus getStatus();
+        boolean getCheckedIn();
+        LocalDateTime getCheckedInAt();
+        Long getSectionId();
+        String getSectionName();
+        Integer getSeatRow();
+        Integer getSeatNumber();
+        Integer getStatusEpoch();
+    }
+
+    interface TicketEpoch {
+        Long getId();
+        Long getEventId();
+        Integer getStatusEpoch();
+    }
+
+    interface GateTicketRow {
+        Long getId();
+        Long getReservationId();
+        String getTicketCode();
+        TicketStatus getStatus();
+        boolean getCheckedIn();
+        LocalDateTime getCheckedInAt();
+        Long getSectionId();
+        String getSectionName();
+        Integer getSeatRow();
+        Integer getSeatNumber();
+        Long getSyncVersion();
+    }
+
+    interface ScanTarget {
+        Long getId();
+        Long getEventId();
+        String getTicketCode();
+        TicketStatus getStatus();
+        boolean getCheckedIn();
+        LocalDateTime getCheckedInAt();
+    }
+
+    interface AssignedSeat {
+        Long getSectionId();
+        Integer getSeatRow();
+        Integer getSeatNumber();
+    }
+
 }
@@ -1,9 +1,14 @@
 package com.example.eventix.repository;
 
+import com.example.eventix.model.Role;
 import com.example.eventix.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +17,15 @@ public interface UserRepository extends JpaRepository<User,Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
 
+    // One query per filter, so a role filter uses the (role, id) index.
+    default List<User> findPage(long afterId, Role role, Limit limit) {
+        return role != null ? findPageByRole(afterId, role, limit) : findPage(afterId, limit);
+    }
+
+    @Query("SELECT u FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<User> findPage(@Param("afterId") long afterId, Limit limit);
+
+    @Query("SELECT u FROM User u WHERE u.role = :role AND u.id > :afterId ORDER BY u.id")
+    List<User> findPageByRole(@Param("afterId") long afterId, @Param("role") Role role, Limit limit);
+
 }
@@ -0,0 +1,17 @@
+package com.example.eventix.repository;
+
+import com.example.eventix.model.VenueSection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface VenueSectionRepository extends JpaRepository<VenueSection,Long> {
+
+    List<VenueSection> findByEvent_IdOrderByPriorityAscIdAsc(Long eventId);
+
+    @Query("SELECT COALESCE(SUM(s.rowCount * s.seatsPerRow), 0) FROM VenueSection s WHERE s.event.id = :eventId")
+    long sumSeatsByEventId(@Param("eventId") Long eventId);
+
+}
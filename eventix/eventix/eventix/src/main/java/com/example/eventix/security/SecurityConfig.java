@@ -37,6 +37,8 @@ public class SecurityConfig {
         ));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        // Readable from browser scripts: the next-page cursor of paged lists, and the file name of exports.
+        configuration.setExposedHeaders(Arrays.asList("X-Next-Cursor", "Content-Disposition"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
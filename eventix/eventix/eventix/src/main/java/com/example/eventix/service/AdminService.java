@@ -1,13 +1,18 @@
 package com.example.eventix.service;
+import com.example.eventix.dto.CatalogStatsDTO;
 import com.example.eventix.dto.CategoryDTO;
+import com.example.eventix.dto.CursorPage;
+import com.example.eventix.dto.EventCancellationDTO;
 import com.example.eventix.dto.EventDTO;
 import com.example.eventix.dto.ReservationDTO;
+import com.example.eventix.dto.SalesAnalyticsDTO;
 import com.example.eventix.dto.UserDTO;
+import com.example.eventix.dto.VenueSectionDTO;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.time.LocalDateTime;
 
 
 @Service
@@ -20,6 +25,12 @@ public class AdminService {
     private final EventService eventService;
     private final UserService userService;
     private final ReservationService reservationService;
+    private final AdmissionQueueService admissionQueueService;
+    private final VenueSectionService venueSectionService;
+    private final CheckInIndex checkInIndex;
+    private final EventCancellationService eventCancellationService;
+    private final EventCatalog eventCatalog;
+    private final SalesAnalytics salesAnalytics;
 
     
     public CategoryDTO createCategory(CategoryDTO dto) {
@@ -31,8 +42,8 @@ public class AdminService {
     }
 
     
-    public List<UserDTO> getAllUsers() {
-        return userService.getAllUsers();
+    public CursorPage<UserDTO> getUsers(String role, String cursor, Integer limit) {
+        return userService.getUsers(role, cursor, limit);
     }
 
     
@@ -47,6 +58,51 @@ public class AdminService {
 
     public void deleteEvent(Long id){
         eventService.deleteEvent(id);
+        admissionQueueService.disable(id);
+        checkInIndex.close(id);
+    }
+
+    public VenueSectionDTO addSection(Long eventId, VenueSectionDTO sectionDTO){
+        return venueSectionService.addSection(eventId, sectionDTO);
+    }
+
+    public void enableAdmissionQueue(Long eventId, double ratePerSecond){
+        eventService.getEventById(eventId);
+        admissionQueueService.enable(eventId, ratePerSecond);
+    }
+
+    public void disableAdmissionQueue(Long eventId){
+        admissionQueueService.disable(eventId);
+    }
+
+    public EventCancellationDTO cancelEvent(Long eventId){
+        return eventCancellationService.cancelEvent(eventId);
+    }
+
+    public EventCancellationDTO getEventCancellation(Long eventId){
+        return eventCancellationService.getCancellation(eventId);
+    }
+
+    public int openGate(Long eventId){
+        eventService.getEventById(eventId);
+        return checkInIndex.open(eventId);
+    }
+
+    public void closeGate(Long eventId){
+        checkInIndex.close(eventId);
+    }
+
+    public CatalogStatsDTO getCatalogStats(){
+        return eventCatalog.stats();
+    }
+
+    // Everything but the user count and the largest reservations comes from the in-memory aggregates.
+    public SalesAnalyticsDTO getSalesAnalytics(Integer limit){
+        int size = Cursors.pageSize(limit);
+        SalesAnalyticsDTO analytics = salesAnalytics.analytics(size);
+        analytics.setTotalUsers(userService.countUsers());
+        analytics.setTopReservations(reservationService.getLargestReservations(size));
+        return analytics;
     }
 
 
@@ -55,8 +111,14 @@ public class AdminService {
         reservationService.cancelReservation(id);
     }
 
-    public List<ReservationDTO> getAllReservations(){
-        return reservationService.getAllReservations();
+    @Transactional(dontRollbackOn = RuntimeException.class)
+    public void checkCancellation(Long id){
+        reservationService.checkCancellation(id);
+    }
+
+    public CursorPage<ReservationDTO> getReservations(String status, Long eventId, Long userId,
+                                                      LocalDateTime from, LocalDateTime to, String cursor, Integer limit){
+        return reservationService.getReservations(status, eventId, userId, from, to, cursor, limit);
     }
 
 }
@@ -0,0 +1,182 @@
+package com.example.eventix.service;
+
+import com.example.eventix.dto.QueueTicketDTO;
+import com.example.eventix.exception.BadRequestException;
+import com.example.eventix.exception.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Opt-in virtual waiting room per event. Clients join and get a token with a sequence
+// number; a ticker admits sequence numbers at the configured rate. Position checks and
+// admission are answered from memory, so a queued client never touches the database.
+@Service
+public class AdmissionQueueService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final Map<Long, EventQueue> queues = new ConcurrentHashMap<>();
+    private final long tokenTtlMillis;
+
+    public AdmissionQueueService(@Value("${eventix.admission.token-ttl-minutes:60}") long tokenTtlMinutes) {
+        this.tokenTtlMillis = tokenTtlMinutes * 60_000L;
+    }
+
+    public void enable(Long eventId, double ratePerSecond) {
+        if (ratePerSecond <= 0) {
+            throw new BadRequestException("Admission rate must be greater than 0");
+        }
+        queues.computeIfAbsent(eventId, id -> new EventQueue()).ratePerSecond = ratePerSecond;
+    }
+
+    public void disable(Long eventId) {
+        queues.remove(eventId);
+    }
+
+    public boolean isEnabled(Long eventId) {
+        return queues.containsKey(eventId);
+    }
+
+    public QueueTicketDTO join(Long eventId) {
+        EventQueue queue = queues.get(eventId);
+        if (queue == null) {
+            return QueueTicketDTO.builder().event_id(eventId).position(0L).admitted(true).build();
+        }
+
+        long seq = queue.issued.incrementAndGet();
+        String token = newToken();
+        queue.tokens.put(token, seq);
+        queue.issueOrder.add(new Issued(token, seq));
+        return toDTO(eventId, token, queue, seq);
+    }
+
+    public QueueTicketDTO status(Long eventId, String token) {
+        EventQueue queue = queues.get(eventId);
+        if (queue == null) {
+            return QueueTicketDTO.builder().event_id(eventId).token(token).position(0L).admitted(true).build();
+        }
+        Long seq = queue.tokens.get(token);
+        if (seq == null) {
+            throw new ResourceNotFoundException("Queue token not found or expired");
+        }
+        return toDTO(eventId, token, queue, seq);
+    }
+
+    // Takes the token out so it can only be used once; hand it back with restore() if the
+    // reservation attempt fails. A token not admitted yet stays where it is, so a status() call
+    // at the same time still finds it.
+    public Long claim(Long eventId, String token) {
+        EventQueue queue = queues.get(eventId);
+        if (queue == null) {
+            return null;
+        }
+        if (token == null || token.isBlank()) {
+            throw new BadRequestException("This event is queued. Join the waiting room first.");
+        }
+        Long seq = queue.tokens.get(token);
+        if (seq != null && seq > queue.admittedUpTo) {
+            throw new BadRequestException("Not admitted yet. Position in queue: " + (seq - queue.admittedUpTo));
+        }
+        // Only one of two concurrent claims of the same token gets to remove it.
+        if (seq == null || !queue.tokens.remove(token, seq)) {
+            throw new BadRequestException("Queue token not found or already used");
+        }
+        return seq;
+    }
+
+    public void restore(Long eventId, String token, Long seq) {
+        EventQueue queue = queues.get(eventId);
+        if (queue != null && seq != null) {
+            queue.tokens.put(token, seq);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${eventix.admission.tick-ms:100}")
+    public void admit() {
+        long now = System.currentTimeMillis();
+        for (EventQueue queue : queues.values()) {
+            queue.admit(now);
+            queue.evictExpired(now - tokenTtlMillis);
+        }
+    }
+
+    private QueueTicketDTO toDTO(Long eventId, String token, EventQueue queue, long seq) {
+        long ahead = seq - queue.admittedUpTo;
+        return QueueTicketDTO.builder()
+                .event_id(eventId)
+                .token(token)
+                .position(Math.max(0L, ahead))
+                .admitted(ahead <= 0)
+                .build();
+    }
+
+    private static String newToken() {
+        byte[] bytes = new byte[16];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private record Issued(String token, long seq) {
+    }
+
+    private record Admission(long upTo, long admittedAt) {
+    }
+
+    private static final class EventQueue {
+        private final AtomicLong issued = new AtomicLong();
+        private final Map<String, Long> tokens = new ConcurrentHashMap<>();
+        private final Queue<Issued> issueOrder = new ConcurrentLinkedQueue<>();
+        // Each tick that admitted someone, oldest first; scheduler thread only.
+        private final Deque<Admission> admissions = new ArrayDeque<>();
+        private volatile double ratePerSecond;
+        private volatile long admittedUpTo;
+        private double credit;
+        private long lastTick = System.currentTimeMillis();
+
+        // Only ever called from the scheduler thread.
+        private void admit(long now) {
+            credit += ratePerSecond * (now - lastTick) / 1000.0;
+            lastTick = now;
+            long whole = (long) credit;
+            if (whole == 0) {
+                return;
+            }
+            credit -= whole;
+            long waiting = issued.get();
+            long upTo = Math.min(waiting, admittedUpTo + whole);
+            if (upTo > admittedUpTo) {
+                admissions.add(new Admission(upTo, now));
+            }
+            admittedUpTo = upTo;
+            if (admittedUpTo == waiting) {
+                // Nobody left to admit; don't bank credit for a later burst.
+                credit = 0;
+            }
+        }
+
+        // The TTL runs from admission: a token still waiting in the queue never expires.
+        private void evictExpired(long cutoff) {
+            Issued head;
+            while ((head = issueOrder.peek()) != null && head.seq() <= admittedUpTo) {
+                while (admissions.peek().upTo() < head.seq()) {
+                    admissions.poll();
+                }
+                if (admissions.peek().admittedAt() >= cutoff) {
+                    return;
+                }
+                issueOrder.poll();
+                tokens.remove(head.token());
+            }
+        }
+    }
+}
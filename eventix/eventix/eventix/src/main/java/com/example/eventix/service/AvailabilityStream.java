@@ -0,0 +1,139 @@
+package com.example.eventix.service;
+
+import com.example.eventix.dto.AvailabilityDTO;
+import com.example.eventix.exception.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Live seat availability of events as Server-Sent Events, for event pages.
+//
+// Each watched event has one broadcaster holding its subscribers. A seat change only marks the
+// broadcaster dirty, on the booking thread. A single timer then sends each dirty event's count at
+// most once per tick: read from SeatInventory, serialized once, and handed to SseSender, which
+// writes it to every subscriber off the timer thread. Watchers never query the database, however
+// many there are.
+@Service
+public class AvailabilityStream {
+
+    private static final long HEARTBEAT_MILLIS = 15_000;
+
+    private final SeatInventory seatInventory;
+    private final JsonMapper jsonMapper;
+    private final SseSender sender;
+    private final long timeoutMillis;
+
+    private final Map<Long, Broadcaster> broadcasters = new ConcurrentHashMap<>();
+    private volatile long lastHeartbeat = System.currentTimeMillis();
+
+    public AvailabilityStream(SeatInventory seatInventory,
+                              JsonMapper jsonMapper,
+                              SseSender sender,
+                              @Value("${eventix.availability.stream-timeout-ms:1800000}") long timeoutMillis) {
+        this.seatInventory = seatInventory;
+        this.jsonMapper = jsonMapper;
+        this.sender = sender;
+        this.timeoutMillis = timeoutMillis;
+        seatInventory.addListener(this::seatsChanged);
+    }
+
+    public SseEmitter subscribe(Long eventId) {
+        // Unknown events are a 404 here rather than an empty stream.
+        seatInventory.available(eventId);
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Runnable unsubscribe = () -> unsubscribe(eventId, emitter);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+        broadcasters.compute(eventId, (id, broadcaster) -> {
+            Broadcaster b = broadcaster != null ? broadcaster : new Broadcaster();
+            b.emitters.add(emitter);
+            return b;
+        });
+        send(eventId, emitter, message(eventId, seatInventory.available(eventId)));
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "#{1000 / ${eventix.availability.max-updates-per-second:4}}")
+    public void tick() {
+        long now = System.currentTimeMillis();
+        boolean heartbeat = now - lastHeartbeat >= HEARTBEAT_MILLIS;
+        if (heartbeat) {
+            lastHeartbeat = now;
+        }
+        for (Map.Entry<Long, Broadcaster> entry : broadcasters.entrySet()) {
+            Long eventId = entry.getKey();
+            Broadcaster broadcaster = entry.getValue();
+            Set<ResponseBodyEmitter.DataWithMediaType> message = null;
+            if (broadcaster.dirty.getAndSet(false)) {
+                long available;
+                try {
+                    available = seatInventory.available(eventId);
+                } catch (ResourceNotFoundException e) {
+                    // Deleted: end the streams instead of reconnecting watchers forever.
+                    broadcasters.remove(eventId);
+                    broadcaster.emitters.forEach(SseEmitter::complete);
+                    continue;
+                }
+                // Holds confirmed or moved without changing the count are not worth a message.
+                if (available != broadcaster.lastSent) {
+                    broadcaster.lastSent = available;
+                    message = message(eventId, available);
+                }
+            }
+            if (message != null) {
+                for (SseEmitter emitter : broadcaster.emitters) {
+                    send(eventId, emitter, message);
+                }
+            } else if (heartbeat) {
+                for (SseEmitter emitter : broadcaster.emitters) {
+                    sender.keepAlive(emitter, () -> unsubscribe(eventId, emitter));
+                }
+            }
+        }
+    }
+
+    // On the booking path: no lock, no query.
+    private void seatsChanged(Long eventId) {
+        Broadcaster broadcaster = broadcasters.get(eventId);
+        if (broadcaster != null) {
+            broadcaster.dirty.set(true);
+        }
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> message(Long eventId, long available) {
+        AvailabilityDTO availability = AvailabilityDTO.builder()
+                .event_id(eventId)
+                .availableSeats(available)
+                .soldOut(available <= 0)
+                .build();
+        return SseEmitter.event().name("availability").data(jsonMapper.writeValueAsString(availability)).build();
+    }
+
+    private void send(Long eventId, SseEmitter emitter, Set<ResponseBodyEmitter.DataWithMediaType> message) {
+        sender.send(emitter, message, () -> unsubscribe(eventId, emitter));
+    }
+
+    private void unsubscribe(Long eventId, SseEmitter emitter) {
+        sender.forget(emitter);
+        broadcasters.computeIfPresent(eventId, (id, broadcaster) -> {
+            broadcaster.emitters.remove(emitter);
+            return broadcaster.emitters.isEmpty() ? null : broadcaster;
+        });
+    }
+
+    private static final class Broadcaster {
+        private final Set<SseEmitter> emitters = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        // Only the timer reads and writes it.
+        private long lastSent = -1;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.eventix.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Ticket codes of the form TKT-XXXXXXXXXXXXXC: a 64-bit value as 13 Crockford base32 digits
+// plus one check digit, 18 characters in total.
+//
+// The value is 31 bits of seconds since 2025-01-01 UTC, a 10-bit node id and a 23-bit sequence.
+// Seconds and sequence are advanced together in one AtomicLong, so codes are unique per node
+// without locking; if a node issues more than 2^23 codes in one second it borrows from the next.
+//
+// The check digit is Luhn mod 32 over the base32 digits. Unlike the Crockford mod-37 symbols it
+// stays inside the base32 alphabet, so codes remain URL- and QR-friendly, and it still catches
+// every single-character error and almost every adjacent transposition.
+@Service
+public class Base32TicketCodeGenerator implements TicketCodeGenerator {
+
+    private static final String PREFIX = "TKT-";
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int VALUE_DIGITS = 13;
+    private static final int CODE_LENGTH = PREFIX.length() + VALUE_DIGITS + 1;
+
+    private static final long EPOCH_SECONDS = 1_735_689_600L;
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 23;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // Crockford decoding: case-insensitive, I/L read as 1 and O as 0. -1 for anything else.
+    private static final byte[] DECODE = new byte[128];
+
+    static {
+        Arrays.fill(DECODE, (byte) -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DECODE[ALPHABET[i]] = (byte) i;
+            DECODE[Character.toLowerCase(ALPHABET[i])] = (byte) i;
+        }
+        DECODE['I'] = DECODE['i'] = DECODE['L'] = DECODE['l'] = 1;
+        DECODE['O'] = DECODE['o'] = 0;
+    }
+
+    private final long nodeId;
+    // (seconds since epoch << SEQUENCE_BITS) | sequence of the last issued code.
+    private final AtomicLong lastStamp = new AtomicLong();
+
+    public Base32TicketCodeGenerator(@Value("${eventix.tickets.node-id:0}") long nodeId) {
+        if (nodeId < 0 || nodeId >= 1L << NODE_BITS) {
+            throw new IllegalStateException("eventix.tickets.node-id must be between 0 and " + ((1L << NODE_BITS) - 1));
+        }
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public String next() {
+        long floor = (System.currentTimeMillis() / 1000 - EPOCH_SECONDS) << SEQUENCE_BITS;
+        long stamp = lastStamp.accumulateAndGet(floor, (previous, now) -> Math.max(now, previous + 1));
+
+        long seconds = stamp >>> SEQUENCE_BITS;
+        long value = seconds << (NODE_BITS + SEQUENCE_BITS) | nodeId << SEQUENCE_BITS | (stamp & SEQUENCE_MASK);
+        return encode(value);
+    }
+
+    @Override
+    public String normalize(String code) {
+        if (code == null || code.length() != CODE_LENGTH || !code.regionMatches(true, 0, PREFIX, 0, PREFIX.length())) {
+            return LegacyCodes.isWellFormed(code) ? code : null;
+        }
+
+        boolean canonical = code.startsWith(PREFIX);
+        int sum = 0;
+        for (int i = 0; i <= VALUE_DIGITS; i++) {
+            char c = code.charAt(PREFIX.length() + i);
+            int digit = c < 128 ? DECODE[c] : -1;
+            if (digit < 0) {
+                return null;
+            }
+            canonical &= ALPHABET[digit] == c;
+            sum += luhnTerm(digit, VALUE_DIGITS - i);
+        }
+        // The leading digit holds only the top 4 bits of the 64-bit value.
+        if (sum % 32 != 0 || DECODE[code.charAt(PREFIX.length())] > 15) {
+            return null;
+        }
+        return canonical ? code : canonicalize(code);
+    }
+
+    private static String encode(long value) {
+        char[] chars = new char[CODE_LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), chars, 0);
+        int sum = 0;
+        for (int i = VALUE_DIGITS - 1; i >= 0; i--) {
+            int digit = (int) (value & 31);
+            value >>>= 5;
+            chars[PREFIX.length() + i] = ALPHABET[digit];
+            sum += luhnTerm(digit, VALUE_DIGITS - i);
+        }
+        chars[CODE_LENGTH - 1] = ALPHABET[(32 - sum % 32) % 32];
+        return new String(chars);
+    }
+
+    // Position 0 is the check digit itself; every other digit counting from the right is doubled.
+    private static int luhnTerm(int digit, int positionFromRight) {
+        if (positionFromRight % 2 == 0) {
+            return digit;
+        }
+        int doubled = digit * 2;
+        return doubled / 32 + doubled % 32;
+    }
+
+    private static String canonicalize(String code) {
+        char[] chars = new char[CODE_LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), chars, 0);
+        for (int i = PREFIX.length(); i < CODE_LENGTH; i++) {
+            chars[i] = ALPHABET[DECODE[code.charAt(i)]];
+        }
+        return new String(chars);
+    }
+
+    // Codes issued before this generator: TKT-<epoch millis>-<8 hex digits>.
+    private static final class LegacyCodes {
+
+        private static boolean isWellFormed(String code) {
+            if (code == null || !code.startsWith(PREFIX)) {
+                return false;
+            }
+            int dash = code.indexOf('-', PREFIX.length());
+            if (dash <= PREFIX.length() || code.length() - dash - 1 != 8) {
+                return false;
+            }
+            for (int i = PREFIX.length(); i < dash; i++) {
+                if (!Character.isDigit(code.charAt(i))) {
+                    return false;
+                }
+            }
+            for (int i = dash + 1; i < code.length(); i++) {
+                if (Character.digit(code.charAt(i), 16) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -8,11 +8,15 @@ import com.example.eventix.model.User;
 import com.example.eventix.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+import static com.example.eventix.service.TransactionHooks.afterCommit;
+
 @Service
 @RequiredArgsConstructor
 @Transactional
@@ -20,6 +24,14 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
 
+    // Bumped after every committed category write; the ETag version of all category responses.
+    private final AtomicLong version = new AtomicLong();
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public String version() {
+        return String.valueOf(version.get());
+    }
+
     public List<CategoryDTO> getAllCategories() {
         return categoryRepository.findAll()
                 .stream()
@@ -41,6 +53,7 @@ public class CategoryService {
                 .description(categoryDTO.getDescription())
                 .build();
         Category savedCategory = categoryRepository.save(category);
+        afterCommit(version::incrementAndGet);
 
         return mapToDTO(savedCategory);
     }
@@ -49,6 +62,7 @@ public class CategoryService {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id " + id));
         categoryRepository.delete(category);
+        afterCommit(version::incrementAndGet);
     }
 
     private CategoryDTO mapToDTO(Category category){
@@ -0,0 +1,289 @@
+package com.example.eventix.service;
+
+import com.example.eventix.dto.TicketEventDTO;
+import com.example.eventix.model.DomainEventType;
+import com.example.eventix.model.Ticket;
+import com.example.eventix.model.TicketStatus;
+import com.example.eventix.repository.TicketRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static com.example.eventix.service.TransactionHooks.afterCommit;
+
+// Gate mode for an event: its tickets are preloaded into memory, keyed by code, and scans are
+// decided there with a CAS on the ticket's state, so the first scan wins and no scan touches the
+// database. Check-ins are written back to tickets.checked_in in write-behind batches.
+//
+// While a gate is open, tickets issued, cancelled or checked in elsewhere for the event are applied
+// after commit. A gate takes scans only once loaded; until then they go to the database, and the
+// changes they and others commit during the load are replayed over the loaded rows.
+@Service
+@RequiredArgsConstructor
+public class CheckInIndex {
+
+    // An earlier scan uploaded by an offline device in the meantime keeps its time.
+    private static final String FLUSH_SQL = "UPDATE tickets SET checked_in = TRUE, checked_in_at = ? " +
+            "WHERE id = ? AND (checked_in = FALSE OR checked_in_at > ?)";
+
+    static final int ACTIVE = 0;
+    static final int CHECKED_IN = 1;
+    static final int CANCELED = 2;
+
+    private final TicketRepository ticketRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EventStatsService eventStats;
+    private final Outbox outbox;
+    private final TicketSyncVersions syncVersions;
+
+    private final Map<Long, Gate> gates = new ConcurrentHashMap<>();
+    private final Queue<CheckIn> pending = new ConcurrentLinkedQueue<>();
+
+    public int open(Long eventId) {
+        Gate gate = new Gate();
+        // Registered before loading so changes committed during the load reach it.
+        Gate existing = gates.putIfAbsent(eventId, gate);
+        if (existing != null) {
+            return existing.byCode.size();
+        }
+        try {
+            for (TicketRepository.GateTicketRow row : ticketRepository.findGateTicketsByEventId(eventId)) {
+                int state = row.getStatus() == TicketStatus.CANCELED ? CANCELED : row.getCheckedIn() ? CHECKED_IN : ACTIVE;
+                gate.add(new GateTicket(row.getId(), row.getReservationId(), row.getTicketCode(),
+                        row.getSectionId(), row.getSectionName(), row.getSeatRow(), row.getSeatNumber(), new AtomicInteger(state)));
+            }
+        } catch (RuntimeException e) {
+            gates.remove(eventId, gate);
+            throw e;
+        }
+        gate.loaded();
+        System.out.println("🚪 Gate opened for event " + eventId + " with " + gate.byCode.size() + " tickets");
+        return gate.byCode.size();
+    }
+
+    public void close(Long eventId) {
+        if (gates.remove(eventId) != null) {
+            flush();
+            System.out.println("🚪 Gate closed for event " + eventId);
+        }
+    }
+
+    public boolean isOpen(Long eventId) {
+        return gates.containsKey(eventId);
+    }
+
+    // Null if no open gate knows the code; the caller then falls back to the database.
+    public Scan checkIn(String ticketCode) {
+        for (Map.Entry<Long, Gate> gate : gates.entrySet()) {
+            GateTicket ticket = gate.getValue().loaded ? gate.getValue().byCode.get(ticketCode) : null;
+            if (ticket != null) {
+                return scan(gate.getKey(), ticket);
+            }
+        }
+        return null;
+    }
+
+    // For signed tokens, which already name the event.
+    public Scan checkIn(Long eventId, Long ticketId) {
+        Gate gate = gates.get(eventId);
+        GateTicket ticket = gate != null && gate.loaded ? gate.byId.get(ticketId) : null;
+        return ticket != null ? scan(eventId, ticket) : null;
+    }
+
+    private Scan scan(Long eventId, GateTicket ticket) {
+        if (ticket.state.compareAndSet(ACTIVE, CHECKED_IN)) {
+            pending.add(new CheckIn(eventId, ticket.id, LocalDateTime.now()));
+            return new Scan(ticket, ACTIVE);
+        }
+        return new Scan(ticket, ticket.state.get());
+    }
+
+    public void issued(Long eventId, List<Ticket> issued) {
+        if (!isOpen(eventId)) {
+            return;
+        }
+        // Built now, while the section proxies can still be read in this transaction.
+        List<GateTicket> added = issued.stream().map(ticket -> toGateTicket(ticket, ACTIVE)).toList();
+        afterCommit(() -> apply(eventId, gate -> added.forEach(gate::add)));
+    }
+
+    public void canceled(Long eventId, List<Ticket> canceled) {
+        if (!isOpen(eventId)) {
+            return;
+        }
+        List<GateTicket> removed = canceled.stream().map(ticket -> toGateTicket(ticket, CANCELED)).toList();
+        afterCommit(() -> apply(eventId, gate -> {
+            for (GateTicket ticket : removed) {
+                GateTicket known = gate.add(ticket);
+                if (known != null) {
+                    known.state.set(CANCELED);
+                }
+            }
+        }));
+    }
+
+    // Bulk cancellations only know codes; tickets the gate has not seen are loaded as cancelled anyway.
+    public void canceledCodes(Long eventId, Collection<String> ticketCodes) {
+        afterCommit(() -> apply(eventId, gate -> {
+            for (String ticketCode : ticketCodes) {
+                GateTicket ticket = gate.byCode.get(ticketCode);
+                if (ticket != null) {
+                    ticket.state.set(CANCELED);
+                }
+            }
+        }));
+    }
+
+    // Check-ins already written to the database elsewhere, e.g. by a batch upload or a scan
+    // that arrived while the gate was loading.
+    public void checkedIn(Collection<String> ticketCodes) {
+        afterCommit(() -> {
+            for (Gate gate : gates.values()) {
+                gate.apply(loaded -> {
+                    for (String ticketCode : ticketCodes) {
+                        GateTicket ticket = loaded.byCode.get(ticketCode);
+                        if (ticket != null) {
+                            ticket.state.compareAndSet(ACTIVE, CHECKED_IN);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    private void apply(Long eventId, Consumer<Gate> change) {
+        Gate gate = gates.get(eventId);
+        if (gate != null) {
+            gate.apply(change);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${eventix.checkin.flush-interval-ms:500}")
+    public void flush() {
+        List<CheckIn> checkIns = new ArrayList<>();
+        CheckIn checkIn;
+        while ((checkIn = pending.poll()) != null) {
+            checkIns.add(checkIn);
+        }
+        if (checkIns.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batch = checkIns.stream()
+                .map(c -> new Object[]{c.at(), c.ticketId(), c.at()})
+                .toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<Long, Long> unchecked = eventStats.lockUnchecked(checkIns.stream().map(CheckIn::ticketId).toList());
+                int[] counts = jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+                List<TicketEventDTO> checkedIn = new ArrayList<>();
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] != 0) {
+                        syncVersions.changed(checkIns.get(i).eventId(), List.of(checkIns.get(i).ticketId()));
+                    }
+                    Long eventId = unchecked.get(checkIns.get(i).ticketId());
+                    if (counts[i] != 0 && eventId != null) {
+                        eventStats.checkedIn(eventId, 1);
+                        checkedIn.add(new TicketEventDTO(checkIns.get(i).ticketId(), eventId, checkIns.get(i).at()));
+                    }
+                }
+                outbox.publishAll(DomainEventType.TICKET_CHECKED_IN, checkedIn, TicketEventDTO::getTicket_id);
+            });
+        } catch (RuntimeException e) {
+            pending.addAll(checkIns);
+            System.out.println("❌ Check-in flush failed, will retry: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private static GateTicket toGateTicket(Ticket ticket, int state) {
+        return new GateTicket(ticket.getId(), ticket.getReservation().getId(), ticket.getTicketCode(),
+                ticket.getSection() != null ? ticket.getSection().getId() : null,
+                ticket.getSection() != null ? ticket.getSection().getName() : null,
+                ticket.getSeatRow(), ticket.getSeatNumber(), new AtomicInteger(state));
+    }
+
+    // previousState is ACTIVE when this scan checked the ticket in.
+    public record Scan(GateTicket ticket, int previousState) {
+
+        public boolean admitted() {
+            return previousState == ACTIVE;
+        }
+
+        public boolean canceled() {
+            return previousState == CANCELED;
+        }
+    }
+
+    private record CheckIn(Long eventId, Long ticketId, LocalDateTime at) {
+    }
+
+    private static final class Gate {
+        private final Map<String, GateTicket> byCode = new ConcurrentHashMap<>();
+        private final Map<Long, GateTicket> byId = new ConcurrentHashMap<>();
+        // Changes committed during the load, replayed after it since the load may have read older rows.
+        private final List<Consumer<Gate>> changes = new ArrayList<>();
+        private volatile boolean loaded;
+
+        private void apply(Consumer<Gate> change) {
+            synchronized (this) {
+                if (!loaded) {
+                    changes.add(change);
+                    return;
+                }
+            }
+            change.accept(this);
+        }
+
+        private synchronized void loaded() {
+            changes.forEach(change -> change.accept(this));
+            changes.clear();
+            loaded = true;
+        }
+
+        // Returns the ticket already known under that code, if any, and keeps it.
+        private GateTicket add(GateTicket ticket) {
+            GateTicket known = byCode.putIfAbsent(ticket.ticketCode, ticket);
+            if (known == null) {
+                byId.put(ticket.id, ticket);
+            }
+            return known;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class GateTicket {
+        private final Long id;
+        private final Long reservationId;
+        private final String ticketCode;
+        private final Long sectionId;
+        private final String sectionName;
+        private final Integer seatRow;
+        private final Integer seatNumber;
+        @Getter(AccessLevel.NONE)
+        private final AtomicInteger state;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.eventix.service;
+
+import com.example.eventix.dto.CursorPage;
+import com.example.eventix.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+// Opaque cursors for keyset pagination: the sort key of the last row of a page,
+// base64url-encoded. Pages are read with limit + 1 rows to learn whether another follows.
+final class Cursors {
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+
+    private Cursors() {
+    }
+
+    static int pageSize(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (requested < 1) {
+            throw new BadRequestException("limit must be at least 1");
+        }
+        return Math.min(requested, MAX_PAGE_SIZE);
+    }
+
+    // Optional enum filter from a query parameter; unknown names are a client error.
+    static <E extends Enum<E>> E filter(Class<E> type, String name, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid " + name + ": " + value);
+        }
+    }
+
+    static long afterId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(decode(cursor));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    static DateKey afterDate(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return new DateKey(null, 0L);
+        }
+        String key = decode(cursor);
+        int separator = key.indexOf('|');
+        try {
+            return new DateKey(LocalDateTime.parse(key.substring(0, separator)), Long.parseLong(key.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    // rows holds up to pageSize + 1 entities; the extra one only signals that there is a next page.
+    static <E, D> CursorPage<D> page(List<E> rows, int pageSize, Function<E, String> cursorOf, Function<E, D> mapper) {
+        boolean more = rows.size() > pageSize;
+        List<E> page = more ? rows.subList(0, pageSize) : rows;
+        String next = more ? encode(cursorOf.apply(page.get(page.size() - 1))) : null;
+        return new CursorPage<>(page.stream().map(mapper).toList(), next);
+    }
+
+    static String idKey(Long id) {
+        return String.valueOf(id);
+    }
+
+    static String dateKey(LocalDateTime date, Long id) {
+        return date + "|" + id;
+    }
+
+    private static String encode(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    record DateKey(LocalDateTime date, Long id) {
+    }
+}
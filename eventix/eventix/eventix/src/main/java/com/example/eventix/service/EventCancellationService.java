@@ -0,0 +1,330 @@
+package com.example.eventix.service;
+
+import com.example.eventix.dto.EventCancellationDTO;
+import com.example.eventix.dto.ReservationEventDTO;
+import com.example.eventix.model.DomainEventType;
+import com.example.eventix.exception.BadRequestException;
+import com.example.eventix.exception.ResourceNotFoundException;
+import com.example.eventix.model.CancellationStatus;
+import com.example.eventix.model.EventCancellationJob;
+import com.example.eventix.model.Payment_Status;
+import com.example.eventix.model.ReservationStatus;
+import com.example.eventix.model.TicketStatus;
+import com.example.eventix.repository.EventCancellationJobRepository;
+import com.example.eventix.repository.EventRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.eventix.service.TransactionHooks.afterCommit;
+import static com.example.eventix.service.TransactionHooks.onRollback;
+
+// Cancels every reservation, payment and ticket of an event with set-based updates, one chunk of
+// reservations per transaction. The job row is updated in the same transaction as its chunk, so
+// progress is exact and a failed or interrupted job resumes where it stopped.
+//
+// Once a cancellation has started, the event takes no new reservations or payments, and the job
+// waits for those already past the check to finish before it starts sweeping.
+@Service
+public class EventCancellationService {
+
+    private static final String SELECT_CHUNK_SQL = "SELECT id, user_id, seats, status FROM reservations " +
+            "WHERE event_id = :eventId AND id > :afterId AND status IN (:active) ORDER BY id LIMIT :limit FOR UPDATE";
+    private static final String COUNT_ACTIVE_SQL = "SELECT COUNT(*) FROM reservations WHERE event_id = :eventId AND status IN (:active)";
+    private static final String CANCEL_RESERVATIONS_SQL = "UPDATE reservations SET status = :cancelled WHERE id IN (:ids)";
+    private static final String CANCEL_PAYMENTS_SQL = "UPDATE payments SET status = :failed WHERE reservation_id IN (:ids) AND status <> :failed";
+    private static final String SELECT_PAID_SQL = "SELECT reservation_id, amount FROM payments WHERE reservation_id IN (:ids) AND status = :success";
+    private static final String SELECT_TICKETS_SQL = "SELECT id, ticket_code, status_epoch FROM tickets WHERE reservation_id IN (:ids) AND status <> :canceled";
+    private static final String CANCEL_TICKETS_SQL = "UPDATE tickets SET status = :canceled, status_epoch = COALESCE(status_epoch, 0) + 1 " +
+            "WHERE reservation_id IN (:ids) AND status <> :canceled";
+
+    private final EventCancellationJobRepository jobRepository;
+    private final EventRepository eventRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SeatInventory seatInventory;
+    private final SeatMapAllocator seatMapAllocator;
+    private final CheckInIndex checkInIndex;
+    private final TicketTokenService ticketTokenService;
+    private final AdmissionQueueService admissionQueueService;
+    private final SalesAnalytics salesAnalytics;
+    private final EventStatsService eventStats;
+    private final Outbox outbox;
+    private final TicketSyncVersions syncVersions;
+    private final int chunkSize;
+
+    private final Set<Long> cancelledEvents = ConcurrentHashMap.newKeySet();
+    // Reservations and payments let through by enterSale whose transaction has not ended, by event.
+    private final Map<Long, AtomicInteger> salesInFlight = new ConcurrentHashMap<>();
+    // One job at a time keeps the lock footprint of bulk cancellations small.
+    private final ExecutorService worker = Executors.newSingleThreadExecutor();
+
+    public EventCancellationService(EventCancellationJobRepository jobRepository,
+                                    EventRepository eventRepository,
+                                    NamedParameterJdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    SeatInventory seatInventory,
+                                    SeatMapAllocator seatMapAllocator,
+                                    CheckInIndex checkInIndex,
+                                    TicketTokenService ticketTokenService,
+                                    AdmissionQueueService admissionQueueService,
+                                    SalesAnalytics salesAnalytics,
+                                    EventStatsService eventStats,
+                                    Outbox outbox,
+                                    TicketSyncVersions syncVersions,
+                                    @Value("${eventix.cancellation.chunk-size:500}") int chunkSize) {
+        this.jobRepository = jobRepository;
+        this.eventRepository = eventRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.seatInventory = seatInventory;
+        this.seatMapAllocator = seatMapAllocator;
+        this.checkInIndex = checkInIndex;
+        this.ticketTokenService = ticketTokenService;
+        this.admissionQueueService = admissionQueueService;
+        this.salesAnalytics = salesAnalytics;
+        this.eventStats = eventStats;
+        this.outbox = outbox;
+        this.syncVersions = syncVersions;
+        this.chunkSize = chunkSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeJobs() {
+        for (EventCancellationJob job : jobRepository.findAll()) {
+            cancelledEvents.add(job.getEventId());
+            if (job.getStatus() == CancellationStatus.RUNNING) {
+                System.out.println("🛑 Resuming cancellation of event " + job.getEventId() + " after reservation " + job.getLastReservationId());
+                worker.execute(() -> run(job.getId(), job.getEventId()));
+            }
+        }
+    }
+
+    public EventCancellationDTO cancelEvent(Long eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event not found: " + eventId);
+        }
+        EventCancellationJob job = transactionTemplate.execute(status -> {
+            EventCancellationJob existing = jobRepository.findByEventId(eventId).orElse(null);
+            if (existing == null) {
+                existing = EventCancellationJob.builder()
+                        .eventId(eventId)
+                        .lastReservationId(0L)
+                        .reservationsCancelled(0L)
+                        .paymentsCancelled(0L)
+                        .ticketsCancelled(0L)
+                        .build();
+            } else if (existing.getStatus() == CancellationStatus.COMPLETED) {
+                return existing;
+            }
+            // New, or a failed job being retried from its cursor.
+            existing.setStatus(CancellationStatus.RUNNING);
+            existing.setError(null);
+            return jobRepository.save(existing);
+        });
+
+        // Sales stop once the job row is committed, so a rolled-back request leaves the event on sale.
+        // Registered first, so it also happens before the first chunk: the job does not chase new reservations.
+        afterCommit(() -> {
+            cancelledEvents.add(eventId);
+            admissionQueueService.disable(eventId);
+        });
+        if (job.getStatus() == CancellationStatus.RUNNING) {
+            // A caller's transaction may still hold the job row; the worker must not start before it commits.
+            afterCommit(() -> worker.execute(() -> run(job.getId(), job.getEventId())));
+        }
+        return mapToDTO(job);
+    }
+
+    public EventCancellationDTO getCancellation(Long eventId) {
+        return jobRepository.findByEventId(eventId)
+                .map(this::mapToDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("No cancellation for event: " + eventId));
+    }
+
+    public boolean isCancelled(Long eventId) {
+        return cancelledEvents.contains(eventId);
+    }
+
+    // Called by a reservation or payment before it writes: fails once a cancellation has started,
+    // otherwise counts the sale as in flight until its transaction ends. Counting before the check,
+    // and the job reading the count after marking the event, means one of the two always sees the other.
+    public void enterSale(Long eventId) {
+        AtomicInteger sales = salesInFlight.computeIfAbsent(eventId, id -> new AtomicInteger());
+        sales.incrementAndGet();
+        if (cancelledEvents.contains(eventId)) {
+            sales.decrementAndGet();
+            throw new BadRequestException("Event has been cancelled");
+        }
+        afterCommit(sales::decrementAndGet);
+        onRollback(sales::decrementAndGet);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Running jobs stay RUNNING and are resumed on the next start.
+        worker.shutdownNow();
+    }
+
+    private void run(Long jobId, Long eventId) {
+        try {
+            // A sale that passed the check before the event was marked could otherwise commit after the last sweep.
+            AtomicInteger sales = salesInFlight.get(eventId);
+            while (sales != null && sales.get() > 0) {
+                Thread.sleep(10);
+            }
+            Boolean more;
+            do {
+                more = transactionTemplate.execute(status -> processChunk(jobId));
+            } while (Boolean.TRUE.equals(more) && !Thread.currentThread().isInterrupted());
+        } catch (InterruptedException e) {
+            // Shutting down; the job stays RUNNING and is resumed on the next start.
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            System.out.println("❌ Event cancellation job " + jobId + " failed: " + e.getMessage());
+            transactionTemplate.executeWithoutResult(status -> jobRepository.findById(jobId).ifPresent(job -> {
+                job.setStatus(CancellationStatus.FAILED);
+                job.setError(e.getMessage() != null && e.getMessage().length() > 1000 ? e.getMessage().substring(0, 1000) : e.getMessage());
+                jobRepository.save(job);
+            }));
+        }
+    }
+
+    // Returns false once the event has no HELD or PAID reservations left.
+    private boolean processChunk(Long jobId) {
+        EventCancellationJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Cancellation job not found: " + jobId));
+        if (job.getStatus() != CancellationStatus.RUNNING) {
+            return false;
+        }
+        Long eventId = job.getEventId();
+        List<Integer> active = List.of(ReservationStatus.HELD.ordinal(), ReservationStatus.PAID.ordinal());
+
+        List<Long> ids = new ArrayList<>();
+        List<ReservationEventDTO> cancelled = new ArrayList<>();
+        long[] seats = new long[2];
+        long[] reservations = new long[2];
+        jdbcTemplate.query(SELECT_CHUNK_SQL, new MapSqlParameterSource()
+                        .addValue("eventId", eventId)
+                        .addValue("afterId", job.getLastReservationId())
+                        .addValue("active", active)
+                        .addValue("limit", chunkSize),
+                rs -> {
+                    ids.add(rs.getLong("id"));
+                    cancelled.add(ReservationEventDTO.builder()
+                            .reservation_id(rs.getLong("id"))
+                            .event_id(eventId)
+                            .user_id(rs.getLong("user_id"))
+                            .seats(rs.getLong("seats"))
+                            .build());
+                    int slot = rs.getInt("status") == ReservationStatus.HELD.ordinal() ? 0 : 1;
+                    seats[slot] += rs.getLong("seats");
+                    reservations[slot]++;
+                });
+
+        if (ids.isEmpty()) {
+            // A reservation committed just before sales stopped may sit behind the cursor; sweep again.
+            Long remaining = jdbcTemplate.queryForObject(COUNT_ACTIVE_SQL, new MapSqlParameterSource()
+                    .addValue("eventId", eventId)
+                    .addValue("active", active), Long.class);
+            if (remaining != null && remaining > 0 && job.getLastReservationId() > 0) {
+                job.setLastReservationId(0L);
+                jobRepository.save(job);
+                return true;
+            }
+            job.setStatus(CancellationStatus.COMPLETED);
+            job.setCompletedAt(LocalDateTime.now());
+            jobRepository.save(job);
+            seatMapAllocator.evict(eventId);
+            System.out.println("🛑 Event " + eventId + " cancelled: " + job.getReservationsCancelled() + " reservations, "
+                    + job.getTicketsCancelled() + " tickets");
+            return false;
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("cancelled", ReservationStatus.CANCELLED.ordinal())
+                .addValue("failed", Payment_Status.FAILED.ordinal())
+                .addValue("success", Payment_Status.SUCCESS.ordinal())
+                .addValue("canceled", TicketStatus.CANCELED.ordinal());
+
+        Map<Long, Integer> statusEpochs = new HashMap<>();
+        List<String> ticketCodes = new ArrayList<>();
+        jdbcTemplate.query(SELECT_TICKETS_SQL, params, rs -> {
+            // The reservations are locked, so the epoch read here is the one the update bumps.
+            statusEpochs.put(rs.getLong("id"), rs.getInt("status_epoch") + 1);
+            ticketCodes.add(rs.getString("ticket_code"));
+        });
+
+        Map<Long, BigDecimal> paid = new HashMap<>();
+        jdbcTemplate.query(SELECT_PAID_SQL, params, rs -> {
+            BigDecimal amount = rs.getBigDecimal("amount");
+            if (amount != null) {
+                paid.merge(rs.getLong("reservation_id"), amount, BigDecimal::add);
+            }
+        });
+        BigDecimal refunded = paid.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        jdbcTemplate.update(CANCEL_RESERVATIONS_SQL, params);
+        int payments = jdbcTemplate.update(CANCEL_PAYMENTS_SQL, params);
+        int tickets = jdbcTemplate.update(CANCEL_TICKETS_SQL, params);
+
+        // Same bookkeeping as a single cancel, once per chunk.
+        if (seats[0] > 0) {
+            seatInventory.releaseHold(eventId, seats[0]);
+        }
+        if (seats[1] > 0) {
+            seatInventory.release(eventId, seats[1]);
+        }
+        eventStats.moved(eventId, ReservationStatus.HELD, ReservationStatus.CANCELLED, reservations[0], seats[0]);
+        eventStats.moved(eventId, ReservationStatus.PAID, ReservationStatus.CANCELLED, reservations[1], seats[1]);
+        eventStats.revenue(eventId, refunded.negate());
+        if (reservations[1] > 0 || refunded.signum() > 0) {
+            salesAnalytics.cancelled(eventId, reservations[1], seats[1], refunded);
+        }
+        ticketTokenService.revoke(eventId, statusEpochs);
+        syncVersions.changed(eventId, statusEpochs.keySet());
+        checkInIndex.canceledCodes(eventId, ticketCodes);
+        cancelled.forEach(event -> event.setAmount(paid.get(event.getReservation_id())));
+        outbox.publishAll(DomainEventType.RESERVATION_CANCELLED, cancelled, ReservationEventDTO::getReservation_id);
+
+        job.setLastReservationId(ids.get(ids.size() - 1));
+        job.setReservationsCancelled(job.getReservationsCancelled() + ids.size());
+        job.setPaymentsCancelled(job.getPaymentsCancelled() + payments);
+        job.setTicketsCancelled(job.getTicketsCancelled() + tickets);
+        jobRepository.save(job);
+        return true;
+    }
+
+    private EventCancellationDTO mapToDTO(EventCancellationJob job) {
+        return EventCancellationDTO.builder()
+                .id(job.getId())
+                .event_id(job.getEventId())
+                .status(job.getStatus() != null ? job.getStatus().toString() : null)
+                .reservationsCancelled(job.getReservationsCancelled())
+                .paymentsCancelled(job.getPaymentsCancelled())
+                .ticketsCancelled(job.getTicketsCancelled())
+                .error(job.getError())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+}
@@ -0,0 +1,265 @@
+package com.example.eventix.service;
+
+import com.example.eventix.dto.CatalogStatsDTO;
+import com.example.eventix.dto.EventDTO;
+import com.example.eventix.model.Event;
+import com.example.eventix.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.example.eventix.service.TransactionHooks.afterCommit;
+
+// Read-through cache of event DTOs for the public catalog, bounded by size and TTL.
+//
+// Entries are futures put in the map before their load starts, so concurrent misses for an event
+// wait on one load instead of each querying. Seats are not cached: every read overlays the live
+// count from SeatInventory, so holds and sales never invalidate an entry. Event writes evict
+// their entry after commit; a load that raced with the write is dropped with it.
+@Service
+public class EventCatalog {
+
+    private static final int WARM_UP_BATCH = 500;
+
+    private final EventRepository eventRepository;
+    private final SeatInventory seatInventory;
+    private final long ttlMillis;
+    private final int maxSize;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    // Bumped after every committed event write, cached or not.
+    private final AtomicLong version = new AtomicLong();
+
+    public EventCatalog(EventRepository eventRepository,
+                        SeatInventory seatInventory,
+                        @Value("${eventix.catalog.ttl-ms:60000}") long ttlMillis,
+                        @Value("${eventix.catalog.max-size:10000}") int maxSize) {
+        this.eventRepository = eventRepository;
+        this.seatInventory = seatInventory;
+        this.ttlMillis = ttlMillis;
+        this.maxSize = maxSize;
+    }
+
+    // Upcoming events first: they are what the catalog pages show.
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<Long> upcoming = eventRepository.findPageIdsByDate(null, 0L, null, null, LocalDateTime.now(), null, Limit.of(maxSize));
+        for (int i = 0; i < upcoming.size(); i += WARM_UP_BATCH) {
+            long expiresAt = System.currentTimeMillis() + ttlMillis;
+            Map<Long, CompletableFuture<EventDTO>> owned = new HashMap<>();
+            for (Long eventId : upcoming.subList(i, Math.min(i + WARM_UP_BATCH, upcoming.size()))) {
+                Entry loading = new Entry(new CompletableFuture<>(), expiresAt);
+                if (entries.putIfAbsent(eventId, loading) == null) {
+                    owned.put(eventId, loading.value);
+                }
+            }
+            load(owned);
+        }
+        System.out.println("📚 Event catalog warmed up with " + entries.size() + " events");
+    }
+
+    // Null if the event does not exist.
+    public EventDTO get(Long eventId) {
+        return getAll(List.of(eventId)).get(eventId);
+    }
+
+    // Cached and freshly loaded events by id, in the order of the ids; unknown ids are left out.
+    // All misses not already being loaded by another thread are fetched with one query.
+    public Map<Long, EventDTO> getAll(Collection<Long> eventIds) {
+        long now = System.currentTimeMillis();
+        Map<Long, Entry> found = new LinkedHashMap<>();
+        Map<Long, CompletableFuture<EventDTO>> owned = new HashMap<>();
+        for (Long eventId : eventIds) {
+            Entry entry = entries.get(eventId);
+            if (entry != null && entry.expiresAt < now) {
+                entries.remove(eventId, entry);
+                entry = null;
+            }
+            if (entry != null) {
+                hits.incrementAndGet();
+            } else {
+                misses.incrementAndGet();
+                Entry loading = new Entry(new CompletableFuture<>(), now + ttlMillis);
+                entry = entries.putIfAbsent(eventId, loading);
+                if (entry == null) {
+                    entry = loading;
+                    owned.put(eventId, loading.value);
+                }
+            }
+            entry.lastAccess = now;
+            found.put(eventId, entry);
+        }
+
+        load(owned);
+
+        Map<Long, EventDTO> result = new LinkedHashMap<>();
+        found.forEach((eventId, entry) -> {
+            EventDTO cached = join(entry.value);
+            if (cached != null) {
+                result.put(eventId, withSeats(cached));
+            }
+        });
+        return result;
+    }
+
+    // Evicts after the surrounding transaction commits, so no reader can reload the old row.
+    public void invalidate(Long eventId) {
+        afterCommit(() -> {
+            if (entries.remove(eventId) != null) {
+                invalidations.incrementAndGet();
+            }
+            // After the eviction: whoever sees the new version also misses the old entry.
+            version.incrementAndGet();
+        });
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    public CatalogStatsDTO stats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        return CatalogStatsDTO.builder()
+                .size(entries.size())
+                .maxSize(maxSize)
+                .ttlMillis(ttlMillis)
+                .hits(hitCount)
+                .misses(missCount)
+                .hitRate(hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount))
+                .loads(loads.get())
+                .evictions(evictions.get())
+                .invalidations(invalidations.get())
+                .build();
+    }
+
+    private void load(Map<Long, CompletableFuture<EventDTO>> owned) {
+        if (owned.isEmpty()) {
+            return;
+        }
+        try {
+            loads.incrementAndGet();
+            for (Event event : eventRepository.findAllWithRelationsByIdIn(owned.keySet())) {
+                owned.get(event.getId()).complete(toDTO(event));
+            }
+            // Unknown events are not cached.
+            owned.forEach((eventId, future) -> {
+                if (future.complete(null)) {
+                    discard(eventId, future);
+                }
+            });
+        } catch (RuntimeException e) {
+            owned.forEach((eventId, future) -> {
+                discard(eventId, future);
+                future.completeExceptionally(e);
+            });
+            throw e;
+        }
+        if (entries.size() > maxSize) {
+            evict();
+        }
+    }
+
+    // Only removes the entry of this load; an invalidation may already have replaced it.
+    private void discard(Long eventId, CompletableFuture<EventDTO> future) {
+        entries.computeIfPresent(eventId, (id, entry) -> entry.value == future ? null : entry);
+    }
+
+    // Drops expired entries, then the least recently read ones, down to 90% of the bound.
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            entries.entrySet().removeIf(e -> e.getValue().expiresAt < now && e.getValue().value.isDone());
+            int excess = entries.size() - maxSize * 9 / 10;
+            if (excess > 0) {
+                // Access times are snapshotted: readers keep updating them while we sort.
+                List<Candidate> oldest = new ArrayList<>();
+                entries.forEach((eventId, entry) -> {
+                    if (entry.value.isDone()) {
+                        oldest.add(new Candidate(eventId, entry, entry.lastAccess));
+                    }
+                });
+                oldest.sort(Comparator.comparingLong(Candidate::lastAccess));
+                for (Candidate candidate : oldest.subList(0, Math.min(excess, oldest.size()))) {
+                    if (entries.remove(candidate.eventId(), candidate.entry())) {
+                        evictions.incrementAndGet();
+                    }
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    // Cached DTOs are shared between readers; each caller gets its own copy.
+    private EventDTO withSeats(EventDTO cached) {
+        return cached.toBuilder()
+                .availableSeats(seatInventory.available(cached.getId()))
+                .build();
+    }
+
+    private static EventDTO join(CompletableFuture<EventDTO> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private static EventDTO toDTO(Event event) {
+        return EventDTO.builder()
+                .id(event.getId())
+                .name(event.getName())
+                .description(event.getDescription())
+                .imageUrl(event.getImageUrl())
+                .location(event.getLocation())
+                .date(event.getDate())
+                .startTime(event.getStartTime())
+                .endTime(event.getEndTime())
+                .totalCapacity(event.getTotalCapacity())
+                .priceBase(event.getPriceBase())
+                .category_id(event.getCategory().getId())
+                .user_id(event.getUser().getId())
+                .build();
+    }
+
+    private record Candidate(Long eventId, Entry entry, long lastAccess) {
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<EventDTO> value;
+        private final long expiresAt;
+        private volatile long lastAccess;
+
+        private Entry(CompletableFuture<EventDTO> value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
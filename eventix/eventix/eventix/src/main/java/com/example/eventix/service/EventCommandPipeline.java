@@ -0,0 +1,162 @@
+package com.example.eventix.service;
+
+import com.example.eventix.repository.ReservationRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+// Optional single-writer mode for reservation, payment and cancel commands. Commands for one
+// event are queued on that event's lane and a single worker drains the lane in batches, running
+// each batch in one transaction (group commit). Every command comes with a check of what it
+// would refuse, run in the batch just before the command, so it sees the seats the commands
+// before it took. A refused command is left out and fails alone. A command that fails
+// after passing its check still rolls back the batch, whose commands are then replayed one
+// transaction each, so even then a failure only affects its own caller.
+@Service
+public class EventCommandPipeline {
+
+    private final ReservationRepository reservationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final ExecutorService workers;
+    private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+
+    public EventCommandPipeline(ReservationRepository reservationRepository,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${eventix.pipeline.enabled:false}") boolean enabled,
+                                @Value("${eventix.pipeline.batch-size:64}") int batchSize,
+                                @Value("${eventix.pipeline.threads:4}") int threads) {
+        this.reservationRepository = reservationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.workers = enabled ? Executors.newFixedThreadPool(threads) : null;
+    }
+
+    // The check must not change anything: it throws what the command would, or returns.
+    public <T> CompletableFuture<T> submit(Long eventId, Runnable check, Supplier<T> command) {
+        if (!enabled || eventId == null) {
+            return runDirect(command);
+        }
+        Command<T> queued = new Command<>(check, command);
+        Lane lane = lanes.computeIfAbsent(eventId, id -> new Lane());
+        lane.commands.add(queued);
+        lane.schedule();
+        return queued.future;
+    }
+
+    public <T> CompletableFuture<T> submitForReservation(Long reservationId, Runnable check, Supplier<T> command) {
+        if (!enabled) {
+            return runDirect(command);
+        }
+        return submit(reservationRepository.findEventIdById(reservationId).orElse(null), check, command);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (workers != null) {
+            workers.shutdown();
+        }
+    }
+
+    private static <T> CompletableFuture<T> runDirect(Supplier<T> command) {
+        try {
+            return CompletableFuture.completedFuture(command.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private final class Lane {
+        private final Queue<Command<?>> commands = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                workers.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                List<Command<?>> batch = new ArrayList<>(batchSize);
+                Command<?> command;
+                while (batch.size() < batchSize && (command = commands.poll()) != null) {
+                    batch.add(command);
+                }
+                if (!batch.isEmpty()) {
+                    runBatch(batch);
+                }
+            } finally {
+                scheduled.set(false);
+            }
+            // Re-check after clearing the flag so a command queued during the batch is never stranded.
+            // Rescheduling instead of looping lets other lanes share the workers.
+            if (!commands.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void runBatch(List<Command<?>> batch) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> batch.forEach(Command::execute));
+                batch.forEach(Command::complete);
+            } catch (RuntimeException batchFailure) {
+                for (Command<?> command : batch) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> command.execute());
+                        command.complete();
+                    } catch (RuntimeException e) {
+                        command.future.completeExceptionally(e);
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Command<T> {
+        private final Runnable check;
+        private final Supplier<T> action;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private T result;
+        private RuntimeException refused;
+
+        private Command(Runnable check, Supplier<T> action) {
+            this.check = check;
+            this.action = action;
+        }
+
+        private void execute() {
+            refused = null;
+            try {
+                check.run();
+            } catch (RuntimeException e) {
+                refused = e;
+                return;
+            }
+            result = action.get();
+        }
+
+        private void complete() {
+            if (refused != null) {
+                future.completeExceptionally(refused);
+            } else {
+                future.complete(result);
+            }
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.eventix.service;
+
+import com.example.eventix.dto.EventFacetsDTO;
+import com.example.eventix.exception.BadRequestException;
+import com.example.eventix.repository.EventRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.example.eventix.service.TransactionHooks.afterCommit;
+
+// Event counts by category, date, price band and availability, for the filters of the Events page.
+//
+// Each event is counted once under the combination of its four facet values, so a facet query
+// sums over the distinct combinations, never over events. Every facet is counted with the filters
+// on the other facets applied, so picking a category still shows the other categories' counts.
+// Event writes are applied after commit; sell-outs and restocks arrive from SeatInventory.
+@Service
+public class EventFacets {
+
+    public static final List<String> DATE_BUCKETS = List.of("past", "today", "tomorrow", "this-week", "this-month", "later");
+    public static final List<String> PRICE_BANDS = List.of("0-25", "25-50", "50-100", "100-250", "250+");
+    public static final List<String> AVAILABILITY = List.of("available", "sold-out");
+
+    // Exclusive upper bounds of all but the last, open, price band.
+    private static final List<BigDecimal> PRICE_BOUNDS =
+            List.of(new BigDecimal("25"), new BigDecimal("50"), new BigDecimal("100"), new BigDecimal("250"));
+    // Days before today, and undated events, are all counted under this day.
+    private static final LocalDate PAST = LocalDate.MIN;
+
+    private final EventRepository eventRepository;
+    private final SeatInventory seatInventory;
+
+    // event id -> combination it is counted under
+    private final Map<Long, Key> keys = new ConcurrentHashMap<>();
+    private final Map<Key, Long> counts = new ConcurrentHashMap<>();
+    private final Set<Long> droppedDuringLoad = ConcurrentHashMap.newKeySet();
+    private final AtomicLong version = new AtomicLong();
+    private volatile LocalDate today = LocalDate.now();
+    private volatile boolean loaded;
+
+    public EventFacets(EventRepository eventRepository, SeatInventory seatInventory) {
+        this.eventRepository = eventRepository;
+        this.seatInventory = seatInventory;
+        seatInventory.addListener(this::seatsChanged);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<EventRepository.FacetRow> rows = eventRepository.findAllFacetRows();
+        synchronized (this) {
+            for (EventRepository.FacetRow row : rows) {
+                // Writes committed during the load have already been applied and win.
+                if (!droppedDuringLoad.contains(row.getId()) && !keys.containsKey(row.getId())) {
+                    Key key = key(row.getId(), row.getCategoryId(), row.getDate(), row.getPriceBase());
+                    keys.put(row.getId(), key);
+                    count(key, 1);
+                }
+            }
+            loaded = true;
+            droppedDuringLoad.clear();
+            version.incrementAndGet();
+        }
+        System.out.println("🧮 Event facets loaded: " + rows.size() + " events in " + counts.size() + " combinations");
+    }
+
+    public void put(Long eventId, Long categoryId, LocalDateTime date, BigDecimal priceBase) {
+        afterCommit(() -> apply(eventId, categoryId, date, priceBase));
+    }
+
+    public void remove(Long eventId) {
+        afterCommit(() -> apply(eventId, null, null, null));
+    }
+
+    // Changes with every count and with the date, since date buckets are relative to today.
+    public String version() {
+        return version.get() + "-" + LocalDate.now();
+    }
+
+    // Filters are facet values as returned, each optional.
+    public EventFacetsDTO facets(Long categoryId, String date, String price, String availability) {
+        int dateFilter = indexOf(DATE_BUCKETS, date, "date bucket");
+        int priceFilter = indexOf(PRICE_BANDS, price, "price band");
+        int availabilityFilter = indexOf(AVAILABILITY, availability, "availability");
+        if (!today.equals(LocalDate.now())) {
+            rollOver();
+        }
+        LocalDate day = today;
+
+        long total = 0;
+        Map<Long, Long> categories = new TreeMap<>();
+        long[] dates = new long[DATE_BUCKETS.size()];
+        long[] prices = new long[PRICE_BANDS.size()];
+        long[] availabilities = new long[AVAILABILITY.size()];
+        for (Map.Entry<Key, Long> entry : counts.entrySet()) {
+            Key key = entry.getKey();
+            long count = entry.getValue();
+            int dateBucket = dateBucket(key.day(), day);
+            int available = key.soldOut() ? 1 : 0;
+            boolean inCategory = categoryId == null || categoryId.equals(key.categoryId());
+            boolean inDate = dateFilter < 0 || dateFilter == dateBucket;
+            boolean inPrice = priceFilter < 0 || priceFilter == key.priceBand();
+            boolean inAvailability = availabilityFilter < 0 || availabilityFilter == available;
+
+            if (inDate && inPrice && inAvailability) {
+                categories.merge(key.categoryId(), count, Long::sum);
+            }
+            if (inCategory && inPrice && inAvailability) {
+                dates[dateBucket] += count;
+            }
+            if (inCategory && inDate && inAvailability) {
+                prices[key.priceBand()] += count;
+            }
+            if (inCategory && inDate && inPrice) {
+                availabilities[available] += count;
+                if (inAvailability) {
+                    total += count;
+                }
+            }
+        }
+
+        return EventFacetsDTO.builder()
+                .total(total)
+                .categories(categories)
+                .dates(labelled(DATE_BUCKETS, dates))
+                .prices(labelled(PRICE_BANDS, prices))
+                .availability(labelled(AVAILABILITY, availabilities))
+                .build();
+    }
+
+    // Cheap check on the booking path; only a flip of sold-out takes the lock.
+    private void seatsChanged(Long eventId) {
+        Key key = keys.get(eventId);
+        if (key != null && key.soldOut() != seatInventory.soldOut(eventId)) {
+            syncSoldOut(eventId);
+        }
+    }
+
+    // Re-reads after each move: a change racing with this one may have seen the old key and skipped.
+    private synchronized void syncSoldOut(Long eventId) {
+        Key key;
+        while ((key = keys.get(eventId)) != null && key.soldOut() != seatInventory.soldOut(eventId)) {
+            move(eventId, key, key.withSoldOut(!key.soldOut()));
+        }
+    }
+
+    private synchronized void apply(Long eventId, Long categoryId, LocalDateTime date, BigDecimal priceBase) {
+        Key key = categoryId != null ? key(eventId, categoryId, date, priceBase) : null;
+        move(eventId, keys.get(eventId), key);
+        if (key == null && !loaded) {
+            droppedDuringLoad.add(eventId);
+        }
+    }
+
+    private void move(Long eventId, Key from, Key to) {
+        if (to != null) {
+            keys.put(eventId, to);
+        } else {
+            keys.remove(eventId);
+        }
+        if (from != null) {
+            count(from, -1);
+        }
+        if (to != null) {
+            count(to, 1);
+        }
+        version.incrementAndGet();
+    }
+
+    // Keys keep the day they were counted under; past days have since been folded into PAST.
+    private void count(Key key, long delta) {
+        Key counted = key.day().isBefore(today) ? key.withDay(PAST) : key;
+        counts.compute(counted, (k, count) -> {
+            long updated = (count != null ? count : 0) + delta;
+            return updated != 0 ? updated : null;
+        });
+    }
+
+    // Folds the counts of days that are now past into PAST.
+    private synchronized void rollOver() {
+        LocalDate now = LocalDate.now();
+        if (!now.isAfter(today)) {
+            return;
+        }
+        for (Key key : List.copyOf(counts.keySet())) {
+            if (!key.day().equals(PAST) && key.day().isBefore(now)) {
+                Long count = counts.remove(key);
+                if (count != null) {
+                    counts.merge(key.withDay(PAST), count, Long::sum);
+                }
+            }
+        }
+        today = now;
+        version.incrementAndGet();
+    }
+
+    private Key key(Long eventId, Long categoryId, LocalDateTime date, BigDecimal priceBase) {
+        LocalDate day = date != null && !date.toLocalDate().isBefore(today) ? date.toLocalDate() : PAST;
+        return new Key(categoryId, day, priceBand(priceBase), seatInventory.soldOut(eventId));
+    }
+
+    private static int priceBand(BigDecimal priceBase) {
+        int band = 0;
+        while (priceBase != null && band < PRICE_BOUNDS.size() && priceBase.compareTo(PRICE_BOUNDS.get(band)) >= 0) {
+            band++;
+        }
+        return band;
+    }
+
+    // Buckets do not overlap: this-week is the five days after tomorrow, this-month the rest of the next 30 days.
+    private static int dateBucket(LocalDate day, LocalDate today) {
+        if (day.isBefore(today)) {
+            return 0;
+        }
+        long days = day.toEpochDay() - today.toEpochDay();
+        return days == 0 ? 1 : days == 1 ? 2 : days < 7 ? 3 : days < 30 ? 4 : 5;
+    }
+
+    private static int indexOf(List<String> values, String value, String facet) {
+        if (value == null || value.isBlank()) {
+            return -1;
+        }
+        int index = values.indexOf(value);
+        if (index < 0) {
+            throw new BadRequestException("Unknown " + facet + ": " + value + ". Expected one of " + values);
+        }
+        return index;
+    }
+
+    private static Map<String, Long> labelled(List<String> labels, long[] counts) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < labels.size(); i++) {
+            result.put(labels.get(i), counts[i]);
+        }
+        return result;
+    }
+
+    private record Key(Long categoryId, LocalDate day, int priceBand, boolean soldOut) {
+
+        private Key withDay(LocalDate day) {
+            return new Key(categoryId, day, priceBand, soldOut);
+        }
+
+        private Key withSoldOut(boolean soldOut) {
+            return new Key(categoryId, day, priceBand, soldOut);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.eventix.service;
+
+import com.example.eventix.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static com.example.eventix.service.TransactionHooks.afterCommit;
+
+// In-memory inverted index over event name, description, location and category name.
+//
+// Terms are lowercased, accent-stripped words, kept in a sorted map so a query word matches every
+// term it is a prefix of. Every query word must match; an event scores the field weight of each
+// field a word occurs in, halved when the word only matched as a prefix. Writers are serialized
+// and applied after commit; readers never lock.
+@Service
+@RequiredArgsConstructor
+public class EventSearchIndex {
+
+    private static final int NAME_WEIGHT = 8;
+    private static final int CATEGORY_WEIGHT = 4;
+    private static final int LOCATION_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    // Shorter words match exactly only; a one-letter prefix would select most of the catalog.
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    // Highest score first, then oldest event.
+    private static final Comparator<Map.Entry<Long, Integer>> RANKING =
+            Map.Entry.<Long, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey());
+
+    private final EventRepository eventRepository;
+
+    // term -> event id -> weight of the fields containing the term
+    private final ConcurrentSkipListMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<EventRepository.SearchRow> rows = eventRepository.findAllSearchRows();
+        for (EventRepository.SearchRow row : rows) {
+            apply(row.getId(), new Document(row.getCategoryId(), row.getUserId(), row.getDate(),
+                    terms(row.getName(), row.getDescription(), row.getLocation(), row.getCategoryName())));
+        }
+        System.out.println("🔎 Event search index built: " + documents.size() + " events, " + postings.size() + " terms");
+    }
+
+    public void put(Long eventId, Long categoryId, Long userId, LocalDateTime date,
+                    String name, String description, String location, String categoryName) {
+        Document document = new Document(categoryId, userId, date, terms(name, description, location, categoryName));
+        afterCommit(() -> apply(eventId, document));
+    }
+
+    public void remove(Long eventId) {
+        afterCommit(() -> apply(eventId, null));
+    }
+
+    // Ids of the best-matching events, best first. Filters are optional; to is exclusive.
+    public List<Long> search(String query, Long categoryId, Long userId, LocalDateTime from, LocalDateTime to, int limit) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+
+        // Candidates come from the most selective word; the others are checked per candidate.
+        int seed = 0;
+        long seedSize = Long.MAX_VALUE;
+        for (int i = 0; i < words.size(); i++) {
+            long size = estimate(words.get(i), seedSize);
+            if (size < seedSize) {
+                seed = i;
+                seedSize = size;
+            }
+        }
+
+        String seedWord = words.get(seed);
+        NavigableMap<String, Map<Long, Integer>> seedTerms = matching(seedWord);
+        Map.Entry<String, Map<Long, Integer>> first = seedTerms.firstEntry();
+        if (first == null) {
+            return List.of();
+        }
+        Map<Long, Integer> candidates;
+        int seedFactor = 1;
+        if (seedTerms.higherKey(first.getKey()) == null) {
+            // One term, the common case: score straight off its postings.
+            candidates = first.getValue();
+            seedFactor = first.getKey().equals(seedWord) ? 2 : 1;
+        } else {
+            // An event matching several terms by prefix keeps its best one.
+            candidates = new HashMap<>((int) (seedSize * 4 / 3) + 1);
+            for (Map.Entry<String, Map<Long, Integer>> term : seedTerms.entrySet()) {
+                int factor = term.getKey().equals(seedWord) ? 2 : 1;
+                for (Map.Entry<Long, Integer> posting : term.getValue().entrySet()) {
+                    candidates.merge(posting.getKey(), posting.getValue() * factor, Math::max);
+                }
+            }
+        }
+
+        boolean filtered = categoryId != null || userId != null || from != null || to != null;
+        PriorityQueue<Map.Entry<Long, Integer>> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        for (Map.Entry<Long, Integer> candidate : candidates.entrySet()) {
+            Long eventId = candidate.getKey();
+            int score = candidate.getValue() * seedFactor;
+            // With one word the seed score is final, so a candidate that cannot make the top is skipped
+            // unchecked. With more, the other words still add to it and it is only ranked once complete.
+            boolean complete = words.size() == 1;
+            if (complete && best.size() == limit && !outranks(score, eventId, best.peek())) {
+                continue;
+            }
+            if (filtered || words.size() > 1) {
+                Document document = documents.get(eventId);
+                if (document == null || !document.matches(categoryId, userId, from, to)) {
+                    continue;
+                }
+                for (int i = 0; i < words.size() && score > 0; i++) {
+                    if (i != seed) {
+                        int wordScore = document.score(words.get(i));
+                        score = wordScore == 0 ? 0 : score + wordScore;
+                    }
+                }
+            }
+            if (score > 0) {
+                best.add(Map.entry(eventId, score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+
+        List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(best);
+        ranked.sort(RANKING);
+        return ranked.stream().map(Map.Entry::getKey).toList();
+    }
+
+    private static boolean outranks(int score, Long eventId, Map.Entry<Long, Integer> worst) {
+        return score > worst.getValue() || (score == worst.getValue() && eventId < worst.getKey());
+    }
+
+    private synchronized void apply(Long eventId, Document document) {
+        Document previous = document != null ? documents.put(eventId, document) : documents.remove(eventId);
+        if (previous != null) {
+            for (String term : previous.terms.keySet()) {
+                Map<Long, Integer> events = postings.get(term);
+                if (events != null) {
+                    events.remove(eventId);
+                    if (events.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+        if (document != null) {
+            document.terms.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(eventId, weight));
+        }
+    }
+
+    private NavigableMap<String, Map<Long, Integer>> matching(String word) {
+        if (word.length() < MIN_PREFIX_LENGTH) {
+            Map<Long, Integer> events = postings.get(word);
+            NavigableMap<String, Map<Long, Integer>> exact = new TreeMap<>();
+            if (events != null) {
+                exact.put(word, events);
+            }
+            return exact;
+        }
+        return postings.subMap(word, true, word + Character.MAX_VALUE, false);
+    }
+
+    // Posting count of a word, counted only up to the best estimate so far.
+    private long estimate(String word, long bound) {
+        long size = 0;
+        for (Map<Long, Integer> events : matching(word).values()) {
+            size += events.size();
+            if (size >= bound) {
+                break;
+            }
+        }
+        return size;
+    }
+
+    private static Map<String, Integer> terms(String name, String description, String location, String categoryName) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, name, NAME_WEIGHT);
+        addTerms(terms, description, DESCRIPTION_WEIGHT);
+        addTerms(terms, location, LOCATION_WEIGHT);
+        addTerms(terms, categoryName, CATEGORY_WEIGHT);
+        return terms;
+    }
+
+    // A term in several fields weighs the sum of those fields, once per field.
+    private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+        for (String term : new HashSet<>(tokenize(text))) {
+            terms.merge(term, weight, Integer::sum);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+        List<String> words = new ArrayList<>();
+        for (String word : folded.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static final class Document {
+        private final Long categoryId;
+        private final Long userId;
+        private final LocalDateTime date;
+        // Sorted for prefix lookups while scoring candidates.
+        private final NavigableMap<String, Integer> terms;
+
+        private Document(Long categoryId, Long userId, LocalDateTime date, Map<String, Integer> terms) {
+            this.categoryId = categoryId;
+            this.userId = userId;
+            this.date = date;
+            this.terms = new TreeMap<>(terms);
+        }
+
+        private boolean matches(Long categoryId, Long userId, LocalDateTime from, LocalDateTime to) {
+            return (categoryId == null || categoryId.equals(this.categoryId))
+                    && (userId == null || userId.equals(this.userId))
+                    && (from == null || (date != null && !date.isBefore(from)))
+                    && (to == null || (date != null && date.isBefore(to)));
+        }
+
+        // Best weight among the terms the word matches; an exact match counts double.
+        private int score(String word) {
+            Integer exact = terms.get(word);
+            int best = exact != null ? exact * 2 : 0;
+            if (word.length() >= MIN_PREFIX_LENGTH) {
+                for (Integer weight : terms.subMap(word, false, word + Character.MAX_VALUE, false).values()) {
+                    best = Math.max(best, weight);
+                }
+            }
+            return best;
+        }
+    }
+}
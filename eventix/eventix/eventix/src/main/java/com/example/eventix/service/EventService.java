@@ -2,7 +2,10 @@ package com.example.eventix.service;
 
 
 
+import com.example.eventix.dto.CursorPage;
 import com.example.eventix.dto.EventDTO;
+import com.example.eventix.dto.EventFacetsDTO;
+import com.example.eventix.exception.BadRequestException;
 import com.example.eventix.exception.ResourceNotFoundException;
 import com.example.eventix.model.Category;
 import com.example.eventix.model.Event;
@@ -10,54 +13,155 @@ import com.example.eventix.model.User;
 import com.example.eventix.repository.CategoryRepository;
 import com.example.eventix.repository.EventRepository;
 import com.example.eventix.repository.UserRepository;
+import com.example.eventix.repository.VenueSectionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class EventService {
 
+    // Open end of "upcoming"; still a valid DATETIME for the database.
+    private static final LocalDateTime END_OF_TIME = LocalDate.of(9999, 12, 31).atStartOfDay();
+
     private final EventRepository eventRepository;
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
+    private final SeatInventory seatInventory;
+    private final VenueSectionRepository venueSectionRepository;
+    private final SeatMapAllocator seatMapAllocator;
+    private final EventCatalog eventCatalog;
+    private final EventSearchIndex eventSearchIndex;
+    private final EventTimeIndex eventTimeIndex;
+    private final EventFacets eventFacets;
+    private final SalesAnalytics salesAnalytics;
+    private final EventStatsService eventStats;
+    private final TicketSyncVersions syncVersions;
+
+
+    // sort is "id" (default) or "date"; from/to bound the event date, to exclusive.
+    // Cache-backed reads do not open a transaction of their own, so a hit needs no connection.
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CursorPage<EventDTO> getEvents(Long categoryId, Long userId, LocalDateTime from, LocalDateTime to,
+                                          String sort, String cursor, Integer limit){
+        int pageSize = Cursors.pageSize(limit);
+        if (sort == null || sort.equals("id")) {
+            List<Long> ids = eventRepository.findPageIdsById(Cursors.afterId(cursor), categoryId, userId, from, to, Limit.of(pageSize + 1));
+            return Cursors.page(catalogRows(ids), pageSize, event -> Cursors.idKey(event.getId()), Function.identity());
+        }
+        if (sort.equals("date")) {
+            Cursors.DateKey after = Cursors.afterDate(cursor);
+            List<Long> ids = eventRepository.findPageIdsByDate(after.date(), after.id(), categoryId, userId, from, to, Limit.of(pageSize + 1));
+            return Cursors.page(catalogRows(ids), pageSize, event -> Cursors.dateKey(event.getDate(), event.getId()), Function.identity());
+        }
+        throw new BadRequestException("Invalid sort: " + sort);
+    }
 
-
-    public List<EventDTO> getAllEvents(){
-        return eventRepository.findAll()
-                .stream().map(this::mapToDTO)
-                .collect(Collectors.toList());
+    // Ranked full-text search; the index holds only ids, the rows come from the catalog.
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<EventDTO> searchEvents(String query, Long categoryId, Long userId, LocalDateTime from, LocalDateTime to, Integer limit){
+        List<Long> ids = eventSearchIndex.search(query, categoryId, userId, from, to, Cursors.pageSize(limit));
+        return catalogRows(ids);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public EventDTO getEventById(Long id){
-        Event event= eventRepository.findById(id)
-                .orElseThrow(()-> new ResourceNotFoundException("Event Not Found with id:"+ id));
-        return mapToDTO(event);
+        EventDTO event = eventCatalog.get(id);
+        if (event == null) {
+            throw new ResourceNotFoundException("Event Not Found with id:"+ id);
+        }
+        return event;
+    }
+
+    // Versions for conditional GETs. They change whenever a response could: an event list on any
+    // event write or a change of seats at one of the events it lists, a single event on any event
+    // write or a change of its seats. A list's catalog version is read before its rows are, so a
+    // write in between can only leave the tag older than the body.
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public long catalogVersion(){
+        return eventCatalog.version();
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public String listVersion(long catalogVersion, List<EventDTO> events){
+        long seats = 1;
+        for (EventDTO event : events) {
+            seats = 31 * seats + event.getId();
+            seats = 31 * seats + (event.getAvailableSeats() == null ? 0 : event.getAvailableSeats());
+        }
+        return catalogVersion + "-" + Long.toString(seats, 36);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public String eventVersion(Long id){
+        return eventCatalog.version() + "-" + seatInventory.available(id);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public String facetsVersion(){
+        return eventFacets.version();
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public EventFacetsDTO getFacets(Long categoryId, String date, String price, String availability){
+        return eventFacets.facets(categoryId, date, price, availability);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<EventDTO> getEventByCategoryId(Long id){
-        return eventRepository.findByCategory_Id(id)
-                .stream()
-                .map(this::mapToDTO)
-                .toList();
+        return catalogRows(eventRepository.findIdsByCategoryId(id));
+    }
+
+    public List<EventDTO>getEventByDate(LocalDate date, Integer limit){
+        return getEventsBetween(date.atStartOfDay(), date.plusDays(1).atStartOfDay(), limit);
+    }
+
+    // Events with from <= date < to, by date. Upcoming ranges are read from the time index.
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<EventDTO> getEventsBetween(LocalDateTime from, LocalDateTime to, Integer limit){
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new BadRequestException("from must be before to");
+        }
+        int pageSize = Cursors.pageSize(limit);
+        List<Long> ids = eventTimeIndex.covers(from)
+                ? eventTimeIndex.between(from, to, pageSize)
+                : eventRepository.findIdsByDateBetween(from, to, Limit.of(pageSize));
+        return catalogRows(ids);
+    }
+
+    // Hour-aligned, so the range and its ETag stay stable within the hour.
+    public DateRange upcoming(){
+        return new DateRange(LocalDateTime.now().truncatedTo(ChronoUnit.HOURS), END_OF_TIME);
     }
 
-    public List<EventDTO>getEventByDate(LocalDate date){
-        return eventRepository.findByDateOnly(date)
-                .stream()
-                .map(this::mapToDTO)
-                .toList();
+    // The coming Saturday and Sunday, or what is left of the current weekend.
+    public DateRange weekend(){
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        LocalDate saturday = now.toLocalDate().with(TemporalAdjusters.nextOrSame(DayOfWeek.SATURDAY));
+        if (now.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            saturday = saturday.minusDays(7);
+        }
+        LocalDateTime from = saturday.atStartOfDay().isBefore(now) ? now : saturday.atStartOfDay();
+        return new DateRange(from, saturday.plusDays(2).atStartOfDay());
     }
 
     public Long getSeatsReserved(Long eventId) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
-        return event.getTotalCapacity() - event.getAvailableSeats();
+        return event.getTotalCapacity() - seatInventory.available(eventId);
     }
     
 
@@ -81,13 +185,17 @@ public class EventService {
                 .startTime(eventDTO.getStartTime())
                 .endTime(eventDTO.getEndTime())
                 .totalCapacity(eventDTO.getTotalCapacity())
-                .availableSeats(eventDTO.getAvailableSeats())
+                .availableSeats(eventDTO.getTotalCapacity())
                 .priceBase(eventDTO.getPriceBase())
                 .user(user)
                 .build();
 
         Event savedEvent = eventRepository.save(event);
-        return mapToDTO(savedEvent);
+        seatInventory.register(savedEvent.getId(), savedEvent.getTotalCapacity());
+        eventStats.created(savedEvent.getId());
+        eventCatalog.invalidate(savedEvent.getId());
+        index(savedEvent);
+        return mapToDTO(savedEvent, savedEvent.getAvailableSeats());
     }
 
     public void deleteEvent(Long eventId) {
@@ -96,7 +204,17 @@ public class EventService {
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Event not found with id: " + eventId));
 
+        venueSectionRepository.deleteAll(venueSectionRepository.findByEvent_IdOrderByPriorityAscIdAsc(eventId));
         eventRepository.delete(event);
+        seatInventory.remove(eventId);
+        seatMapAllocator.evict(eventId);
+        eventCatalog.invalidate(eventId);
+        eventSearchIndex.remove(eventId);
+        eventTimeIndex.remove(eventId);
+        eventFacets.remove(eventId);
+        salesAnalytics.remove(eventId);
+        eventStats.deleted(eventId);
+        syncVersions.deleted(eventId);
     }
 
     public EventDTO updateEvent(Long eventId, EventDTO eventDTO) {
@@ -111,33 +229,47 @@ public class EventService {
         event.setDate(eventDTO.getDate());
         event.setStartTime(eventDTO.getStartTime());
         event.setEndTime(eventDTO.getEndTime());
+        // Available seats follow from capacity and the reservations; a client-sent count is ignored.
+        long mapped = venueSectionRepository.sumSeatsByEventId(eventId);
+        if (eventDTO.getTotalCapacity() != null && mapped > eventDTO.getTotalCapacity()) {
+            throw new BadRequestException("Capacity cannot be below the " + mapped + " seats on the seat map");
+        }
+        long capacityDelta = orZero(eventDTO.getTotalCapacity()) - orZero(event.getTotalCapacity());
+        if (!seatInventory.resize(eventId, capacityDelta)) {
+            long taken = orZero(event.getTotalCapacity()) - seatInventory.available(eventId);
+            throw new BadRequestException("Capacity cannot be below the " + taken + " seats sold or held");
+        }
         event.setTotalCapacity(eventDTO.getTotalCapacity());
-        event.setAvailableSeats(eventDTO.getAvailableSeats());
         event.setPriceBase(eventDTO.getPriceBase());
 
         Event savedEvent = eventRepository.save(event);
-        return mapToDTO(savedEvent);
+        eventCatalog.invalidate(eventId);
+        index(savedEvent);
+        // A reduction is already out of the free count, an increase is added on commit.
+        return mapToDTO(savedEvent, seatInventory.available(eventId) + Math.max(0, capacityDelta));
     }
 
+    private void index(Event event) {
+        eventTimeIndex.put(event.getId(), event.getDate());
+        eventFacets.put(event.getId(), event.getCategory().getId(), event.getDate(), event.getPriceBase());
+        salesAnalytics.put(event.getId(), event.getCategory().getId());
+        eventSearchIndex.put(event.getId(), event.getCategory().getId(), event.getUser().getId(), event.getDate(),
+                event.getName(), event.getDescription(), event.getLocation(), event.getCategory().getName());
+    }
 
+    // An event deleted between the id query and the cache lookup simply drops out of the page.
+    private List<EventDTO> catalogRows(List<Long> ids) {
+        return new ArrayList<>(eventCatalog.getAll(ids).values());
+    }
 
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
+    public record DateRange(LocalDateTime from, LocalDateTime to) {
+    }
 
     private EventDTO mapToDTO(Event event) {
+        return mapToDTO(event, seatInventory.available(event.getId()));
+    }
+
+    private EventDTO mapToDTO(Event event, Long availableSeats) {
         return EventDTO.builder()
                 .id(event.getId())
                 .name(event.getName())
@@ -148,12 +280,16 @@ public class EventService {
                 .startTime(event.getStartTime())
                 .endTime(event.getEndTime())
                 .totalCapacity(event.getTotalCapacity())
-                .availableSeats(event.getAvailableSeats())
+                .availableSeats(availableSeats)
                 .priceBase(event.getPriceBase())
                 .category_id(event.getCategory().getId())
                 .user_id(event.getUser().getId())
                 .build();
     }
 
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
 
 }
@@ -0,0 +1,387 @@
+package com.example.eventix.service;
+
+import com.example.eventix.dto.CursorPage;
+import com.example.eventix.dto.EventStatsDTO;
+import com.example.eventix.exception.ResourceNotFoundException;
+import com.example.eventix.model.EventStats;
+import com.example.eventix.model.Payment_Status;
+import com.example.eventix.model.ReservationStatus;
+import com.example.eventix.repository.EventRepository;
+import com.example.eventix.repository.EventStatsRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+// Per-event summary in event_stats, so "how many held, sold, cancelled, checked in and for how
+// much" is one row instead of joins over reservations, payments and tickets.
+//
+// Write paths report their deltas here inside their own transaction. Deltas are summed per event
+// and written just before commit as one additive UPDATE per event, in event id order, so the row of
+// a busy event stays locked only while the transaction commits and a rollback writes nothing. Pending
+// entity changes are flushed first: the stats row is always the last row a writer locks.
+//
+// The repair job recomputes rows from the base tables. It locks the row before reading them:
+// changes committed earlier are in its counts, and changes still in flight add their delta after it.
+// It walks every event, so it runs on its own thread rather than tying up a scheduler thread.
+@Service
+public class EventStatsService {
+
+    // Reservations and seats of status s are columns 2 * s.ordinal() and the one after.
+    private static final String[] COLUMNS = {"held_reservations", "held_seats", "paid_reservations", "paid_seats",
+            "cancelled_reservations", "cancelled_seats", "expired_reservations", "expired_seats",
+            "tickets_checked_in", "revenue_cents"};
+    private static final int CHECKED_IN = 8;
+    private static final int REVENUE = 9;
+
+    private static final String ADD_SQL = "UPDATE event_stats SET " + Arrays.stream(COLUMNS)
+            .map(column -> column + " = " + column + " + :" + column).collect(Collectors.joining(", ")) +
+            ", updated_at = :updatedAt WHERE event_id = :eventId";
+    private static final String SET_SQL = "UPDATE event_stats SET " + Arrays.stream(COLUMNS)
+            .map(column -> column + " = :" + column).collect(Collectors.joining(", ")) +
+            ", updated_at = :updatedAt, repaired_at = :repairedAt WHERE event_id = :eventId";
+    private static final String INSERT_SQL = "INSERT INTO event_stats (event_id, " + String.join(", ", COLUMNS) +
+            ", updated_at, repaired_at) VALUES (:eventId, " + Arrays.stream(COLUMNS).map(column -> ":" + column)
+            .collect(Collectors.joining(", ")) + ", :updatedAt, :repairedAt)";
+    private static final String LOCK_SQL = "SELECT " + String.join(", ", COLUMNS) + ", repaired_at FROM event_stats " +
+            "WHERE event_id = :eventId FOR UPDATE";
+    private static final String DELETE_SQL = "DELETE FROM event_stats WHERE event_id = :eventId";
+
+    private static final String COUNT_RESERVATIONS_SQL = "SELECT status, COUNT(*) AS reservations, COALESCE(SUM(seats), 0) AS seats " +
+            "FROM reservations WHERE event_id = :eventId GROUP BY status";
+    private static final String SUM_REVENUE_SQL = "SELECT COALESCE(SUM(p.amount), 0) FROM payments p " +
+            "JOIN reservations r ON r.id = p.reservation_id WHERE r.event_id = :eventId AND p.status = :success";
+    private static final String COUNT_CHECKED_IN_SQL = "SELECT COUNT(*) FROM tickets t " +
+            "JOIN reservations r ON r.id = t.reservation_id WHERE r.event_id = :eventId AND t.checked_in = TRUE";
+
+    // Only the ticket rows are locked; a reservation's event never changes.
+    private static final String LOCK_UNCHECKED_SQL = "SELECT id, reservation_id FROM tickets " +
+            "WHERE id IN (:ids) AND checked_in = FALSE FOR UPDATE";
+    private static final String RESERVATION_EVENTS_SQL = "SELECT id, event_id FROM reservations WHERE id IN (:ids)";
+
+    private static final int REPAIR_BATCH = 500;
+
+    private final EventStatsRepository statsRepository;
+    private final EventRepository eventRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    // One pass at a time; a pass that is still running when the next one is due just delays it.
+    private final ExecutorService repairer = Executors.newSingleThreadExecutor();
+
+    public EventStatsService(EventStatsRepository statsRepository,
+                             EventRepository eventRepository,
+                             NamedParameterJdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             EntityManager entityManager) {
+        this.statsRepository = statsRepository;
+        this.eventRepository = eventRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+    }
+
+    // A new event has nothing to count yet, so its row is exact from the start.
+    public void created(Long eventId) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update(INSERT_SQL, params(eventId, new long[COLUMNS.length], now, now));
+    }
+
+    public void deleted(Long eventId) {
+        Map<Long, long[]> deltas = pendingDeltas();
+        if (deltas != null) {
+            deltas.remove(eventId);
+        }
+        jdbcTemplate.update(DELETE_SQL, new MapSqlParameterSource("eventId", eventId));
+    }
+
+    // Reservations of the event went from one status to another; from is null for new ones.
+    public void moved(Long eventId, ReservationStatus from, ReservationStatus to, long reservations, long seats) {
+        if (from == to || (reservations == 0 && seats == 0)) {
+            return;
+        }
+        long[] delta = new long[COLUMNS.length];
+        if (from != null) {
+            delta[2 * from.ordinal()] -= reservations;
+            delta[2 * from.ordinal() + 1] -= seats;
+        }
+        delta[2 * to.ordinal()] += reservations;
+        delta[2 * to.ordinal() + 1] += seats;
+        add(eventId, delta);
+    }
+
+    // Successful payments of the event changed by amount; negative when taken back.
+    public void revenue(Long eventId, BigDecimal amount) {
+        long cents = cents(amount);
+        if (cents != 0) {
+            long[] delta = new long[COLUMNS.length];
+            delta[REVENUE] = cents;
+            add(eventId, delta);
+        }
+    }
+
+    public void checkedIn(Long eventId, long tickets) {
+        if (tickets != 0) {
+            long[] delta = new long[COLUMNS.length];
+            delta[CHECKED_IN] = tickets;
+            add(eventId, delta);
+        }
+    }
+
+    // Ticket id -> event id of those not checked in yet, locked until commit. A batch check-in calls
+    // this before its update, so the tickets it updates among these are exactly its new check-ins.
+    public Map<Long, Long> lockUnchecked(Collection<Long> ticketIds) {
+        if (ticketIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Long> reservationByTicket = new HashMap<>();
+        jdbcTemplate.query(LOCK_UNCHECKED_SQL, new MapSqlParameterSource("ids", ticketIds),
+                rs -> {
+                    reservationByTicket.put(rs.getLong("id"), rs.getLong("reservation_id"));
+                });
+        if (reservationByTicket.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Long> eventByReservation = new HashMap<>();
+        jdbcTemplate.query(RESERVATION_EVENTS_SQL, new MapSqlParameterSource("ids", new ArrayList<>(reservationByTicket.values())),
+                rs -> {
+                    eventByReservation.put(rs.getLong("id"), rs.getLong("event_id"));
+                });
+        Map<Long, Long> eventByTicket = new HashMap<>();
+        reservationByTicket.forEach((ticketId, reservationId) -> eventByTicket.put(ticketId, eventByReservation.get(reservationId)));
+        return eventByTicket;
+    }
+
+    public EventStatsDTO getStats(Long eventId) {
+        EventStats stats = statsRepository.findById(eventId).orElse(null);
+        if (stats == null) {
+            // Not materialized yet, e.g. an event from before the table existed.
+            repair(eventId);
+            stats = statsRepository.findById(eventId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Event not found: " + eventId));
+        }
+        return mapToDTO(stats);
+    }
+
+    public CursorPage<EventStatsDTO> getStatsPage(String cursor, Integer limit) {
+        int pageSize = Cursors.pageSize(limit);
+        List<EventStats> rows = statsRepository.findPage(Cursors.afterId(cursor), Limit.of(pageSize + 1));
+        return Cursors.page(rows, pageSize, stats -> Cursors.idKey(stats.getEventId()), this::mapToDTO);
+    }
+
+    public EventStatsDTO repairStats(Long eventId) {
+        repair(eventId);
+        return getStats(eventId);
+    }
+
+    // Rows that were never recomputed: events from before the table existed, and rows only deltas created.
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        repairer.execute(() -> {
+            int[] result = repairAll(statsRepository::findUnrepairedEventIds);
+            if (result[0] > 0) {
+                System.out.println("📋 Event stats backfilled for " + result[0] + " events");
+            }
+        });
+    }
+
+    @Scheduled(cron = "${eventix.stats.repair-cron:0 30 3 * * *}")
+    public void repairAll() {
+        repairer.execute(() -> {
+            int[] result = repairAll(statsRepository::findEventIds);
+            System.out.println("📋 Event stats repaired: " + result[0] + " events checked, " + result[1] + " had drifted");
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // An interrupted pass leaves rows exact or untouched; the next one picks up the rest.
+        repairer.shutdownNow();
+    }
+
+    // {events checked, rows that differed from the base tables}
+    private int[] repairAll(BiFunction<Long, Limit, List<Long>> eventIds) {
+        int[] result = new int[2];
+        long afterId = 0L;
+        List<Long> ids;
+        do {
+            ids = eventIds.apply(afterId, Limit.of(REPAIR_BATCH));
+            for (Long eventId : ids) {
+                try {
+                    result[0]++;
+                    if (repair(eventId)) {
+                        result[1]++;
+                    }
+                } catch (RuntimeException e) {
+                    System.out.println("❌ Event stats repair failed for event " + eventId + ", will retry: " + e.getMessage());
+                }
+                afterId = eventId;
+            }
+        } while (ids.size() == REPAIR_BATCH);
+        return result;
+    }
+
+    // Recomputes the event's row from the base tables; true if a repaired row had drifted.
+    private boolean repair(Long eventId) {
+        // Checked before the transaction: its first plain read must come after the row lock.
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event not found: " + eventId);
+        }
+        Boolean drifted = transactionTemplate.execute(status -> {
+            MapSqlParameterSource byEvent = new MapSqlParameterSource("eventId", eventId);
+            List<long[]> current = jdbcTemplate.query(LOCK_SQL, byEvent, (rs, rowNum) -> {
+                long[] values = new long[COLUMNS.length + 1];
+                for (int i = 0; i < COLUMNS.length; i++) {
+                    values[i] = rs.getLong(COLUMNS[i]);
+                }
+                values[COLUMNS.length] = rs.getTimestamp("repaired_at") != null ? 1 : 0;
+                return values;
+            });
+            if (current.isEmpty()) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, params(eventId, new long[COLUMNS.length], LocalDateTime.now(), null));
+                } catch (DuplicateKeyException e) {
+                    // A delta created it meanwhile; the lock below waits for that transaction.
+                }
+                // Read back only to lock it; counts as never repaired.
+                current = jdbcTemplate.query(LOCK_SQL, byEvent, (rs, rowNum) -> new long[COLUMNS.length + 1]);
+            }
+
+            long[] values = new long[COLUMNS.length];
+            jdbcTemplate.query(COUNT_RESERVATIONS_SQL, byEvent, rs -> {
+                int slot = 2 * rs.getInt("status");
+                values[slot] = rs.getLong("reservations");
+                values[slot + 1] = rs.getLong("seats");
+            });
+            values[REVENUE] = cents(jdbcTemplate.queryForObject(SUM_REVENUE_SQL,
+                    new MapSqlParameterSource("eventId", eventId).addValue("success", Payment_Status.SUCCESS.ordinal()), BigDecimal.class));
+            Long checkedIn = jdbcTemplate.queryForObject(COUNT_CHECKED_IN_SQL, byEvent, Long.class);
+            values[CHECKED_IN] = checkedIn != null ? checkedIn : 0;
+
+            LocalDateTime now = LocalDateTime.now();
+            jdbcTemplate.update(SET_SQL, params(eventId, values, now, now));
+            long[] previous = current.get(0);
+            return previous[COLUMNS.length] == 1 && !Arrays.equals(Arrays.copyOf(previous, COLUMNS.length), values);
+        });
+        if (Boolean.TRUE.equals(drifted)) {
+            System.out.println("🩹 Event stats for event " + eventId + " had drifted and were recomputed");
+        }
+        return Boolean.TRUE.equals(drifted);
+    }
+
+    private void add(Long eventId, long[] delta) {
+        Map<Long, long[]> deltas = pendingDeltas();
+        if (deltas == null) {
+            Map<Long, long[]> single = new TreeMap<>();
+            single.put(eventId, delta);
+            write(single);
+            return;
+        }
+        long[] sum = deltas.computeIfAbsent(eventId, id -> new long[COLUMNS.length]);
+        for (int i = 0; i < delta.length; i++) {
+            sum[i] += delta[i];
+        }
+    }
+
+    // This transaction's deltas by event id, written before it commits; null outside a transaction.
+    @SuppressWarnings("unchecked")
+    private Map<Long, long[]> pendingDeltas() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Map<Long, long[]> deltas = (Map<Long, long[]>) TransactionSynchronizationManager.getResource(this);
+        if (deltas == null) {
+            Map<Long, long[]> created = new TreeMap<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    entityManager.flush();
+                    write(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(EventStatsService.this);
+                }
+            });
+            deltas = created;
+        }
+        return deltas;
+    }
+
+    private void write(Map<Long, long[]> deltas) {
+        LocalDateTime now = LocalDateTime.now();
+        deltas.forEach((eventId, delta) -> {
+            if (Arrays.stream(delta).allMatch(value -> value == 0)) {
+                return;
+            }
+            MapSqlParameterSource params = params(eventId, delta, now, null);
+            if (jdbcTemplate.update(ADD_SQL, params) == 0) {
+                // No row yet: it holds just this delta until the repair job fills in the rest.
+                try {
+                    jdbcTemplate.update(INSERT_SQL, params);
+                } catch (DuplicateKeyException e) {
+                    jdbcTemplate.update(ADD_SQL, params);
+                }
+            }
+        });
+    }
+
+    private static MapSqlParameterSource params(Long eventId, long[] values, LocalDateTime updatedAt, LocalDateTime repairedAt) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("eventId", eventId)
+                .addValue("updatedAt", updatedAt)
+                .addValue("repairedAt", repairedAt);
+        for (int i = 0; i < COLUMNS.length; i++) {
+            params.addValue(COLUMNS[i], values[i]);
+        }
+        return params;
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount != null ? amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact() : 0;
+    }
+
+    private EventStatsDTO mapToDTO(EventStats stats) {
+        return EventStatsDTO.builder()
+                .event_id(stats.getEventId())
+                .heldReservations(stats.getHeldReservations())
+                .heldSeats(stats.getHeldSeats())
+                .paidReservations(stats.getPaidReservations())
+                .seatsSold(stats.getPaidSeats())
+                .cancelledReservations(stats.getCancelledReservations())
+                .cancelledSeats(stats.getCancelledSeats())
+                .expiredReservations(stats.getExpiredReservations())
+                .expiredSeats(stats.getExpiredSeats())
+                .ticketsCheckedIn(stats.getTicketsCheckedIn())
+                .revenueCents(stats.getRevenueCents())
+                .updatedAt(stats.getUpdatedAt())
+                .repairedAt(stats.getRepairedAt())
+                .build();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.eventix.service;
+
+import com.example.eventix.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import static com.example.eventix.service.TransactionHooks.afterCommit;
+
+// Upcoming events ordered by (date, id), so date browsing is a range scan in memory.
+//
+// The index covers events from the start of today on; older ones are pruned hourly. Until it has
+// loaded, for earlier ranges, or when disabled, callers query the database.
+@Service
+public class EventTimeIndex {
+
+    private final EventRepository eventRepository;
+    private final boolean enabled;
+
+    private final ConcurrentSkipListSet<Slot> slots = new ConcurrentSkipListSet<>();
+    private final Map<Long, LocalDateTime> dates = new ConcurrentHashMap<>();
+    private final Set<Long> droppedDuringLoad = ConcurrentHashMap.newKeySet();
+    // Start of the covered range; null until loaded.
+    private volatile LocalDateTime horizon;
+
+    public EventTimeIndex(EventRepository eventRepository,
+                          @Value("${eventix.events.time-index.enabled:true}") boolean enabled) {
+        this.eventRepository = eventRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime start = LocalDate.now().atStartOfDay();
+        List<EventRepository.EventDate> rows = eventRepository.findDatesFrom(start);
+        synchronized (this) {
+            for (EventRepository.EventDate row : rows) {
+                // Writes committed during the load have already been applied and win.
+                if (!droppedDuringLoad.contains(row.getId()) && dates.putIfAbsent(row.getId(), row.getDate()) == null) {
+                    slots.add(new Slot(row.getDate(), row.getId()));
+                }
+            }
+            horizon = start;
+            droppedDuringLoad.clear();
+        }
+        System.out.println("🗓️ Event time index loaded: " + rows.size() + " upcoming events");
+    }
+
+    // Whether [from, ...) can be answered from memory.
+    public boolean covers(LocalDateTime from) {
+        LocalDateTime start = horizon;
+        return start != null && from != null && !from.isBefore(start);
+    }
+
+    // Ids of events with from <= date < to, by date then id.
+    public List<Long> between(LocalDateTime from, LocalDateTime to, int limit) {
+        return slots.subSet(new Slot(from, Long.MIN_VALUE), true, new Slot(to, Long.MIN_VALUE), false).stream()
+                .limit(limit)
+                .map(Slot::eventId)
+                .toList();
+    }
+
+    public void put(Long eventId, LocalDateTime date) {
+        if (enabled) {
+            afterCommit(() -> apply(eventId, date));
+        }
+    }
+
+    public void remove(Long eventId) {
+        if (enabled) {
+            afterCommit(() -> apply(eventId, null));
+        }
+    }
+
+    @Scheduled(cron = "0 0 * * * *")
+    public synchronized void prune() {
+        if (horizon == null) {
+            return;
+        }
+        LocalDateTime start = LocalDate.now().atStartOfDay();
+        horizon = start;
+        while (!slots.isEmpty() && slots.first().date().isBefore(start)) {
+            Slot slot = slots.pollFirst();
+            if (slot != null) {
+                dates.remove(slot.eventId(), slot.date());
+            }
+        }
+    }
+
+    private synchronized void apply(Long eventId, LocalDateTime date) {
+        boolean upcoming = date != null && !date.isBefore(LocalDate.now().atStartOfDay());
+        LocalDateTime previous = upcoming ? dates.put(eventId, date) : dates.remove(eventId);
+        if (previous != null) {
+            slots.remove(new Slot(previous, eventId));
+        }
+        if (upcoming) {
+            slots.add(new Slot(date, eventId));
+        }
+        if (!upcoming && horizon == null) {
+            droppedDuringLoad.add(eventId);
+        }
+    }
+
+    private record Slot(LocalDateTime date, Long eventId) implements Comparable<Slot> {
+
+        @Override
+        public int compareTo(Slot other) {
+            int byDate = date.compareTo(other.date);
+            return byDate != 0 ? byDate : eventId.compareTo(other.eventId);
+        }
+    }
+}
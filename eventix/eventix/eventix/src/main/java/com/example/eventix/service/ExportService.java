@@ -0,0 +1,219 @@
+package com.example.eventix.service;
+
+import com.example.eventix.exception.BadRequestException;
+import com.example.eventix.repository.PaymentRepository;
+import com.example.eventix.repository.ReservationRepository;
+import com.example.eventix.repository.TicketRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.SequenceWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Full exports of reservations, tickets and payments, written to the response row by row.
+//
+// Rows are projections scrolled from the database with a bounded JDBC fetch size, so no result
+// list is built and nothing is attached to the persistence context: memory use is the same for
+// ten rows or ten million. The read-only transaction stays open while the client downloads.
+@Service
+public class ExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final List<Column<ReservationRepository.ReservationView>> RESERVATION_COLUMNS = List.of(
+            new Column<>("id", ReservationRepository.ReservationView::getId),
+            new Column<>("user_id", ReservationRepository.ReservationView::getUserId),
+            new Column<>("user_name", ReservationRepository.ReservationView::getUserName),
+            new Column<>("event_id", ReservationRepository.ReservationView::getEventId),
+            new Column<>("event_name", ReservationRepository.ReservationView::getEventName),
+            new Column<>("seats", ReservationRepository.ReservationView::getSeats),
+            new Column<>("status", ReservationRepository.ReservationView::getStatus),
+            new Column<>("created_at", ReservationRepository.ReservationView::getCreatedAt));
+
+    private static final List<Column<TicketRepository.TicketView>> TICKET_COLUMNS = List.of(
+            new Column<>("id", TicketRepository.TicketView::getId),
+            new Column<>("reservation_id", TicketRepository.TicketView::getReservationId),
+            new Column<>("event_id", TicketRepository.TicketView::getEventId),
+            new Column<>("ticket_code", TicketRepository.TicketView::getTicketCode),
+            new Column<>("status", TicketRepository.TicketView::getStatus),
+            new Column<>("checked_in", TicketRepository.TicketView::getCheckedIn),
+            new Column<>("checked_in_at", TicketRepository.TicketView::getCheckedInAt),
+            new Column<>("section_id", TicketRepository.TicketView::getSectionId),
+            new Column<>("section_name", TicketRepository.TicketView::getSectionName),
+            new Column<>("seat_row", TicketRepository.TicketView::getSeatRow),
+            new Column<>("seat_number", TicketRepository.TicketView::getSeatNumber));
+
+    private static final List<Column<PaymentRepository.PaymentView>> PAYMENT_COLUMNS = List.of(
+            new Column<>("id", PaymentRepository.PaymentView::getId),
+            new Column<>("reservation_id", PaymentRepository.PaymentView::getReservationId),
+            new Column<>("event_id", PaymentRepository.PaymentView::getEventId),
+            new Column<>("user_id", PaymentRepository.PaymentView::getUserId),
+            new Column<>("amount", PaymentRepository.PaymentView::getAmount),
+            new Column<>("method", PaymentRepository.PaymentView::getMethod),
+            new Column<>("status", PaymentRepository.PaymentView::getStatus),
+            new Column<>("paid_at", PaymentRepository.PaymentView::getPaidAt));
+
+    private final ReservationRepository reservationRepository;
+    private final TicketRepository ticketRepository;
+    private final PaymentRepository paymentRepository;
+    private final JsonMapper jsonMapper;
+    private final TransactionTemplate readOnly;
+
+    public ExportService(ReservationRepository reservationRepository,
+                         TicketRepository ticketRepository,
+                         PaymentRepository paymentRepository,
+                         JsonMapper jsonMapper,
+                         PlatformTransactionManager transactionManager) {
+        this.reservationRepository = reservationRepository;
+        this.ticketRepository = ticketRepository;
+        this.paymentRepository = paymentRepository;
+        this.jsonMapper = jsonMapper;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Format of(String value) {
+            try {
+                return value == null ? CSV : valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unsupported export format: " + value + ". Use csv or ndjson");
+            }
+        }
+    }
+
+    // Reservations created in [from, to); both bounds optional.
+    public void exportReservations(Format format, LocalDateTime from, LocalDateTime to, OutputStream out) {
+        export(format, RESERVATION_COLUMNS, () -> reservationRepository.streamViews(from, to), out);
+    }
+
+    // Tickets of reservations created in [from, to); tickets carry no creation time of their own.
+    public void exportTickets(Format format, LocalDateTime from, LocalDateTime to, OutputStream out) {
+        export(format, TICKET_COLUMNS, () -> ticketRepository.streamViews(from, to), out);
+    }
+
+    // Payments made in [from, to).
+    public void exportPayments(Format format, LocalDateTime from, LocalDateTime to, OutputStream out) {
+        export(format, PAYMENT_COLUMNS, () -> paymentRepository.streamViews(from, to), out);
+    }
+
+    private <T> void export(Format format, List<Column<T>> columns, Supplier<Stream<T>> query, OutputStream out) {
+        long started = System.currentTimeMillis();
+        long exported = readOnly.execute(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            long count = 0;
+            try (Stream<T> rows = query.get()) {
+                // One generator for the whole export; it writes each row as a line of its own.
+                SequenceWriter json = format == Format.NDJSON
+                        ? jsonMapper.writer().withRootValueSeparator("\n").writeValues(writer)
+                        : null;
+                if (format == Format.CSV) {
+                    writeCsvHeader(writer, columns);
+                }
+                for (Iterator<T> it = rows.iterator(); it.hasNext(); count++) {
+                    T row = it.next();
+                    if (json != null) {
+                        json.write(fields(columns, row));
+                    } else {
+                        writeCsvRow(writer, columns, row);
+                    }
+                }
+                if (json != null) {
+                    json.flush();
+                    if (count > 0) {
+                        writer.write('\n');
+                    }
+                }
+                writer.flush();
+            } catch (IOException e) {
+                // Usually the client went away; the read-only transaction just ends.
+                throw new UncheckedIOException(e);
+            }
+            return count;
+        });
+        System.out.println("📤 Exported " + exported + " rows as " + format + " in " + (System.currentTimeMillis() - started) + " ms");
+    }
+
+    private static <T> void writeCsvHeader(Writer writer, List<Column<T>> columns) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(columns.get(i).name());
+        }
+        writer.write("\r\n");
+    }
+
+    private static <T> void writeCsvRow(Writer writer, List<Column<T>> columns, T row) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = columns.get(i).value().apply(row);
+            if (value != null) {
+                writer.write(csv(value));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static <T> Map<String, Object> fields(List<Column<T>> columns, T row) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (Column<T> column : columns) {
+            fields.put(column.name(), column.value().apply(row));
+        }
+        return fields;
+    }
+
+    // RFC 4180 quoting. Text starting like a formula is prefixed with a quote, so a spreadsheet
+    // opening the export shows it instead of evaluating it.
+    private static String csv(Object value) {
+        String text = value.toString();
+        if (value instanceof String && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    private record Column<T>(String name, Function<T, Object> value) {
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.eventix.service;
+
+import com.example.eventix.dto.TicketDTO;
+import com.example.eventix.dto.TicketTokenDTO;
+import com.example.eventix.exception.BadRequestException;
+import com.example.eventix.exception.ResourceNotFoundException;
+import com.example.eventix.model.TicketStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+// Entry point for door scans and token checks. Not transactional on purpose: a ticket of an event with an open
+// gate is decided in memory by CheckInIndex; anything else goes to TicketService.
+@Service
+@RequiredArgsConstructor
+public class GateCheckInService {
+
+    private final CheckInIndex checkInIndex;
+    private final TicketService ticketService;
+    private final TicketCodeGenerator ticketCodeGenerator;
+    private final TicketTokenService ticketTokenService;
+
+    public TicketDTO checkIn(String ticketCode) {
+        String code = ticketCodeGenerator.normalize(ticketCode);
+        if (code == null) {
+            throw new ResourceNotFoundException("Ticket not found: " + ticketCode);
+        }
+
+        CheckInIndex.Scan scan = checkInIndex.checkIn(code);
+        if (scan == null) {
+            return ticketService.checkInTicket(code);
+        }
+        return admit(scan, code);
+    }
+
+    // Signed tokens are verified without the database; only the check-in of an event
+    // without an open gate has to go there.
+    public TicketDTO checkInToken(String token) {
+        TicketTokenService.Verified verified = ticketTokenService.verify(token);
+        CheckInIndex.Scan scan = checkInIndex.checkIn(verified.eventId(), verified.ticketId());
+        if (scan == null) {
+            return ticketService.checkInTicketById(verified.ticketId());
+        }
+        return admit(scan, scan.ticket().getTicketCode());
+    }
+
+    public TicketTokenDTO verifyToken(String token) {
+        TicketTokenService.Verified verified = ticketTokenService.verify(token);
+        return TicketTokenDTO.builder()
+                .ticket_id(verified.ticketId())
+                .event_id(verified.eventId())
+                .statusEpoch(verified.statusEpoch())
+                .build();
+    }
+
+    private TicketDTO admit(CheckInIndex.Scan scan, String code) {
+        if (scan.canceled()) {
+            throw new BadRequestException("Ticket has been canceled: " + code);
+        }
+        if (!scan.admitted()) {
+            throw new BadRequestException("Ticket already checked in: " + code);
+        }
+
+        CheckInIndex.GateTicket ticket = scan.ticket();
+        return TicketDTO.builder()
+                .id(ticket.getId())
+                .reservation_id(ticket.getReservationId())
+                .ticketCode(ticket.getTicketCode())
+                .checked_in(true)
+                .status(TicketStatus.ACTIVE.name())
+                .section_id(ticket.getSectionId())
+                .sectionName(ticket.getSectionName())
+                .seatRow(ticket.getSeatRow())
+                .seatNumber(ticket.getSeatNumber())
+                .build();
+    }
+}
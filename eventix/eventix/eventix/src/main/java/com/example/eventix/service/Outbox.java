@@ -0,0 +1,301 @@
+package com.example.eventix.service;
+
+import com.example.eventix.model.DomainEventType;
+import com.example.eventix.model.OutboxStatus;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static com.example.eventix.service.TransactionHooks.afterCommit;
+
+// Domain events through a transactional outbox.
+//
+// publish() inserts the event in the caller's transaction, so it exists exactly when the change
+// does. A pool of workers delivers committed events to the subscribers of their type: worker k owns
+// the aggregates whose id is k modulo the pool size, claims a batch of their events at a time under
+// a lease and handles it in id order, so the events of a reservation or ticket arrive in the order
+// they were written.
+//
+// Delivery is at least once. An event is marked dispatched after its subscribers ran; if the worker
+// dies first, the lease runs out and the event is delivered again, so subscribers must tolerate a
+// repeat. A failed event is retried with backoff and holds back the later events of its aggregate
+// until it succeeds or, after max-attempts, is parked as FAILED.
+@Service
+public class Outbox {
+
+    private static final String INSERT_SQL = "INSERT INTO outbox_events (type, aggregate_type, aggregate_id, payload, status, attempts, created_at) " +
+            "VALUES (:type, :aggregateType, :aggregateId, :payload, :pending, 0, :createdAt)";
+    // Events of the worker's aggregates that are free to claim, unless an earlier event of the same
+    // aggregate is claimed or backing off.
+    private static final String CANDIDATES_SQL = "SELECT o.id FROM outbox_events o " +
+            "WHERE o.status = :pending AND MOD(o.aggregate_id, :workers) = :worker AND (o.claimed_until IS NULL OR o.claimed_until < :now) " +
+            "AND NOT EXISTS (SELECT 1 FROM outbox_events e WHERE e.aggregate_type = o.aggregate_type AND e.aggregate_id = o.aggregate_id " +
+            "AND e.id < o.id AND e.status = :pending AND e.claimed_until >= :now) ORDER BY o.id LIMIT :limit";
+    private static final String CLAIM_SQL = "UPDATE outbox_events SET claimed_by = :token, claimed_until = :until " +
+            "WHERE id IN (:ids) AND status = :pending AND (claimed_until IS NULL OR claimed_until < :now)";
+    private static final String CLAIMED_SQL = "SELECT id, type, aggregate_type, aggregate_id, payload, attempts FROM outbox_events " +
+            "WHERE id IN (:ids) AND claimed_by = :token ORDER BY id";
+    private static final String DISPATCHED_SQL = "UPDATE outbox_events SET status = :dispatched, dispatched_at = :now, claimed_until = NULL " +
+            "WHERE id IN (:ids) AND claimed_by = :token";
+    private static final String RELEASE_SQL = "UPDATE outbox_events SET claimed_until = NULL WHERE id IN (:ids) AND claimed_by = :token";
+    private static final String FAILED_SQL = "UPDATE outbox_events SET status = :status, attempts = :attempts, last_error = :error, " +
+            "claimed_until = :until WHERE id = :id AND claimed_by = :token";
+    private static final String CLEANUP_SQL = "DELETE FROM outbox_events WHERE status = :dispatched AND dispatched_at < :before LIMIT :limit";
+
+    private static final long MAX_BACKOFF_MILLIS = 300_000;
+    private static final int CLEANUP_BATCH = 10_000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+    private final int workers;
+    private final int batchSize;
+    private final long pollMillis;
+    private final long leaseMillis;
+    private final int maxAttempts;
+    private final long retentionHours;
+
+    private final Map<DomainEventType, List<Subscriber<?>>> subscribers = new ConcurrentHashMap<>();
+    // Released when a transaction that published to the worker commits, so it need not wait out the poll.
+    private final Semaphore[] signals;
+    private final ExecutorService pool;
+    private final String instance = UUID.randomUUID().toString();
+    private final AtomicLong claims = new AtomicLong();
+
+    public Outbox(NamedParameterJdbcTemplate jdbcTemplate,
+                  TransactionTemplate transactionTemplate,
+                  JsonMapper jsonMapper,
+                  @Value("${eventix.outbox.workers:4}") int workers,
+                  @Value("${eventix.outbox.batch-size:100}") int batchSize,
+                  @Value("${eventix.outbox.poll-interval-ms:500}") long pollMillis,
+                  @Value("${eventix.outbox.lease-ms:30000}") long leaseMillis,
+                  @Value("${eventix.outbox.max-attempts:10}") int maxAttempts,
+                  @Value("${eventix.outbox.retention-hours:24}") long retentionHours) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.jsonMapper = jsonMapper;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.pollMillis = pollMillis;
+        this.leaseMillis = leaseMillis;
+        this.maxAttempts = maxAttempts;
+        this.retentionHours = retentionHours;
+        this.signals = new Semaphore[workers];
+        for (int i = 0; i < workers; i++) {
+            signals[i] = new Semaphore(0);
+        }
+        this.pool = Executors.newFixedThreadPool(workers);
+    }
+
+    public void publish(DomainEventType type, Long aggregateId, Object payload) {
+        publishAll(type, List.of(payload), p -> aggregateId);
+    }
+
+    public <T> void publishAll(DomainEventType type, List<T> payloads, Function<T, Long> aggregateId) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        MapSqlParameterSource[] rows = new MapSqlParameterSource[payloads.size()];
+        Set<Integer> woken = new HashSet<>();
+        for (int i = 0; i < rows.length; i++) {
+            Long id = aggregateId.apply(payloads.get(i));
+            rows[i] = new MapSqlParameterSource()
+                    .addValue("type", type.ordinal())
+                    .addValue("aggregateType", aggregateType(type))
+                    .addValue("aggregateId", id)
+                    .addValue("payload", jsonMapper.writeValueAsString(payloads.get(i)))
+                    .addValue("pending", OutboxStatus.PENDING.ordinal())
+                    .addValue("createdAt", now);
+            woken.add(worker(id));
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        afterCommit(() -> woken.forEach(worker -> signals[worker].release()));
+    }
+
+    // Called on a worker thread inside a transaction of its own, once per delivery of each event.
+    public <T> void subscribe(DomainEventType type, Class<T> payloadType, Consumer<T> handler) {
+        subscribers.computeIfAbsent(type, t -> new CopyOnWriteArrayList<>()).add(new Subscriber<>(payloadType, handler));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (int worker = 0; worker < workers; worker++) {
+            int partition = worker;
+            pool.execute(() -> run(partition));
+        }
+        System.out.println("📮 Outbox relay started with " + workers + " workers");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Claimed events not yet marked dispatched are delivered again once their lease runs out.
+        pool.shutdownNow();
+    }
+
+    @Scheduled(cron = "${eventix.outbox.cleanup-cron:0 15 * * * *}")
+    public void cleanup() {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("dispatched", OutboxStatus.DISPATCHED.ordinal())
+                .addValue("before", LocalDateTime.now().minusHours(retentionHours))
+                .addValue("limit", CLEANUP_BATCH);
+        int deleted;
+        int total = 0;
+        do {
+            deleted = jdbcTemplate.update(CLEANUP_SQL, params);
+            total += deleted;
+        } while (deleted == CLEANUP_BATCH);
+        if (total > 0) {
+            System.out.println("🧹 Outbox: deleted " + total + " dispatched events");
+        }
+    }
+
+    private void run(int worker) {
+        while (!Thread.currentThread().isInterrupted()) {
+            int handled;
+            try {
+                handled = poll(worker);
+            } catch (RuntimeException e) {
+                System.out.println("❌ Outbox worker " + worker + " failed, will retry: " + e.getMessage());
+                handled = 0;
+            }
+            if (handled < batchSize) {
+                try {
+                    signals[worker].tryAcquire(pollMillis, TimeUnit.MILLISECONDS);
+                    signals[worker].drainPermits();
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // Claims and delivers one batch; returns how many events it claimed.
+    int poll(int worker) {
+        String token = instance + ":" + worker + ":" + claims.incrementAndGet();
+        List<Claimed> batch = transactionTemplate.execute(status -> claim(worker, token));
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> dispatched = new ArrayList<>();
+        List<Long> released = new ArrayList<>();
+        Set<String> blocked = new HashSet<>();
+        for (Claimed event : batch) {
+            String aggregate = event.aggregateType() + ":" + event.aggregateId();
+            if (blocked.contains(aggregate)) {
+                released.add(event.id());
+                continue;
+            }
+            try {
+                deliver(event);
+                dispatched.add(event.id());
+            } catch (RuntimeException e) {
+                blocked.add(aggregate);
+                failed(event, token, e);
+            }
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("token", token)
+                .addValue("dispatched", OutboxStatus.DISPATCHED.ordinal())
+                .addValue("now", LocalDateTime.now());
+        if (!dispatched.isEmpty()) {
+            jdbcTemplate.update(DISPATCHED_SQL, params.addValue("ids", dispatched));
+        }
+        if (!released.isEmpty()) {
+            jdbcTemplate.update(RELEASE_SQL, params.addValue("ids", released));
+        }
+        return batch.size();
+    }
+
+    private List<Claimed> claim(int worker, String token) {
+        LocalDateTime now = LocalDateTime.now();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("pending", OutboxStatus.PENDING.ordinal())
+                .addValue("workers", workers)
+                .addValue("worker", worker)
+                .addValue("now", now)
+                .addValue("until", now.plusNanos(leaseMillis * 1_000_000))
+                .addValue("token", token)
+                .addValue("limit", batchSize);
+        List<Long> ids = jdbcTemplate.queryForList(CANDIDATES_SQL, params, Long.class);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        params.addValue("ids", ids);
+        // Conditional, so of two instances polling the same worker only one claims an event.
+        jdbcTemplate.update(CLAIM_SQL, params);
+        return jdbcTemplate.query(CLAIMED_SQL, params, (rs, rowNum) -> new Claimed(
+                rs.getLong("id"),
+                DomainEventType.values()[rs.getInt("type")],
+                rs.getString("aggregate_type"),
+                rs.getLong("aggregate_id"),
+                rs.getString("payload"),
+                rs.getInt("attempts")));
+    }
+
+    private void deliver(Claimed event) {
+        for (Subscriber<?> subscriber : subscribers.getOrDefault(event.type(), List.of())) {
+            transactionTemplate.executeWithoutResult(status -> subscriber.accept(jsonMapper, event.payload()));
+        }
+    }
+
+    private void failed(Claimed event, String token, RuntimeException e) {
+        int attempts = event.attempts() + 1;
+        boolean parked = attempts >= maxAttempts;
+        String error = e.getMessage() != null && e.getMessage().length() > 1000 ? e.getMessage().substring(0, 1000) : e.getMessage();
+        long backoff = Math.min(1000L << Math.min(attempts - 1, 20), MAX_BACKOFF_MILLIS);
+        jdbcTemplate.update(FAILED_SQL, new MapSqlParameterSource()
+                .addValue("id", event.id())
+                .addValue("token", token)
+                .addValue("status", (parked ? OutboxStatus.FAILED : OutboxStatus.PENDING).ordinal())
+                .addValue("attempts", attempts)
+                .addValue("error", error)
+                .addValue("until", parked ? null : LocalDateTime.now().plusNanos(backoff * 1_000_000)));
+        System.out.println("❌ Outbox event " + event.id() + " (" + event.type() + ") failed, attempt " + attempts
+                + (parked ? ", parked: " : ", will retry: ") + e.getMessage());
+    }
+
+    private int worker(Long aggregateId) {
+        return (int) Math.floorMod(aggregateId, (long) workers);
+    }
+
+    private static String aggregateType(DomainEventType type) {
+        return type == DomainEventType.TICKET_CHECKED_IN ? "ticket" : "reservation";
+    }
+
+    private record Claimed(Long id, DomainEventType type, String aggregateType, Long aggregateId, String payload, int attempts) {
+    }
+
+    private record Subscriber<T>(Class<T> payloadType, Consumer<T> handler) {
+
+        private void accept(JsonMapper jsonMapper, String payload) {
+            handler.accept(jsonMapper.readValue(payload, payloadType));
+        }
+    }
+}
@@ -1,18 +1,21 @@
 package com.example.eventix.service;
 
+import com.example.eventix.dto.CursorPage;
 import com.example.eventix.dto.PaymentDTO;
+import com.example.eventix.dto.ReservationEventDTO;
+import com.example.eventix.exception.BadRequestException;
 import com.example.eventix.exception.ResourceNotFoundException;
 import com.example.eventix.model.*;
-import com.example.eventix.repository.EventRepository;
+import com.example.eventix.model.Payment_Status;
 import com.example.eventix.repository.PaymentRepository;
 import com.example.eventix.repository.ReservationRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 
 @Service
@@ -22,19 +25,30 @@ public class PaymentService {
 
     private final PaymentRepository paymentRepository;
     private final ReservationRepository reservationRepository;
-    private final EventRepository eventRepository;
-    private final TicketService ticketService;
+    private final SeatInventory seatInventory;
+    private final EventCancellationService eventCancellationService;
+    private final SalesAnalytics salesAnalytics;
+    private final EventStatsService eventStats;
+    private final Outbox outbox;
 
     public PaymentDTO createPayment(PaymentDTO dto) {
         System.out.println("\n\n========== PAYMENT CREATION START ==========");
         System.out.println("📥 Received payment request for reservation ID: " + dto.getReservation_id());
 
-        Reservation reservation = reservationRepository.findById(dto.getReservation_id())
+        // Locked so the payment cannot interleave with hold expiry or a cancel of the same reservation.
+        Reservation reservation = reservationRepository.findByIdForUpdate(dto.getReservation_id())
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation not found: " + dto.getReservation_id()));
 
         System.out.println("✅ Reservation found - ID: " + reservation.getId() + ", Seats: " + reservation.getSeats());
 
+        eventCancellationService.enterSale(reservation.getEvent().getId());
+
+        // A repeated payment of a PAID reservation changes nothing that is counted.
+        ReservationStatus previousStatus = reservation.getStatus();
+        boolean newlyPaid = !ReservationStatus.PAID.equals(previousStatus);
+
         java.util.Optional<Payment> existingPayment = paymentRepository.findByReservation_Id(dto.getReservation_id());
+        boolean wasSuccessful = existingPayment.isPresent() && Payment_Status.SUCCESS.equals(existingPayment.get().getStatus());
 
         Payment payment;
         if (existingPayment.isPresent()) {
@@ -46,12 +60,7 @@ public class PaymentService {
             payment = paymentRepository.save(payment);
             
             // DECREASE SEATS ONLY ON SUCCESSFUL PAYMENT
-            Event event = reservation.getEvent();
-            if (event.getAvailableSeats() < reservation.getSeats()) {
-                throw new IllegalStateException("Not enough seats available for this transaction.");
-            }
-            event.setAvailableSeats(event.getAvailableSeats() - reservation.getSeats());
-            eventRepository.save(event);
+            takeSeats(reservation);
 
             reservation.setStatus(ReservationStatus.PAID);
             reservationRepository.save(reservation);
@@ -59,12 +68,7 @@ public class PaymentService {
             System.out.println("✅ No existing payment found - creating new payment");
 
             // DECREASE SEATS ONLY ON SUCCESSFUL PAYMENT 
-            Event event = reservation.getEvent();
-            if (event.getAvailableSeats() < reservation.getSeats()) {
-                throw new IllegalStateException("Not enough seats available for this transaction.");
-            }
-            event.setAvailableSeats(event.getAvailableSeats() - reservation.getSeats());
-            eventRepository.save(event);
+            takeSeats(reservation);
 
             payment = Payment.builder()
                     .reservation(reservation)
@@ -79,13 +83,59 @@ public class PaymentService {
             reservationRepository.save(reservation);
         }
 
-        // Generate tickets via TicketService
-        ticketService.generateTicketsForReservation(reservation);
+        eventStats.moved(reservation.getEvent().getId(), previousStatus, ReservationStatus.PAID, 1, reservation.getSeats());
+        if (!wasSuccessful) {
+            eventStats.revenue(reservation.getEvent().getId(), payment.getAmount());
+        }
+        if (newlyPaid) {
+            salesAnalytics.paid(reservation.getEvent().getId(), reservation.getSeats(), payment.getAmount());
+            // Tickets are issued from the outbox once this commits, off the payment path.
+            outbox.publish(DomainEventType.RESERVATION_PAID, reservation.getId(), ReservationEventDTO.builder()
+                    .reservation_id(reservation.getId())
+                    .event_id(reservation.getEvent().getId())
+                    .user_id(reservation.getUser().getId())
+                    .seats(reservation.getSeats())
+                    .amount(payment.getAmount())
+                    .build());
+        }
 
         System.out.println("========== PAYMENT CREATION END (SUCCESS) ==========\n\n");
         return mapToDTO(payment);
     }
 
+    // What createPayment would refuse, checked without taking anything. The pipeline runs it ahead
+    // of the command, so a refusal never reaches the batch transaction and rolls it back.
+    @Transactional(noRollbackFor = RuntimeException.class)
+    public void checkPayment(PaymentDTO dto) {
+        ReservationRepository.ReservationView reservation = reservationRepository.findViewById(dto.getReservation_id())
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation not found: " + dto.getReservation_id()));
+        if (eventCancellationService.isCancelled(reservation.getEventId())) {
+            throw new BadRequestException("Event has been cancelled");
+        }
+        Payment_Method.valueOf(dto.getMethod());
+        // Only a cancelled or expired reservation needs its seats back; see takeSeats.
+        boolean ownsSeats = ReservationStatus.PAID.equals(reservation.getStatus()) || ReservationStatus.HELD.equals(reservation.getStatus());
+        if (!ownsSeats && seatInventory.available(reservation.getEventId()) < reservation.getSeats()) {
+            throw new IllegalStateException("Not enough seats available for this transaction.");
+        }
+    }
+
+    private void takeSeats(Reservation reservation) {
+        Long eventId = reservation.getEvent().getId();
+        // A repeated payment for an already PAID reservation must not take its seats twice,
+        // and a HELD reservation already owns its seats.
+        if (ReservationStatus.PAID.equals(reservation.getStatus())) {
+            return;
+        }
+        if (ReservationStatus.HELD.equals(reservation.getStatus())) {
+            seatInventory.confirmHold(eventId, reservation.getSeats());
+            return;
+        }
+        if (!seatInventory.tryReserve(eventId, reservation.getSeats())) {
+            throw new IllegalStateException("Not enough seats available for this transaction.");
+        }
+    }
+
     public PaymentDTO getPaymentById(Long id) {
         Payment payment = paymentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Payment not found: " + id));
@@ -98,17 +148,27 @@ public class PaymentService {
         return mapToDTO(payment);
     }
 
-    public List<PaymentDTO> getAllPayments() {
-        return paymentRepository.findAll()
-                .stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    public CursorPage<PaymentDTO> getPayments(String status, Long reservationId, Long eventId, Long userId,
+                                              LocalDateTime from, LocalDateTime to, String cursor, Integer limit) {
+        int pageSize = Cursors.pageSize(limit);
+        List<Payment> rows = paymentRepository.findPage(Cursors.afterId(cursor), Cursors.filter(Payment_Status.class, "status", status),
+                reservationId, eventId, userId, from, to, Limit.of(pageSize + 1));
+        return Cursors.page(rows, pageSize, payment -> Cursors.idKey(payment.getId()), this::mapToDTO);
     }
 
     public void deletePayment(Long id) {
         Payment payment = paymentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Payment not found: " + id));
         paymentRepository.delete(payment);
+        if (Payment_Status.SUCCESS.equals(payment.getStatus())) {
+            reservationRepository.findEventIdById(payment.getReservation().getId())
+                    .ifPresent(eventId -> {
+                        if (payment.getAmount() != null) {
+                            eventStats.revenue(eventId, payment.getAmount().negate());
+                        }
+                        salesAnalytics.cancelled(eventId, 0, 0, payment.getAmount());
+                    });
+        }
     }
 
     private PaymentDTO mapToDTO(Payment payment) {
@@ -0,0 +1,192 @@
+package com.example.eventix.service;
+
+import com.example.eventix.model.Reservation;
+import com.example.eventix.model.ReservationStatus;
+import com.example.eventix.repository.ReservationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Expires HELD reservations whose hold ran out and hands their seats back to the inventory.
+// Pending expirations live in a hashed timing wheel, so scheduling a hold is O(1) no matter
+// how many are outstanding. Paid or cancelled reservations are not removed from the wheel;
+// they are simply skipped when their slot comes due.
+@Service
+public class ReservationExpiryService {
+
+    private final ReservationRepository reservationRepository;
+    private final SeatInventory seatInventory;
+    private final TransactionTemplate transactionTemplate;
+    private final EventStatsService eventStats;
+    private final int batchSize;
+    private final TimingWheel wheel;
+
+    public ReservationExpiryService(ReservationRepository reservationRepository,
+                                    SeatInventory seatInventory,
+                                    TransactionTemplate transactionTemplate,
+                                    EventStatsService eventStats,
+                                    @Value("${eventix.reservations.expiry-batch-size:500}") int batchSize,
+                                    @Value("${eventix.reservations.expiry-wheel-slots:4096}") int wheelSlots,
+                                    @Value("${eventix.reservations.expiry-tick-ms:1000}") long tickMillis) {
+        this.reservationRepository = reservationRepository;
+        this.seatInventory = seatInventory;
+        this.transactionTemplate = transactionTemplate;
+        this.eventStats = eventStats;
+        this.batchSize = batchSize;
+        this.wheel = new TimingWheel(wheelSlots, tickMillis, System.currentTimeMillis());
+    }
+
+    public void schedule(Reservation reservation) {
+        Expiry expiry = new Expiry(reservation.getId(), toMillis(reservation.getExpiresAt()));
+        TransactionHooks.afterCommit(() -> wheel.add(expiry));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        // Catch-up: holds that ran out while we were down, read through the (status, expires_at) index.
+        int expired = 0;
+        List<ReservationRepository.HoldExpiry> overdue;
+        do {
+            overdue = reservationRepository.findExpiredHolds(ReservationStatus.HELD, LocalDateTime.now(), Limit.of(batchSize));
+            expired += expire(overdue.stream().map(ReservationRepository.HoldExpiry::getId).toList());
+        } while (overdue.size() == batchSize);
+
+        int scheduled = 0;
+        long afterId = 0L;
+        List<ReservationRepository.HoldExpiry> holds;
+        do {
+            holds = reservationRepository.findHoldsAfter(ReservationStatus.HELD, afterId, Limit.of(batchSize));
+            for (ReservationRepository.HoldExpiry hold : holds) {
+                wheel.add(new Expiry(hold.getId(), toMillis(hold.getExpiresAt())));
+                afterId = hold.getId();
+            }
+            scheduled += holds.size();
+        } while (holds.size() == batchSize);
+
+        System.out.println("⏳ Reservation expiry: " + expired + " overdue holds expired, " + scheduled + " scheduled");
+    }
+
+    @Scheduled(fixedDelayString = "${eventix.reservations.expiry-tick-ms:1000}")
+    public void expireDue() {
+        List<Long> due = wheel.advance(System.currentTimeMillis());
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<Long> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            try {
+                expire(batch);
+            } catch (RuntimeException e) {
+                System.out.println("❌ Reservation expiry batch failed, retrying next tick: " + e.getMessage());
+                long retryAt = System.currentTimeMillis();
+                batch.forEach(id -> wheel.add(new Expiry(id, retryAt)));
+            }
+        }
+    }
+
+    private int expire(List<Long> reservationIds) {
+        if (reservationIds.isEmpty()) {
+            return 0;
+        }
+        Integer expired = transactionTemplate.execute(status -> {
+            // Row locks make us wait for an in-flight payment or cancel; those rows are no longer HELD afterwards.
+            List<Reservation> held = reservationRepository.findByIdInAndStatusForUpdate(reservationIds, ReservationStatus.HELD);
+            if (held.isEmpty()) {
+                return 0;
+            }
+
+            Map<Long, Long> seatsByEvent = new HashMap<>();
+            List<Long> ids = new ArrayList<>(held.size());
+            for (Reservation reservation : held) {
+                ids.add(reservation.getId());
+                seatsByEvent.merge(reservation.getEvent().getId(), reservation.getSeats(), Long::sum);
+                eventStats.moved(reservation.getEvent().getId(), ReservationStatus.HELD, ReservationStatus.EXPIRED, 1, reservation.getSeats());
+            }
+            reservationRepository.updateStatusByIdIn(ids, ReservationStatus.EXPIRED);
+            seatsByEvent.forEach(seatInventory::releaseHold);
+            return ids.size();
+        });
+        return expired != null ? expired : 0;
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record Expiry(Long reservationId, long deadline) {
+    }
+
+    // Single-level hashed wheel. Entries further out than one revolution stay in their slot
+    // and are re-queued until the revolution they belong to comes around.
+    private static final class TimingWheel {
+
+        private final Queue<Expiry>[] slots;
+        private final Queue<Expiry> overdue = new ConcurrentLinkedQueue<>();
+        private final long tickMillis;
+        private volatile long currentTick;
+
+        @SuppressWarnings("unchecked")
+        private TimingWheel(int slotCount, long tickMillis, long nowMillis) {
+            this.slots = new Queue[slotCount];
+            for (int i = 0; i < slotCount; i++) {
+                slots[i] = new ConcurrentLinkedQueue<>();
+            }
+            this.tickMillis = tickMillis;
+            this.currentTick = nowMillis / tickMillis;
+        }
+
+        private void add(Expiry expiry) {
+            long tick = expiry.deadline() / tickMillis;
+            if (tick <= currentTick) {
+                overdue.add(expiry);
+                return;
+            }
+            slots[(int) (tick % slots.length)].add(expiry);
+            // The ticker may have walked past this slot while we were adding. Expiring a
+            // reservation twice is harmless, losing it for a whole revolution is not.
+            if (tick <= currentTick) {
+                overdue.add(expiry);
+            }
+        }
+
+        // Only ever called from the scheduler thread.
+        private List<Long> advance(long nowMillis) {
+            long targetTick = nowMillis / tickMillis;
+            long previousTick = currentTick;
+            currentTick = targetTick;
+
+            List<Long> due = new ArrayList<>();
+            // After a long pause there is no point walking the same slots more than once.
+            long fromTick = Math.max(previousTick + 1, targetTick - slots.length + 1);
+            for (long tick = fromTick; tick <= targetTick; tick++) {
+                Queue<Expiry> slot = slots[(int) (tick % slots.length)];
+                List<Expiry> later = new ArrayList<>();
+                Expiry expiry;
+                while ((expiry = slot.poll()) != null) {
+                    if (expiry.deadline() / tickMillis <= targetTick) {
+                        due.add(expiry.reservationId());
+                    } else {
+                        later.add(expiry);
+                    }
+                }
+                slot.addAll(later);
+            }
+
+            Expiry expiry;
+            while ((expiry = overdue.poll()) != null) {
+                due.add(expiry.reservationId());
+            }
+            return due;
+        }
+    }
+}
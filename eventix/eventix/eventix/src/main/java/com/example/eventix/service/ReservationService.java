@@ -1,16 +1,20 @@
 package com.example.eventix.service;
 
+import com.example.eventix.dto.CursorPage;
 import com.example.eventix.dto.ReservationDTO;
+import com.example.eventix.dto.ReservationEventDTO;
+import com.example.eventix.exception.BadRequestException;
 import com.example.eventix.exception.ResourceNotFoundException;
 import com.example.eventix.model.*;
+import com.example.eventix.model.ReservationStatus;
 import com.example.eventix.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Collections;
 import java.util.List;
 
 @Service
@@ -24,6 +28,13 @@ public class ReservationService {
     private final EventRepository eventRepository;
     private final PaymentRepository paymentRepository;
     private final TicketService ticketService;
+    private final SeatInventory seatInventory;
+    private final ReservationExpiryService reservationExpiryService;
+    private final EventCancellationService eventCancellationService;
+    private final SalesAnalytics salesAnalytics;
+    private final EventStatsService eventStats;
+    private final SeatMapAllocator seatMapAllocator;
+    private final Outbox outbox;
 
 
     public ReservationDTO createReservation(ReservationDTO dto){
@@ -33,11 +44,10 @@ public class ReservationService {
         Event event = eventRepository.findById(dto.getEvent_id())
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found: " + dto.getEvent_id()));
 
-        if(dto.getSeats_reserved() <= 0) throw new IllegalArgumentException("Seats reserved must be at least 1");
-        if(event.getAvailableSeats() < dto.getSeats_reserved()) throw new IllegalStateException("Not enough available seats");
-
-        // We do NOT decrease available seats here anymore.
-        // Seats will be decreased only when payment is successfully processed.
+        checkReservable(event.getId(), event.getTotalCapacity(), dto.getSeats_reserved());
+        eventCancellationService.enterSale(event.getId());
+        // Held seats come out of the bookable pool now and turn into a sale on payment.
+        if(!seatInventory.tryHold(event.getId(), dto.getSeats_reserved())) throw new IllegalStateException("Not enough available seats");
 
         
         Reservation reservation = Reservation.builder()
@@ -50,6 +60,9 @@ public class ReservationService {
                 .build();
 
         Reservation saved = reservationRepository.save(reservation);
+        reservationExpiryService.schedule(saved);
+        eventStats.moved(event.getId(), null, ReservationStatus.HELD, 1, saved.getSeats());
+        outbox.publish(DomainEventType.RESERVATION_CREATED, saved.getId(), toEvent(saved, null));
 
         // removed automatic payment record creation and ticket generation here
         // this will be handled in PaymentService after user confirms payment
@@ -57,49 +70,107 @@ public class ReservationService {
         return mapToDTO(saved);
     }
 
+    // What createReservation would refuse, checked without taking anything. The pipeline runs it
+    // ahead of the command, so a refusal never reaches the batch transaction and rolls it back.
+    @Transactional(noRollbackFor = RuntimeException.class)
+    public void checkReservation(ReservationDTO dto) {
+        if (dto.getUser_id() == null || !userRepository.existsById(dto.getUser_id())) {
+            throw new ResourceNotFoundException("User not found: " + dto.getUser_id());
+        }
+        Long totalCapacity = eventRepository.findTotalCapacityById(dto.getEvent_id())
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found: " + dto.getEvent_id()));
+        checkReservable(dto.getEvent_id(), totalCapacity, dto.getSeats_reserved());
+        if (eventCancellationService.isCancelled(dto.getEvent_id())) {
+            throw new BadRequestException("Event has been cancelled");
+        }
+        if (seatInventory.available(dto.getEvent_id()) < dto.getSeats_reserved()) {
+            throw new IllegalStateException("Not enough available seats");
+        }
+    }
+
+    private void checkReservable(Long eventId, Long totalCapacity, Long seats) {
+        if(seats <= 0) throw new IllegalArgumentException("Seats reserved must be at least 1");
+        // A seated event sells only once its map covers the capacity, so every seat sold has a place on it.
+        long mapped = seatMapAllocator.mappedSeats(eventId);
+        if(mapped > 0 && totalCapacity != null && mapped < totalCapacity) throw new BadRequestException("Seat map covers only " + mapped + " of " + totalCapacity + " seats");
+    }
+
     public ReservationDTO getReservationById(Long id) {
-        Reservation reservation = reservationRepository.findById(id)
+        return reservationRepository.findViewById(id)
+                .map(this::mapToDTO)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation not found: " + id));
-        return mapToDTO(reservation);
     }
 
 
     public void cancelReservation(Long id){
-        Reservation reservation = reservationRepository.findById(id)
+        Reservation reservation = reservationRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation Not Found"));
 
+        ReservationStatus previousStatus = reservation.getStatus();
+        checkCancellable(previousStatus);
         reservation.setStatus(ReservationStatus.CANCELLED);
         reservationRepository.save(reservation);
 
-        paymentRepository.findByReservation_Id(reservation.getId())
-                .ifPresent(payment -> {
-                    payment.setStatus(Payment_Status.FAILED);
-                    paymentRepository.save(payment);
-                });
-
-        // Only restore seats if the reservation was already PAID.
-        // Since we now only decrease seats on Payment, we only restore them if they were taken.
-        if (ReservationStatus.PAID.equals(reservation.getStatus())) {
-            Event event = reservation.getEvent();
-            event.setAvailableSeats(event.getAvailableSeats() + reservation.getSeats());
-            eventRepository.save(event);
+        BigDecimal refunded = null;
+        Payment payment = paymentRepository.findByReservation_Id(reservation.getId()).orElse(null);
+        if (payment != null) {
+            if (Payment_Status.SUCCESS.equals(payment.getStatus())) {
+                refunded = payment.getAmount();
+            }
+            payment.setStatus(Payment_Status.FAILED);
+            paymentRepository.save(payment);
         }
 
+        // A PAID reservation gives back sold seats, a HELD one gives back its hold.
+        if (ReservationStatus.PAID.equals(previousStatus)) {
+            seatInventory.release(reservation.getEvent().getId(), reservation.getSeats());
+        } else if (ReservationStatus.HELD.equals(previousStatus)) {
+            seatInventory.releaseHold(reservation.getEvent().getId(), reservation.getSeats());
+        }
+
+        Long eventId = reservation.getEvent().getId();
+        eventStats.moved(eventId, previousStatus, ReservationStatus.CANCELLED, 1, reservation.getSeats());
+        if (refunded != null) {
+            eventStats.revenue(eventId, refunded.negate());
+        }
+
+        boolean wasPaid = ReservationStatus.PAID.equals(previousStatus);
+        if (wasPaid || refunded != null) {
+            salesAnalytics.cancelled(eventId, wasPaid ? 1 : 0, wasPaid ? reservation.getSeats() : 0, refunded);
+        }
+        outbox.publish(DomainEventType.RESERVATION_CANCELLED, reservation.getId(), toEvent(reservation, refunded));
+
         // Cancel all tickets for this reservation
         ticketService.cancelTicketsByReservationId(reservation.getId());
     }
 
 
 
+    // What cancelReservation would refuse, for the pipeline to run ahead of the command.
+    @Transactional(noRollbackFor = RuntimeException.class)
+    public void checkCancellation(Long id) {
+        ReservationStatus status = reservationRepository.findViewById(id)
+                .map(ReservationRepository.ReservationView::getStatus)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation Not Found"));
+        checkCancellable(status);
+    }
+
+    private static void checkCancellable(ReservationStatus status) {
+        // Its seats, payment and stats were already settled; going again would count them twice.
+        if (ReservationStatus.CANCELLED.equals(status) || ReservationStatus.EXPIRED.equals(status)) {
+            throw new BadRequestException("Reservation is already " + status.name().toLowerCase());
+        }
+    }
+
     public List<ReservationDTO> findReservationByUserId(Long id){
-        List<Reservation> reservations  = reservationRepository.findByUser_Id(id);
+        List<ReservationRepository.ReservationView> reservations = reservationRepository.findViewsByUserId(id);
         return reservations.stream()
                 .map(this::mapToDTO)
                 .toList();
     }
 
     public List<ReservationDTO> findByEventIdAndStatus(Long eventId , ReservationStatus reservationStatus){
-        List<Reservation> reservations = Collections.singletonList(reservationRepository.findByEvent_IdAndStatus(eventId, reservationStatus));
+        List<ReservationRepository.ReservationView> reservations = reservationRepository.findViewsByEventIdAndStatus(eventId, reservationStatus);
         if (reservations.isEmpty()) {
             throw new ResourceNotFoundException(
                     "No reservations found for Event id: " + eventId+ " with status"+reservationStatus);
@@ -110,13 +181,35 @@ public class ReservationService {
     }
 
 
-    public List<ReservationDTO> getAllReservations() {
-        return reservationRepository.findAll()
-                .stream()
+    public CursorPage<ReservationDTO> getReservations(String status, Long eventId, Long userId,
+                                                      LocalDateTime from, LocalDateTime to, String cursor, Integer limit) {
+        int pageSize = Cursors.pageSize(limit);
+        List<ReservationRepository.ReservationView> rows = reservationRepository.findPage(Cursors.afterId(cursor), Cursors.filter(ReservationStatus.class, "status", status),
+                eventId, userId, from, to, Limit.of(pageSize + 1));
+        return Cursors.page(rows, pageSize, reservation -> Cursors.idKey(reservation.getId()), this::mapToDTO);
+    }
+
+    // Largest PAID reservations by seats, read off idx_reservations_status_seats.
+    public List<ReservationDTO> getLargestReservations(int limit) {
+        return reservationRepository.findLargestViews(ReservationStatus.PAID, Limit.of(limit)).stream()
                 .map(this::mapToDTO)
                 .toList();
     }
 
+    // Reads go through ReservationView: one query per call, with the user and event names joined in.
+    private ReservationDTO mapToDTO(ReservationRepository.ReservationView reservation) {
+        return ReservationDTO.builder()
+                .id(reservation.getId())
+                .user_id(reservation.getUserId())
+                .userName(reservation.getUserName())
+                .event_id(reservation.getEventId())
+                .eventName(reservation.getEventName())
+                .seats_reserved(reservation.getSeats())
+                .status(String.valueOf(reservation.getStatus()))
+                .reservationDate(reservation.getCreatedAt())
+                .build();
+    }
+
 
 
     private ReservationDTO mapToDTO(Reservation reservation) {
@@ -132,6 +225,14 @@ public class ReservationService {
                 .build();
     }
 
-
+    private ReservationEventDTO toEvent(Reservation reservation, BigDecimal amount) {
+        return ReservationEventDTO.builder()
+                .reservation_id(reservation.getId())
+                .user_id(reservation.getUser().getId())
+                .event_id(reservation.getEvent().getId())
+                .seats(reservation.getSeats())
+                .amount(amount)
+                .build();
+    }
 
 }
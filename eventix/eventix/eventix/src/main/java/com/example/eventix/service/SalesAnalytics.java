@@ -0,0 +1,279 @@
+package com.example.eventix.service;
+
+import com.example.eventix.dto.EventDTO;
+import com.example.eventix.dto.SalesAnalyticsDTO;
+import com.example.eventix.dto.SalesDTO;
+import com.example.eventix.model.Category;
+import com.example.eventix.model.Payment_Status;
+import com.example.eventix.model.ReservationStatus;
+import com.example.eventix.repository.CategoryRepository;
+import com.example.eventix.repository.EventRepository;
+import com.example.eventix.repository.PaymentRepository;
+import com.example.eventix.repository.ReservationRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.ToLongFunction;
+
+import static com.example.eventix.service.TransactionHooks.afterCommit;
+
+// Paid sales per event, per category and in total, for the admin analytics dashboard.
+//
+// Loaded once with two grouped queries, then kept current by the write paths: a payment adds its
+// reservation and a cancel takes it back out, each applied after commit. Revenue is the sum of
+// successful payments, kept in cents. Reads only walk the per-event counters.
+@Service
+public class SalesAnalytics {
+
+    private final ReservationRepository reservationRepository;
+    private final PaymentRepository paymentRepository;
+    private final EventRepository eventRepository;
+    private final CategoryRepository categoryRepository;
+    private final EventCatalog eventCatalog;
+
+    // All guarded by this.
+    private final Map<Long, Sales> events = new HashMap<>();
+    private final Map<Long, Sales> categories = new HashMap<>();
+    // event id -> category id
+    private final Map<Long, Long> eventCategories = new HashMap<>();
+    private final Sales total = new Sales();
+    // Sales of these events changed before the load finished; they are re-read on their own.
+    private final Set<Long> touchedDuringLoad = new HashSet<>();
+    private final Set<Long> droppedDuringLoad = new HashSet<>();
+    private boolean loaded;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public SalesAnalytics(ReservationRepository reservationRepository,
+                          PaymentRepository paymentRepository,
+                          EventRepository eventRepository,
+                          CategoryRepository categoryRepository,
+                          EventCatalog eventCatalog) {
+        this.reservationRepository = reservationRepository;
+        this.paymentRepository = paymentRepository;
+        this.eventRepository = eventRepository;
+        this.categoryRepository = categoryRepository;
+        this.eventCatalog = eventCatalog;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<EventRepository.FacetRow> rows = eventRepository.findAllFacetRows();
+        List<ReservationRepository.EventSales> sold = reservationRepository.sumSalesByStatus(ReservationStatus.PAID);
+        List<PaymentRepository.EventRevenue> revenue = paymentRepository.sumAmountByStatus(Payment_Status.SUCCESS);
+        Set<Long> touched;
+        synchronized (this) {
+            for (EventRepository.FacetRow row : rows) {
+                // Category changes committed during the load have already been applied and win.
+                if (!droppedDuringLoad.contains(row.getId())) {
+                    eventCategories.putIfAbsent(row.getId(), row.getCategoryId());
+                }
+            }
+            for (ReservationRepository.EventSales row : sold) {
+                if (!touchedDuringLoad.contains(row.getEventId()) && !droppedDuringLoad.contains(row.getEventId())) {
+                    add(row.getEventId(), sales(row.getEventId()), row.getReservations(), row.getSeats(), 0);
+                }
+            }
+            for (PaymentRepository.EventRevenue row : revenue) {
+                if (!touchedDuringLoad.contains(row.getEventId()) && !droppedDuringLoad.contains(row.getEventId())) {
+                    add(row.getEventId(), sales(row.getEventId()), 0, 0, cents(row.getAmount()));
+                }
+            }
+            loaded = true;
+            touched = new HashSet<>(touchedDuringLoad);
+            touchedDuringLoad.clear();
+            droppedDuringLoad.clear();
+        }
+        touched.forEach(this::reload);
+        System.out.println("📊 Sales analytics loaded: " + total.reservations + " paid reservations over " + sold.size() + " events");
+    }
+
+    // A reservation became PAID with this payment.
+    public void paid(Long eventId, long seats, BigDecimal amount) {
+        afterCommit(() -> apply(eventId, 1, seats, cents(amount)));
+    }
+
+    // PAID reservations taken back, with the successful payments they had; amount may be null.
+    public void cancelled(Long eventId, long reservations, long seats, BigDecimal amount) {
+        afterCommit(() -> apply(eventId, -reservations, -seats, -cents(amount)));
+    }
+
+    public void put(Long eventId, Long categoryId) {
+        afterCommit(() -> categorize(eventId, categoryId));
+    }
+
+    public void remove(Long eventId) {
+        afterCommit(() -> categorize(eventId, null));
+    }
+
+    public SalesAnalyticsDTO analytics(int limit) {
+        SalesAnalyticsDTO analytics;
+        synchronized (this) {
+            analytics = SalesAnalyticsDTO.builder()
+                    .totalEvents(eventCategories.size())
+                    .reservations(total.reservations)
+                    .seatsSold(total.seats)
+                    .revenueCents(total.revenueCents)
+                    .topEventsBySeats(top(events, limit, sales -> sales.seats))
+                    .topEventsByRevenue(top(events, limit, sales -> sales.revenueCents))
+                    .categories(top(categories, Integer.MAX_VALUE, sales -> sales.seats))
+                    .build();
+        }
+
+        // Names are looked up outside the lock, so writes never wait on the catalog.
+        Set<Long> ids = new HashSet<>();
+        analytics.getTopEventsBySeats().forEach(row -> ids.add(row.getId()));
+        analytics.getTopEventsByRevenue().forEach(row -> ids.add(row.getId()));
+        Map<Long, EventDTO> eventsById = eventCatalog.getAll(ids);
+        for (List<SalesDTO> rows : List.of(analytics.getTopEventsBySeats(), analytics.getTopEventsByRevenue())) {
+            rows.forEach(row -> row.setName(eventsById.containsKey(row.getId()) ? eventsById.get(row.getId()).getName() : null));
+        }
+        Map<Long, String> categoryNames = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            categoryNames.put(category.getId(), category.getName());
+        }
+        analytics.getCategories().forEach(row -> row.setName(categoryNames.get(row.getId())));
+        return analytics;
+    }
+
+    // Listeners are told of every committed change, outside the lock, including during the load.
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    private void apply(Long eventId, long reservations, long seats, long revenueCents) {
+        synchronized (this) {
+            Sales sales = sales(eventId);
+            sales.changes++;
+            if (!loaded) {
+                touchedDuringLoad.add(eventId);
+            } else {
+                add(eventId, sales, reservations, seats, revenueCents);
+            }
+        }
+        for (Listener listener : listeners) {
+            listener.changed(eventId, reservations, seats, revenueCents);
+        }
+    }
+
+    // Moves the event's sales to its new category; null drops the event with its sales.
+    private synchronized void categorize(Long eventId, Long categoryId) {
+        Long previous = categoryId != null ? eventCategories.put(eventId, categoryId) : eventCategories.remove(eventId);
+        Sales sales = events.get(eventId);
+        if (sales != null && !Objects.equals(previous, categoryId)) {
+            if (previous != null) {
+                category(previous).add(-sales.reservations, -sales.seats, -sales.revenueCents);
+            }
+            if (categoryId != null) {
+                category(categoryId).add(sales.reservations, sales.seats, sales.revenueCents);
+            }
+        }
+        if (categoryId == null) {
+            if (sales != null) {
+                total.add(-sales.reservations, -sales.seats, -sales.revenueCents);
+                events.remove(eventId);
+            }
+            if (!loaded) {
+                droppedDuringLoad.add(eventId);
+            }
+        }
+    }
+
+    // Replaces the event's counters with a fresh read, retried if a change lands while it runs.
+    private void reload(Long eventId) {
+        while (true) {
+            long seen;
+            synchronized (this) {
+                seen = sales(eventId).changes;
+            }
+            long reservations = 0;
+            long seats = 0;
+            long revenueCents = 0;
+            for (ReservationRepository.EventSales row : reservationRepository.sumSalesByEventIdAndStatus(eventId, ReservationStatus.PAID)) {
+                reservations += row.getReservations();
+                seats += row.getSeats();
+            }
+            for (PaymentRepository.EventRevenue row : paymentRepository.sumAmountByEventIdAndStatus(eventId, Payment_Status.SUCCESS)) {
+                revenueCents += cents(row.getAmount());
+            }
+            synchronized (this) {
+                Sales sales = sales(eventId);
+                if (sales.changes == seen) {
+                    add(eventId, sales, reservations - sales.reservations, seats - sales.seats, revenueCents - sales.revenueCents);
+                    return;
+                }
+            }
+        }
+    }
+
+    private void add(Long eventId, Sales sales, long reservations, long seats, long revenueCents) {
+        sales.add(reservations, seats, revenueCents);
+        total.add(reservations, seats, revenueCents);
+        Long categoryId = eventCategories.get(eventId);
+        if (categoryId != null) {
+            category(categoryId).add(reservations, seats, revenueCents);
+        }
+    }
+
+    private Sales sales(Long eventId) {
+        return events.computeIfAbsent(eventId, id -> new Sales());
+    }
+
+    private Sales category(Long categoryId) {
+        return categories.computeIfAbsent(categoryId, id -> new Sales());
+    }
+
+    private static List<SalesDTO> top(Map<Long, Sales> sales, int limit, ToLongFunction<Sales> by) {
+        List<Map.Entry<Long, Sales>> entries = new ArrayList<>();
+        for (Map.Entry<Long, Sales> entry : sales.entrySet()) {
+            if (entry.getValue().reservations > 0) {
+                entries.add(entry);
+            }
+        }
+        entries.sort(Comparator.comparingLong((Map.Entry<Long, Sales> entry) -> by.applyAsLong(entry.getValue())).reversed()
+                .thenComparing(Map.Entry::getKey));
+        List<SalesDTO> result = new ArrayList<>();
+        for (Map.Entry<Long, Sales> entry : entries.subList(0, Math.min(limit, entries.size()))) {
+            result.add(SalesDTO.builder()
+                    .id(entry.getKey())
+                    .reservations(entry.getValue().reservations)
+                    .seatsSold(entry.getValue().seats)
+                    .revenueCents(entry.getValue().revenueCents)
+                    .build());
+        }
+        return result;
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount != null ? amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact() : 0;
+    }
+
+    private static final class Sales {
+        private long reservations;
+        private long seats;
+        private long revenueCents;
+        // Number of deltas seen, so a reload can tell it raced with one.
+        private long changes;
+
+        private void add(long reservations, long seats, long revenueCents) {
+            this.reservations += reservations;
+            this.seats += seats;
+            this.revenueCents += revenueCents;
+        }
+    }
+
+    public interface Listener {
+        void changed(Long eventId, long reservations, long seats, long revenueCents);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.eventix.service;
+
+import com.example.eventix.dto.SalesUpdateDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Live sales of an event as Server-Sent Events for the admin dashboard.
+//
+// Subscribers get the current buckets right away, then at most one "sales" event per tick, and
+// only when the event sold something or a new minute began. However many sales land in a tick,
+// each subscriber gets one message. Quiet streams get a comment now and then to stay open.
+// The tick only builds the messages; SseSender writes them to the clients.
+@Service
+public class SalesStream {
+
+    private static final long HEARTBEAT_MILLIS = 15_000;
+
+    private final SalesTimeSeries timeSeries;
+    private final SseSender sender;
+    private final long timeoutMillis;
+
+    private final Map<Long, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    // event id -> what its subscribers were last sent: version and minute
+    private final Map<Long, String> sent = new ConcurrentHashMap<>();
+    private volatile long lastHeartbeat = System.currentTimeMillis();
+
+    public SalesStream(SalesTimeSeries timeSeries,
+                       SseSender sender,
+                       @Value("${eventix.sales.stream-timeout-ms:1800000}") long timeoutMillis) {
+        this.timeSeries = timeSeries;
+        this.sender = sender;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public SseEmitter subscribe(Long eventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Runnable unsubscribe = () -> unsubscribe(eventId, emitter);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+        subscribers.computeIfAbsent(eventId, id -> ConcurrentHashMap.newKeySet()).add(emitter);
+        send(eventId, emitter, timeSeries.current(eventId));
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${eventix.sales.stream-tick-ms:1000}")
+    public void tick() {
+        long now = System.currentTimeMillis();
+        boolean heartbeat = now - lastHeartbeat >= HEARTBEAT_MILLIS;
+        if (heartbeat) {
+            lastHeartbeat = now;
+        }
+        for (Map.Entry<Long, Set<SseEmitter>> entry : subscribers.entrySet()) {
+            Long eventId = entry.getKey();
+            String state = timeSeries.version(eventId) + "@" + now / 60_000;
+            if (!state.equals(sent.put(eventId, state))) {
+                SalesUpdateDTO update = timeSeries.current(eventId);
+                for (SseEmitter emitter : entry.getValue()) {
+                    send(eventId, emitter, update);
+                }
+            } else if (heartbeat) {
+                for (SseEmitter emitter : entry.getValue()) {
+                    sender.keepAlive(emitter, () -> unsubscribe(eventId, emitter));
+                }
+            }
+        }
+    }
+
+    private void send(Long eventId, SseEmitter emitter, SalesUpdateDTO update) {
+        sender.send(emitter, SseEmitter.event().name("sales").data(update).build(), () -> unsubscribe(eventId, emitter));
+    }
+
+    private void unsubscribe(Long eventId, SseEmitter emitter) {
+        sender.forget(emitter);
+        subscribers.computeIfPresent(eventId, (id, emitters) -> {
+            emitters.remove(emitter);
+            if (emitters.isEmpty()) {
+                sent.remove(eventId);
+                return null;
+            }
+            return emitters;
+        });
+    }
+}
@@ -0,0 +1,322 @@
+package com.example.eventix.service;
+
+import com.example.eventix.dto.SalesPointDTO;
+import com.example.eventix.dto.SalesUpdateDTO;
+import com.example.eventix.exception.BadRequestException;
+import com.example.eventix.model.EventSalesMinute;
+import com.example.eventix.repository.EventSalesMinuteRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-event sales over time, for ops watching an on-sale live.
+//
+// An event with recent sales has three fixed-size rings of buckets: the last five minutes by
+// second, the last two hours by minute and the last two days by hour. Every committed change is
+// added to the current bucket of each ring, fed by SalesAnalytics. Completed minutes are compacted
+// into event_sales_minutes; once an event has had no sales for as long as the minute ring spans,
+// it is dropped from memory and its history is read back from there.
+@Service
+public class SalesTimeSeries {
+
+    private static final String ADD_SQL = "UPDATE event_sales_minutes SET reservations = reservations + ?, seats = seats + ?, " +
+            "revenue_cents = revenue_cents + ? WHERE event_id = ? AND bucket_start = ?";
+    private static final String INSERT_SQL = "INSERT INTO event_sales_minutes (event_id, bucket_start, reservations, seats, revenue_cents) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    private final EventSalesMinuteRepository minuteRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, Series> series = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+
+    public SalesTimeSeries(EventSalesMinuteRepository minuteRepository,
+                           JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           SalesAnalytics salesAnalytics) {
+        this.minuteRepository = minuteRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        salesAnalytics.addListener(this::record);
+    }
+
+    public enum Resolution {
+        SECOND(1, 300),
+        MINUTE(60, 120),
+        HOUR(3600, 48);
+
+        private final int seconds;
+        private final int buckets;
+
+        Resolution(int seconds, int buckets) {
+            this.seconds = seconds;
+            this.buckets = buckets;
+        }
+
+        public static Resolution of(String value) {
+            try {
+                return value == null ? MINUTE : valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unsupported resolution: " + value + ". Use second, minute or hour");
+            }
+        }
+    }
+
+    // Changes whenever the event's sales do; 0 for an event with no recent sales.
+    public long version(Long eventId) {
+        Series s = series.get(eventId);
+        return s != null ? s.version : 0;
+    }
+
+    // The current bucket of each resolution. The hour only counts sales since the event's series was
+    // last created; history() also includes what was compacted before that.
+    public SalesUpdateDTO current(Long eventId) {
+        long now = now();
+        SalesUpdateDTO update = SalesUpdateDTO.builder()
+                .event_id(eventId)
+                .second(point(Resolution.SECOND, now, null))
+                .minute(point(Resolution.MINUTE, now, null))
+                .hour(point(Resolution.HOUR, now, null))
+                .build();
+        Series s = series.get(eventId);
+        if (s != null) {
+            synchronized (s) {
+                update.setSecond(point(Resolution.SECOND, now, s.rings[0]));
+                update.setMinute(point(Resolution.MINUTE, now, s.rings[1]));
+                update.setHour(point(Resolution.HOUR, now, s.rings[2]));
+            }
+        }
+        return update;
+    }
+
+    // Every bucket of the resolution's window, oldest first, empty ones included.
+    public List<SalesPointDTO> history(Long eventId, Resolution resolution) {
+        while (true) {
+            long now = now();
+            long last = now / resolution.seconds;
+            long first = last - resolution.buckets + 1;
+            long[][] values = new long[resolution.buckets][3];
+            Series s = series.get(eventId);
+
+            // Compacted minutes from before the series existed; there are no compacted seconds.
+            long since = s != null ? s.since : Long.MAX_VALUE;
+            long from = first * resolution.seconds;
+            long to = Math.min(since, (last + 1) * resolution.seconds);
+            if (resolution != Resolution.SECOND && from < to) {
+                for (EventSalesMinute row : minuteRepository.findByEventIdAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart(
+                        eventId, local(from), local(to))) {
+                    long[] bucket = values[(int) (epochSecond(row.getBucketStart()) / resolution.seconds - first)];
+                    bucket[0] += row.getReservations();
+                    bucket[1] += row.getSeats();
+                    bucket[2] += row.getRevenueCents();
+                }
+            }
+
+            if (s != null) {
+                synchronized (s) {
+                    // Dropped meanwhile: all of it is compacted now, so read it all from the database.
+                    if (s.evicted) {
+                        continue;
+                    }
+                    s.rings[resolution.ordinal()].addTo(values, first);
+                }
+            }
+
+            List<SalesPointDTO> points = new ArrayList<>(values.length);
+            for (int i = 0; i < values.length; i++) {
+                points.add(SalesPointDTO.builder()
+                        .at(local((first + i) * resolution.seconds))
+                        .reservations(values[i][0])
+                        .seats(values[i][1])
+                        .revenueCents(values[i][2])
+                        .build());
+            }
+            return points;
+        }
+    }
+
+    private void record(Long eventId, long reservations, long seats, long revenueCents) {
+        while (true) {
+            Series s = series.computeIfAbsent(eventId, id -> new Series(now()));
+            synchronized (s) {
+                if (!s.evicted) {
+                    // Read under the lock, so compaction never passes a minute still being written to.
+                    long now = now();
+                    for (Ring ring : s.rings) {
+                        ring.add(now, reservations, seats, revenueCents);
+                    }
+                    s.lastChange = now;
+                    s.version = versions.incrementAndGet();
+                    return;
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${eventix.sales.compaction-interval-ms:60000}")
+    public synchronized void compact() {
+        Map<Series, Long> compacted = new HashMap<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (Map.Entry<Long, Series> entry : series.entrySet()) {
+            Series s = entry.getValue();
+            synchronized (s) {
+                long current = now() / 60;
+                // Minutes older than the ring are gone; compaction keeps well ahead of that.
+                long minute = Math.max(s.compactedUntil / 60, current - Resolution.MINUTE.buckets + 1);
+                for (; minute < current; minute++) {
+                    long[] values = s.rings[1].get(minute);
+                    if (values != null) {
+                        rows.add(new Object[]{entry.getKey(), minute * 60, values[0], values[1], values[2]});
+                    }
+                }
+                compacted.put(s, current * 60);
+            }
+        }
+
+        if (!rows.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(rows));
+            } catch (RuntimeException e) {
+                System.out.println("❌ Sales compaction failed, will retry: " + e.getMessage());
+                return;
+            }
+        }
+
+        long idleBefore = now() - (long) Resolution.MINUTE.buckets * Resolution.MINUTE.seconds;
+        compacted.forEach((s, until) -> {
+            synchronized (s) {
+                s.compactedUntil = until;
+                if (s.lastChange < idleBefore && s.lastChange < until) {
+                    s.evicted = true;
+                    series.values().remove(s);
+                }
+            }
+        });
+        if (!rows.isEmpty()) {
+            System.out.println("📈 Compacted " + rows.size() + " sales minutes");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Completed minutes only; the minute in progress is lost with the process.
+        compact();
+    }
+
+    // Adds onto a row written before a restart rather than failing on it.
+    private void write(List<Object[]> rows) {
+        List<Object[]> adds = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            adds.add(new Object[]{row[2], row[3], row[4], row[0], Timestamp.valueOf(local((Long) row[1]))});
+        }
+        int[] counts = jdbcTemplate.batchUpdate(ADD_SQL, adds);
+        List<Object[]> inserts = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (counts[i] == 0) {
+                Object[] row = rows.get(i);
+                inserts.add(new Object[]{row[0], Timestamp.valueOf(local((Long) row[1])), row[2], row[3], row[4]});
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        }
+    }
+
+    private static SalesPointDTO point(Resolution resolution, long now, Ring ring) {
+        long bucket = now / resolution.seconds;
+        long[] values = ring != null ? ring.get(bucket) : null;
+        return SalesPointDTO.builder()
+                .at(local(bucket * resolution.seconds))
+                .reservations(values != null ? values[0] : 0)
+                .seats(values != null ? values[1] : 0)
+                .revenueCents(values != null ? values[2] : 0)
+                .build();
+    }
+
+    private static long now() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    private static LocalDateTime local(long epochSecond) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneId.systemDefault());
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    private static final class Series {
+        // Start of the minute the series was created in; earlier sales are only in the database.
+        private final long since;
+        private final Ring[] rings = {new Ring(Resolution.SECOND), new Ring(Resolution.MINUTE), new Ring(Resolution.HOUR)};
+        // Minutes before this are in the database.
+        private long compactedUntil;
+        private long lastChange;
+        private volatile long version;
+        private boolean evicted;
+
+        private Series(long now) {
+            this.since = now / 60 * 60;
+            this.compactedUntil = since;
+        }
+    }
+
+    // Slot i holds bucket b when b % size == i; a slot is cleared when a newer bucket claims it.
+    private static final class Ring {
+        private final int seconds;
+        private final long[] buckets;
+        private final long[][] values;
+
+        private Ring(Resolution resolution) {
+            this.seconds = resolution.seconds;
+            this.buckets = new long[resolution.buckets];
+            this.values = new long[resolution.buckets][3];
+            Arrays.fill(buckets, -1);
+        }
+
+        private void add(long now, long reservations, long seats, long revenueCents) {
+            long bucket = now / seconds;
+            int slot = (int) (bucket % buckets.length);
+            if (buckets[slot] != bucket) {
+                buckets[slot] = bucket;
+                Arrays.fill(values[slot], 0);
+            }
+            values[slot][0] += reservations;
+            values[slot][1] += seats;
+            values[slot][2] += revenueCents;
+        }
+
+        // Null if nothing was sold in the bucket, or it has left the ring.
+        private long[] get(long bucket) {
+            int slot = (int) (bucket % buckets.length);
+            return buckets[slot] == bucket ? values[slot] : null;
+        }
+
+        private void addTo(long[][] window, long first) {
+            for (int i = 0; i < window.length; i++) {
+                long[] bucket = get(first + i);
+                if (bucket != null) {
+                    window[i][0] += bucket[0];
+                    window[i][1] += bucket[1];
+                    window[i][2] += bucket[2];
+                }
+            }
+        }
+    }
+}
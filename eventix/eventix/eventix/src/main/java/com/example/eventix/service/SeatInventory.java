@@ -0,0 +1,294 @@
+package com.example.eventix.service;
+
+import com.example.eventix.exception.ResourceNotFoundException;
+import com.example.eventix.model.ReservationStatus;
+import com.example.eventix.repository.EventRepository;
+import com.example.eventix.repository.ReservationRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static com.example.eventix.service.TransactionHooks.afterCommit;
+import static com.example.eventix.service.TransactionHooks.onRollback;
+
+// Authoritative in-memory seat counts per event, loaded from the reservation ledger:
+// capacity minus the seats of PAID and HELD reservations. events.available_seats is a
+// derived copy, only written from here in coalesced write-behind batches, and never read
+// back, so seats taken since the last flush cannot be sold again after a restart.
+//
+// Per event we track seats that are free to hold (capacity - sold - held) and seats
+// currently HELD by unpaid reservations. The persisted available_seats is free + held.
+@Service
+@RequiredArgsConstructor
+public class SeatInventory {
+
+    private static final String FLUSH_SQL = "UPDATE events SET available_seats = ? WHERE id = ?";
+    private static final List<ReservationStatus> LEDGER = List.of(ReservationStatus.PAID, ReservationStatus.HELD);
+
+    private final EventRepository eventRepository;
+    private final ReservationRepository reservationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, EventSeats> seats = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    // Bumped on every change to any event's counts; lets callers tell cheaply whether seats moved.
+    private final AtomicLong version = new AtomicLong();
+    // Told the event id after every change to its counts, on the thread making the change.
+    private final List<Consumer<Long>> listeners = new CopyOnWriteArrayList<>();
+
+    // First, so other in-memory views can read seat counts while they load.
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Map<Long, long[]> ledger = new HashMap<>();
+        for (ReservationRepository.EventSeatSum row : reservationRepository.sumSeatsByStatus(LEDGER)) {
+            add(ledger.computeIfAbsent(row.getEventId(), id -> new long[2]), row);
+        }
+
+        List<EventRepository.EventCapacity> rows = eventRepository.findAllCapacities();
+        for (EventRepository.EventCapacity row : rows) {
+            EventSeats counter = load(orZero(row.getTotalCapacity()), ledger.getOrDefault(row.getId(), new long[2]));
+            if (seats.putIfAbsent(row.getId(), counter) == null && counter.unsold() != orZero(row.getAvailableSeats())) {
+                // Behind after a crash before the last flush; corrected on the next one.
+                dirty.add(row.getId());
+            }
+        }
+        System.out.println("🎟️ Seat inventory loaded for " + rows.size() + " events");
+    }
+
+    public long available(Long eventId) {
+        return counter(eventId).free.get();
+    }
+
+    public long held(Long eventId) {
+        return counter(eventId).held.get();
+    }
+
+    // False for events whose counts are not loaded; never queries.
+    public boolean soldOut(Long eventId) {
+        EventSeats counter = seats.get(eventId);
+        return counter != null && counter.free.get() <= 0;
+    }
+
+    public void addListener(Consumer<Long> listener) {
+        listeners.add(listener);
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    public boolean tryHold(Long eventId, long count) {
+        EventSeats counter = counter(eventId);
+        if (!take(counter.free, count)) {
+            return false;
+        }
+        counter.held.addAndGet(count);
+        // available_seats is unchanged by a hold, but a flush may have read the pair mid-update.
+        changed(eventId);
+
+        onRollback(() -> {
+            counter.held.addAndGet(-count);
+            counter.free.addAndGet(count);
+            changed(eventId);
+        });
+        return true;
+    }
+
+    public void confirmHold(Long eventId, long count) {
+        EventSeats counter = counter(eventId);
+        counter.held.addAndGet(-count);
+        changed(eventId);
+
+        onRollback(() -> {
+            counter.held.addAndGet(count);
+            changed(eventId);
+        });
+    }
+
+    public void releaseHold(Long eventId, long count) {
+        afterCommit(() -> {
+            // An event loaded after the commit already sees the hold gone from the HELD sum.
+            EventSeats counter = seats.get(eventId);
+            if (counter == null) {
+                return;
+            }
+            counter.held.addAndGet(-count);
+            counter.free.addAndGet(count);
+            changed(eventId);
+        });
+    }
+
+    public boolean tryReserve(Long eventId, long count) {
+        EventSeats counter = counter(eventId);
+        if (!take(counter.free, count)) {
+            return false;
+        }
+        changed(eventId);
+
+        onRollback(() -> {
+            counter.free.addAndGet(count);
+            changed(eventId);
+        });
+        return true;
+    }
+
+    public void release(Long eventId, long count) {
+        // Seats are handed back only once the releasing transaction has committed,
+        // so a rollback can never leave them counted twice.
+        afterCommit(() -> {
+            counter(eventId).free.addAndGet(count);
+            changed(eventId);
+        });
+    }
+
+    // A new event has no reservations, so its counts are its capacity.
+    public void register(Long eventId, Long capacity) {
+        afterCommit(() -> {
+            seats.putIfAbsent(eventId, new EventSeats(orZero(capacity), 0));
+            changed(eventId);
+        });
+    }
+
+    // Moves the free count by the change in capacity. Recomputing from the ledger instead would
+    // count holds and sales still in flight as free. Added seats become free once it commits;
+    // removed ones are taken at once, the way a hold is, and only if that many are free, so
+    // capacity never drops below what is sold or held. Called before the new capacity is
+    // written, so a counter loaded here starts from the old one.
+    public boolean resize(Long eventId, long capacityDelta) {
+        EventSeats counter = counter(eventId);
+        if (capacityDelta < 0) {
+            if (!take(counter.free, -capacityDelta)) {
+                return false;
+            }
+            changed(eventId);
+
+            onRollback(() -> {
+                counter.free.addAndGet(-capacityDelta);
+                changed(eventId);
+            });
+        } else if (capacityDelta > 0) {
+            afterCommit(() -> {
+                counter.free.addAndGet(capacityDelta);
+                changed(eventId);
+            });
+        }
+        return true;
+    }
+
+    public void remove(Long eventId) {
+        afterCommit(() -> {
+            seats.remove(eventId);
+            dirty.remove(eventId);
+            version.incrementAndGet();
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${eventix.inventory.flush-interval-ms:200}")
+    public void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>();
+        for (Long eventId : dirty) {
+            // Remove before reading so a concurrent change re-marks the event for the next flush.
+            dirty.remove(eventId);
+            EventSeats counter = seats.get(eventId);
+            if (counter != null) {
+                ids.add(eventId);
+                batch.add(new Object[]{counter.unsold(), eventId});
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batch));
+        } catch (RuntimeException e) {
+            dirty.addAll(ids);
+            System.out.println("❌ Seat inventory flush failed, will retry: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void changed(Long eventId) {
+        dirty.add(eventId);
+        version.incrementAndGet();
+        for (Consumer<Long> listener : listeners) {
+            listener.accept(eventId);
+        }
+    }
+
+    private EventSeats counter(Long eventId) {
+        return seats.computeIfAbsent(eventId, id -> {
+            long capacity = eventRepository.findTotalCapacityById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Event not found: " + id));
+            long[] ledger = new long[2];
+            reservationRepository.sumSeatsByEventIdAndStatus(id, LEDGER).forEach(row -> add(ledger, row));
+            return load(capacity, ledger);
+        });
+    }
+
+    // ledger holds the PAID and HELD seat sums, in that order.
+    private static EventSeats load(long capacity, long[] ledger) {
+        return new EventSeats(capacity - ledger[0], ledger[1]);
+    }
+
+    private static void add(long[] ledger, ReservationRepository.EventSeatSum row) {
+        ledger[row.getStatus() == ReservationStatus.PAID ? 0 : 1] += orZero(row.getSeats());
+    }
+
+    private static boolean take(AtomicLong counter, long count) {
+        long current;
+        do {
+            current = counter.get();
+            if (current < count) {
+                return false;
+            }
+        } while (!counter.compareAndSet(current, current - count));
+        return true;
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private static final class EventSeats {
+        private final AtomicLong free;
+        private final AtomicLong held;
+
+        private EventSeats(long unsold, long held) {
+            this.free = new AtomicLong(unsold - held);
+            this.held = new AtomicLong(held);
+        }
+
+        private long unsold() {
+            return free.get() + held.get();
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.eventix.service;
+
+import com.example.eventix.model.TicketStatus;
+import com.example.eventix.model.VenueSection;
+import com.example.eventix.repository.TicketRepository;
+import com.example.eventix.repository.VenueSectionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Assigned seating. Each section of an event is one BitSet of rowCount * seatsPerRow bits,
+// loaded once per event from the sections and the seats already on tickets. Allocation never
+// touches JPA: it scans bits front row first, section by priority.
+@Service
+@RequiredArgsConstructor
+public class SeatMapAllocator {
+
+    private final VenueSectionRepository venueSectionRepository;
+    private final TicketRepository ticketRepository;
+
+    private final Map<Long, List<SectionMap>> maps = new ConcurrentHashMap<>();
+
+    public record SeatAssignment(Long sectionId, int row, int seat) {
+    }
+
+    public boolean hasSeatMap(Long eventId) {
+        return !sections(eventId).isEmpty();
+    }
+
+    // Seats on the map, 0 for general-admission events.
+    public long mappedSeats(Long eventId) {
+        long mapped = 0;
+        for (SectionMap section : sections(eventId)) {
+            mapped += section.capacity();
+        }
+        return mapped;
+    }
+
+    // Best available: N adjacent seats in the best row that has them, otherwise the N best
+    // single seats. Returns an empty list for general-admission events, and fewer than N
+    // seats if the map runs out; the tickets left over are issued unassigned.
+    public List<SeatAssignment> allocate(Long eventId, int count) {
+        List<SectionMap> sections = sections(eventId);
+        if (sections.isEmpty() || count <= 0) {
+            return List.of();
+        }
+
+        List<SeatAssignment> assigned = null;
+        for (SectionMap section : sections) {
+            assigned = section.takeAdjacent(count);
+            if (assigned != null) {
+                break;
+            }
+        }
+        if (assigned == null) {
+            assigned = new ArrayList<>(count);
+            for (SectionMap section : sections) {
+                section.takeScattered(count - assigned.size(), assigned);
+                if (assigned.size() == count) {
+                    break;
+                }
+            }
+            if (assigned.size() < count) {
+                // Holds are refused while the map covers less than the capacity, so this is only reached
+                // for seats sold before it did. Failing here would leave a paid reservation without tickets.
+                System.out.println("⚠️ Seat map of event " + eventId + " is " + (count - assigned.size()) + " seats short, issuing the rest unassigned");
+            }
+        }
+
+        List<SeatAssignment> taken = assigned;
+        TransactionHooks.onRollback(() -> release(eventId, taken));
+        return taken;
+    }
+
+    public void releaseAfterCommit(Long eventId, List<SeatAssignment> seats) {
+        if (!seats.isEmpty()) {
+            TransactionHooks.afterCommit(() -> release(eventId, seats));
+        }
+    }
+
+    public long availableSeats(Long eventId, Long sectionId) {
+        for (SectionMap section : sections(eventId)) {
+            if (section.id.equals(sectionId)) {
+                return section.available();
+            }
+        }
+        return 0L;
+    }
+
+    public void addSection(VenueSection section) {
+        Long eventId = section.getEvent().getId();
+        SectionMap added = new SectionMap(section);
+        TransactionHooks.afterCommit(() -> maps.computeIfPresent(eventId, (id, sections) -> {
+            List<SectionMap> updated = new ArrayList<>(sections);
+            updated.add(added);
+            updated.sort(SectionMap.ORDER);
+            return new CopyOnWriteArrayList<>(updated);
+        }));
+    }
+
+    public void evict(Long eventId) {
+        TransactionHooks.afterCommit(() -> maps.remove(eventId));
+    }
+
+    private void release(Long eventId, List<SeatAssignment> seats) {
+        List<SectionMap> sections = maps.get(eventId);
+        if (sections == null) {
+            return;
+        }
+        for (SeatAssignment seat : seats) {
+            for (SectionMap section : sections) {
+                if (section.id.equals(seat.sectionId())) {
+                    section.free(seat.row(), seat.seat());
+                }
+            }
+        }
+    }
+
+    private List<SectionMap> sections(Long eventId) {
+        return maps.computeIfAbsent(eventId, this::load);
+    }
+
+    private List<SectionMap> load(Long eventId) {
+        List<SectionMap> sections = new ArrayList<>();
+        for (VenueSection section : venueSectionRepository.findByEvent_IdOrderByPriorityAscIdAsc(eventId)) {
+            sections.add(new SectionMap(section));
+        }
+        if (!sections.isEmpty()) {
+            for (TicketRepository.AssignedSeat seat : ticketRepository.findAssignedSeatsByEventId(eventId, TicketStatus.CANCELED)) {
+                for (SectionMap section : sections) {
+                    if (section.id.equals(seat.getSectionId())) {
+                        section.mark(seat.getSeatRow(), seat.getSeatNumber());
+                    }
+                }
+            }
+        }
+        sections.sort(SectionMap.ORDER);
+        return new CopyOnWriteArrayList<>(sections);
+    }
+
+    private static final class SectionMap {
+
+        private static final Comparator<SectionMap> ORDER =
+                Comparator.comparingInt((SectionMap s) -> s.priority).thenComparingLong(s -> s.id);
+
+        private final Long id;
+        private final int priority;
+        private final int rows;
+        private final int seatsPerRow;
+        private final BitSet taken;
+
+        private SectionMap(VenueSection section) {
+            this.id = section.getId();
+            this.priority = section.getPriority() != null ? section.getPriority() : Integer.MAX_VALUE;
+            this.rows = section.getRowCount();
+            this.seatsPerRow = section.getSeatsPerRow();
+            this.taken = new BitSet(rows * seatsPerRow);
+        }
+
+        private synchronized List<SeatAssignment> takeAdjacent(int count) {
+            if (count > seatsPerRow) {
+                return null;
+            }
+            for (int row = 0; row < rows; row++) {
+                int rowStart = row * seatsPerRow;
+                int rowEnd = rowStart + seatsPerRow;
+                int from = taken.nextClearBit(rowStart);
+                while (from + count <= rowEnd) {
+                    int nextTaken = taken.nextSetBit(from);
+                    if (nextTaken < 0 || nextTaken >= from + count) {
+                        taken.set(from, from + count);
+                        List<SeatAssignment> seats = new ArrayList<>(count);
+                        for (int bit = from; bit < from + count; bit++) {
+                            seats.add(assignment(bit));
+                        }
+                        return seats;
+                    }
+                    from = taken.nextClearBit(nextTaken);
+                }
+            }
+            return null;
+        }
+
+        private synchronized void takeScattered(int count, List<SeatAssignment> into) {
+            int capacity = rows * seatsPerRow;
+            int bit = taken.nextClearBit(0);
+            while (count > 0 && bit < capacity) {
+                taken.set(bit);
+                into.add(assignment(bit));
+                count--;
+                bit = taken.nextClearBit(bit + 1);
+            }
+        }
+
+        private synchronized void mark(Integer row, Integer seat) {
+            if (row != null && seat != null && row >= 1 && row <= rows && seat >= 1 && seat <= seatsPerRow) {
+                taken.set((row - 1) * seatsPerRow + (seat - 1));
+            }
+        }
+
+        private synchronized void free(int row, int seat) {
+            taken.clear((row - 1) * seatsPerRow + (seat - 1));
+        }
+
+        private synchronized long available() {
+            return capacity() - taken.cardinality();
+        }
+
+        private long capacity() {
+            return (long) rows * seatsPerRow;
+        }
+
+        private SeatAssignment assignment(int bit) {
+            return new SeatAssignment(id, bit / seatsPerRow + 1, bit % seatsPerRow + 1);
+        }
+    }
+}
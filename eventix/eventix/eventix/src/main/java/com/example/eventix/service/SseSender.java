@@ -0,0 +1,97 @@
+package com.example.eventix.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Writes Server-Sent Events on its own threads, so a client that reads slowly holds up a sender
+// thread and never the scheduler that produces the messages.
+//
+// Each emitter keeps only its latest unsent message and has at most one write in flight. A client
+// that falls behind skips straight to the newest state, and its messages stay in order.
+@Service
+public class SseSender {
+
+    private final ExecutorService pool;
+    private final Map<SseEmitter, Outgoing> outgoing = new ConcurrentHashMap<>();
+
+    public SseSender(@Value("${eventix.sse.sender-threads:4}") int threads) {
+        this.pool = Executors.newFixedThreadPool(threads);
+    }
+
+    // Replaces whatever the emitter has not been sent yet. onFailure runs once the client is gone.
+    public void send(SseEmitter emitter, Set<ResponseBodyEmitter.DataWithMediaType> message, Runnable onFailure) {
+        Outgoing out = outgoing.computeIfAbsent(emitter, e -> new Outgoing(onFailure));
+        out.message.set(message);
+        schedule(emitter, out);
+    }
+
+    // Only for an emitter with nothing waiting; never replaces a real message.
+    public void keepAlive(SseEmitter emitter, Runnable onFailure) {
+        Outgoing out = outgoing.computeIfAbsent(emitter, e -> new Outgoing(onFailure));
+        if (out.message.compareAndSet(null, SseEmitter.event().comment("keep-alive").build())) {
+            schedule(emitter, out);
+        }
+    }
+
+    public void forget(SseEmitter emitter) {
+        outgoing.remove(emitter);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private void schedule(SseEmitter emitter, Outgoing out) {
+        if (out.scheduled.compareAndSet(false, true)) {
+            try {
+                pool.execute(() -> drain(emitter, out));
+            } catch (RejectedExecutionException e) {
+                // Shutting down; the container closes the streams.
+                out.scheduled.set(false);
+            }
+        }
+    }
+
+    private void drain(SseEmitter emitter, Outgoing out) {
+        Set<ResponseBodyEmitter.DataWithMediaType> message;
+        while ((message = out.message.getAndSet(null)) != null) {
+            try {
+                emitter.send(message);
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; the container completes the emitter.
+                outgoing.remove(emitter);
+                out.onFailure.run();
+                return;
+            }
+        }
+        out.scheduled.set(false);
+        // A message that arrived after the last read but before the flag cleared is sent now.
+        if (out.message.get() != null) {
+            schedule(emitter, out);
+        }
+    }
+
+    private static final class Outgoing {
+        private final AtomicReference<Set<ResponseBodyEmitter.DataWithMediaType>> message = new AtomicReference<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final Runnable onFailure;
+
+        private Outgoing(Runnable onFailure) {
+            this.onFailure = onFailure;
+        }
+    }
+}
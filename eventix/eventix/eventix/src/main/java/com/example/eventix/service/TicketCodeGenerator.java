@@ -0,0 +1,11 @@
+package com.example.eventix.service;
+
+// Produces the codes printed on tickets and scanned at the door.
+public interface TicketCodeGenerator {
+
+    String next();
+
+    // Canonical form of a scanned or typed code, or null if it cannot be one of ours.
+    // Must be cheap: it runs on the check-in path before any database lookup.
+    String normalize(String code);
+}
@@ -0,0 +1,80 @@
+package com.example.eventix.service;
+
+import com.example.eventix.model.IdBlock;
+import com.example.eventix.repository.IdBlockRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Hands out ticket ids from blocks reserved in id_blocks, so tickets can be written with
+// JDBC batch inserts (IDENTITY ids force one round-trip per row). Blocks are reserved in
+// their own transaction: a rolled-back payment must never return a block another node may
+// already be using. Ids of a discarded block are simply skipped.
+@Service
+public class TicketIdAllocator {
+
+    private static final String BLOCK_NAME = "tickets";
+
+    private final IdBlockRepository idBlockRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+    private final int blockSize;
+
+    private long next;
+    private long limit;
+
+    public TicketIdAllocator(IdBlockRepository idBlockRepository,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${eventix.tickets.id-block-size:1000}") int blockSize) {
+        this.idBlockRepository = idBlockRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = blockSize;
+    }
+
+    public synchronized long[] allocate(int count) {
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            if (next >= limit) {
+                reserveBlock(Math.max(blockSize, count - i));
+            }
+            ids[i] = next++;
+        }
+        return ids;
+    }
+
+    private void reserveBlock(int size) {
+        long start;
+        try {
+            start = claimBlock(size);
+        } catch (DataIntegrityViolationException e) {
+            // Another node seeded the row at the same moment; it exists now.
+            start = claimBlock(size);
+        }
+        next = start;
+        limit = start + size;
+    }
+
+    private long claimBlock(int size) {
+        return newTransaction.execute(status -> {
+            IdBlock block = idBlockRepository.findByNameForUpdate(BLOCK_NAME)
+                    .orElseGet(this::seedBlock);
+            long first = block.getNextId();
+            block.setNextId(first + size);
+            idBlockRepository.save(block);
+            return first;
+        });
+    }
+
+    // First use on an existing database: continue after the highest AUTO_INCREMENT id.
+    private IdBlock seedBlock() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM tickets", Long.class);
+        return IdBlock.builder().name(BLOCK_NAME).nextId(maxId + 1).build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.eventix.service;
+
+import com.example.eventix.dto.ReservationEventDTO;
+import com.example.eventix.model.DomainEventType;
+import com.example.eventix.model.Reservation;
+import com.example.eventix.model.ReservationStatus;
+import com.example.eventix.repository.ReservationRepository;
+import org.springframework.stereotype.Service;
+
+// Issues the tickets of a paid reservation from its RESERVATION_PAID event, after the payment has
+// committed. Safe to run twice: generateTicketsForReservation skips a reservation that has tickets.
+@Service
+public class TicketIssuance {
+
+    private final ReservationRepository reservationRepository;
+    private final TicketService ticketService;
+
+    public TicketIssuance(Outbox outbox, ReservationRepository reservationRepository, TicketService ticketService) {
+        this.reservationRepository = reservationRepository;
+        this.ticketService = ticketService;
+        outbox.subscribe(DomainEventType.RESERVATION_PAID, ReservationEventDTO.class, this::issue);
+    }
+
+    private void issue(ReservationEventDTO paid) {
+        // Locked so issuance cannot interleave with a cancel, which cancels the tickets it finds.
+        Reservation reservation = reservationRepository.findByIdForUpdate(paid.getReservation_id()).orElse(null);
+        if (reservation == null || !ReservationStatus.PAID.equals(reservation.getStatus())) {
+            System.out.println("⚠️ Reservation " + paid.getReservation_id() + " is no longer paid, no tickets issued");
+            return;
+        }
+        ticketService.generateTicketsForReservation(reservation);
+    }
+}
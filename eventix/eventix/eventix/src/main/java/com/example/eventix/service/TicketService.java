@@ -1,21 +1,30 @@
 package com.example.eventix.service;
 
 
+import com.example.eventix.dto.CursorPage;
 import com.example.eventix.dto.TicketDTO;
+import com.example.eventix.dto.TicketEventDTO;
+import com.example.eventix.exception.BadRequestException;
 import com.example.eventix.exception.ResourceNotFoundException;
+import com.example.eventix.model.DomainEventType;
 import com.example.eventix.model.Reservation;
 import com.example.eventix.model.ReservationStatus;
 import com.example.eventix.model.Ticket;
 import com.example.eventix.model.TicketStatus;
 import com.example.eventix.repository.ReservationRepository;
 import com.example.eventix.repository.TicketRepository;
+import com.example.eventix.repository.VenueSectionRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,6 +34,20 @@ public class TicketService {
 
     private final TicketRepository ticketRepository;
     private final ReservationRepository reservationRepository;
+    private final VenueSectionRepository venueSectionRepository;
+    private final SeatMapAllocator seatMapAllocator;
+    private final TicketIdAllocator ticketIdAllocator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TicketCodeGenerator ticketCodeGenerator;
+    private final CheckInIndex checkInIndex;
+    private final TicketTokenService ticketTokenService;
+    private final EventStatsService eventStats;
+    private final Outbox outbox;
+    private final TicketSyncVersions syncVersions;
+
+    private static final String INSERT_SQL = "INSERT INTO tickets " +
+            "(id, reservation_id, ticket_code, checked_in, status, section_id, seat_row, seat_number, status_epoch, sync_version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, 0)";
 
     public TicketDTO createTicket(TicketDTO dto){
         Reservation reservation = reservationRepository.findById(dto.getReservation_id())
@@ -36,27 +59,27 @@ public class TicketService {
 
         Ticket ticket = Ticket.builder()
                 .reservation(reservation)
-                .ticketCode(dto.getTicketCode() != null ? dto.getTicketCode() : generateTicketCode())
+                .ticketCode(dto.getTicketCode() != null ? dto.getTicketCode() : ticketCodeGenerator.next())
                 .checked_in(false)
                 .status(TicketStatus.ACTIVE)
                 .build();
+        seatMapAllocator.allocate(reservation.getEvent().getId(), 1).forEach(seat -> assignSeat(ticket, seat));
 
-        return mapToDTO(ticketRepository.save(ticket));
+        insertAll(List.of(ticket));
+        return mapToDTO(ticket);
     }
 
 
 
 
     public TicketDTO getTicketById(Long id) {
-        Ticket ticket = ticketRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Ticket not found: " + id));
-        return mapToDTO(ticket);
+        return mapToDTO(findView(id));
     }
 
 
 
     public TicketDTO getTicketByReservationId(Long reservationId) {
-        return ticketRepository.findByReservation_Id(reservationId)
+        return ticketRepository.findViewsByReservationId(reservationId)
                 .stream()
                 .findFirst()
                 .map(this::mapToDTO)
@@ -64,7 +87,7 @@ public class TicketService {
     }
 
     public List<TicketDTO> getAllTicketsByReservationId(Long reservationId) {
-        List<Ticket> tickets = ticketRepository.findByReservation_Id(reservationId);
+        List<TicketRepository.TicketView> tickets = ticketRepository.findViewsByReservationId(reservationId);
 
         if (tickets.isEmpty()) {
             throw new ResourceNotFoundException("No tickets found for reservation: " + reservationId);
@@ -76,60 +99,139 @@ public class TicketService {
     }
 
     public boolean ticketExistsForReservation(Long reservationId) {
-        return !ticketRepository.findByReservation_Id(reservationId).isEmpty();
+        return ticketRepository.existsByReservation_Id(reservationId);
     }
 
 
 
     public TicketDTO getTicketByCode(String ticketCode) {
-        Ticket ticket = ticketRepository.findByTicketCode(ticketCode)
-                .orElseThrow(() -> new ResourceNotFoundException("Ticket not found: " + ticketCode));
-        return mapToDTO(ticket);
+        return mapToDTO(findByCode(ticketCode));
     }
 
+    // Database path, used when the ticket's event has no open gate (see GateCheckInService).
     public TicketDTO checkInTicket(String ticketCode) {
-        Ticket ticket = ticketRepository.findByTicketCode(ticketCode)
-                .orElseThrow(() -> new ResourceNotFoundException("Ticket not found: " + ticketCode));
-        ticket.setChecked_in(true);
-        Ticket updated = ticketRepository.save(ticket);
-        return mapToDTO(updated);
+        return checkIn(findByCode(ticketCode));
     }
 
+    public TicketDTO checkInTicketById(Long id) {
+        return checkIn(findView(id));
+    }
 
-    public List<TicketDTO> getAllTickets() {
-        return ticketRepository.findAll()
-                .stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    private TicketDTO checkIn(TicketRepository.TicketView ticket) {
+        if (ticket.getStatus() == TicketStatus.CANCELED) {
+            throw new BadRequestException("Ticket has been canceled: " + ticket.getTicketCode());
+        }
+        // Conditional update, so of two concurrent scans only one gets in.
+        LocalDateTime now = LocalDateTime.now();
+        if (ticketRepository.markCheckedIn(ticket.getId(), now) == 0) {
+            throw new BadRequestException("Ticket already checked in: " + ticket.getTicketCode());
+        }
+        syncVersions.changed(ticket.getEventId(), List.of(ticket.getId()));
+        eventStats.checkedIn(ticket.getEventId(), 1);
+        // An open gate still loading may have read this ticket as not checked in.
+        checkInIndex.checkedIn(List.of(ticket.getTicketCode()));
+        outbox.publish(DomainEventType.TICKET_CHECKED_IN, ticket.getId(), new TicketEventDTO(ticket.getId(), ticket.getEventId(), now));
+        TicketDTO checkedIn = mapToDTO(ticket);
+        checkedIn.setChecked_in(true);
+        checkedIn.setCheckedInAt(now);
+        return checkedIn;
+    }
+
+
+    public CursorPage<TicketDTO> getTickets(String status, Long reservationId, Long eventId, String cursor, Integer limit) {
+        int pageSize = Cursors.pageSize(limit);
+        List<TicketRepository.TicketView> rows = ticketRepository.findPage(Cursors.afterId(cursor), Cursors.filter(TicketStatus.class, "status", status),
+                reservationId, eventId, Limit.of(pageSize + 1));
+        return Cursors.page(rows, pageSize, ticket -> Cursors.idKey(ticket.getId()), this::mapToDTO);
     }
 
     public void deleteTicket(Long id) {
         Ticket ticket = ticketRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Ticket not found: " + id));
         ticketRepository.delete(ticket);
+        ticketTokenService.revoke(ticket.getReservation().getEvent().getId(), Map.of(id, TicketTokenService.DELETED));
     }
 
     public void cancelTicketsByReservationId(Long reservationId) {
         List<Ticket> tickets = ticketRepository.findByReservation_Id(reservationId);
+        List<SeatMapAllocator.SeatAssignment> freedSeats = new ArrayList<>();
+        Map<Long, Integer> statusEpochs = new HashMap<>();
         for (Ticket ticket : tickets) {
+            if (ticket.getStatus() != TicketStatus.CANCELED) {
+                if (ticket.getSection() != null) {
+                    freedSeats.add(new SeatMapAllocator.SeatAssignment(ticket.getSection().getId(), ticket.getSeatRow(), ticket.getSeatNumber()));
+                }
+                ticket.setStatusEpoch((ticket.getStatusEpoch() != null ? ticket.getStatusEpoch() : 0) + 1);
+                statusEpochs.put(ticket.getId(), ticket.getStatusEpoch());
+            }
             ticket.setStatus(TicketStatus.CANCELED);
             ticketRepository.save(ticket);
         }
+        if (!tickets.isEmpty()) {
+            Long eventId = tickets.get(0).getReservation().getEvent().getId();
+            seatMapAllocator.releaseAfterCommit(eventId, freedSeats);
+            syncVersions.changed(eventId, tickets.stream().map(Ticket::getId).toList());
+            checkInIndex.canceled(eventId, tickets);
+            ticketTokenService.revoke(eventId, statusEpochs);
+        }
+    }
+
+    // Malformed or mistyped codes are rejected before they reach the database.
+    private TicketRepository.TicketView findByCode(String ticketCode) {
+        String code = ticketCodeGenerator.normalize(ticketCode);
+        if (code == null) {
+            throw new ResourceNotFoundException("Ticket not found: " + ticketCode);
+        }
+        return ticketRepository.findViewByTicketCode(code)
+                .orElseThrow(() -> new ResourceNotFoundException("Ticket not found: " + ticketCode));
+    }
+
+    private TicketRepository.TicketView findView(Long id) {
+        return ticketRepository.findViewById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Ticket not found: " + id));
+    }
+
+    private void assignSeat(Ticket ticket, SeatMapAllocator.SeatAssignment seat) {
+        ticket.setSection(venueSectionRepository.getReferenceById(seat.sectionId()));
+        ticket.setSeatRow(seat.row());
+        ticket.setSeatNumber(seat.seat());
+    }
+
+    // Reads go through TicketView: one query per call, whatever the number of tickets.
+    private TicketDTO mapToDTO(TicketRepository.TicketView ticket) {
+        return TicketDTO.builder()
+                .id(ticket.getId())
+                .reservation_id(ticket.getReservationId())
+                .ticketCode(ticket.getTicketCode())
+                .checked_in(ticket.getCheckedIn())
+                .checkedInAt(ticket.getCheckedInAt())
+                .status(ticket.getStatus() != null ? ticket.getStatus().toString() : "ACTIVE")
+                .section_id(ticket.getSectionId())
+                .sectionName(ticket.getSectionName())
+                .seatRow(ticket.getSeatRow())
+                .seatNumber(ticket.getSeatNumber())
+                .token(ticketTokenService.sign(ticket.getId(), ticket.getEventId(), ticket.getStatusEpoch()))
+                .build();
     }
 
+    // Tickets issued in this transaction.
     private TicketDTO mapToDTO(Ticket ticket) {
         return TicketDTO.builder()
                 .id(ticket.getId())
                 .reservation_id(ticket.getReservation().getId())
                 .ticketCode(ticket.getTicketCode())
                 .checked_in(ticket.isChecked_in())
+                .checkedInAt(ticket.getCheckedInAt())
                 .status(ticket.getStatus() != null ? ticket.getStatus().toString() : "ACTIVE")
+                .section_id(ticket.getSection() != null ? ticket.getSection().getId() : null)
+                .sectionName(ticket.getSection() != null ? ticket.getSection().getName() : null)
+                .seatRow(ticket.getSeatRow())
+                .seatNumber(ticket.getSeatNumber())
+                .token(ticketTokenService.sign(ticket.getId(), ticket.getReservation().getEvent().getId(), ticket.getStatusEpoch()))
                 .build();
     }
 
     public List<TicketDTO> generateTicketsForReservation(Reservation reservation) {
-        System.out.println("🎫 Generating tickets for reservation: " + reservation.getId() + " (" + reservation.getSeats() + " seats)");
-        
         Long seatsReserved = reservation.getSeats();
         if (seatsReserved == null || seatsReserved <= 0) {
             System.out.println("⚠️ No seats reserved, skipping ticket generation.");
@@ -137,30 +239,56 @@ public class TicketService {
         }
 
         // Check if tickets already exist to avoid duplicates
-        List<Ticket> existing = ticketRepository.findByReservation_Id(reservation.getId());
-        if (!existing.isEmpty()) {
-            System.out.println("⚠️ Tickets already exist for this reservation. Skipping.");
-            return existing.stream().map(this::mapToDTO).collect(Collectors.toList());
+        if (ticketRepository.existsByReservation_Id(reservation.getId())) {
+            System.out.println("⚠️ Tickets already exist for reservation " + reservation.getId() + ". Skipping.");
+            return ticketRepository.findViewsByReservationId(reservation.getId())
+                    .stream().map(this::mapToDTO).collect(Collectors.toList());
         }
 
+        List<SeatMapAllocator.SeatAssignment> seats = seatMapAllocator.allocate(reservation.getEvent().getId(), seatsReserved.intValue());
+        // One query for all sections; the references assignSeat takes are then these loaded instances.
+        venueSectionRepository.findAllById(seats.stream().map(SeatMapAllocator.SeatAssignment::sectionId).distinct().toList());
+        List<Ticket> tickets = new ArrayList<>(seatsReserved.intValue());
         for (int i = 0; i < seatsReserved; i++) {
             Ticket ticket = Ticket.builder()
                     .reservation(reservation)
-                    .ticketCode(generateTicketCode())
+                    .ticketCode(ticketCodeGenerator.next())
                     .checked_in(false)
                     .status(TicketStatus.ACTIVE)
                     .build();
-            ticketRepository.save(ticket);
-            System.out.println("✅ Ticket created: " + ticket.getTicketCode());
+            if (i < seats.size()) {
+                assignSeat(ticket, seats.get(i));
+            }
+            tickets.add(ticket);
         }
-        
-        return ticketRepository.findByReservation_Id(reservation.getId())
-                .stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+
+        insertAll(tickets);
+        System.out.println("🎫 Issued " + tickets.size() + " tickets for reservation " + reservation.getId());
+        return tickets.stream().map(this::mapToDTO).collect(Collectors.toList());
     }
 
-    private String generateTicketCode() {
-        return "TKT-" + System.currentTimeMillis() + "-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    // One JDBC batch for all rows. The entities are not attached to the persistence context;
+    // they are only used to build the response.
+    private void insertAll(List<Ticket> tickets) {
+        long[] ids = ticketIdAllocator.allocate(tickets.size());
+        List<Object[]> rows = new ArrayList<>(tickets.size());
+        for (int i = 0; i < tickets.size(); i++) {
+            Ticket ticket = tickets.get(i);
+            ticket.setId(ids[i]);
+            rows.add(new Object[]{
+                    ticket.getId(),
+                    ticket.getReservation().getId(),
+                    ticket.getTicketCode(),
+                    ticket.isChecked_in(),
+                    ticket.getStatus().ordinal(),
+                    ticket.getSection() != null ? ticket.getSection().getId() : null,
+                    ticket.getSeatRow(),
+                    ticket.getSeatNumber()
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        Long eventId = tickets.get(0).getReservation().getEvent().getId();
+        syncVersions.changed(eventId, tickets.stream().map(Ticket::getId).toList());
+        checkInIndex.issued(eventId, tickets);
     }
 }
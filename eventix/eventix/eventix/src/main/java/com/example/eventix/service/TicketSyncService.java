@@ -0,0 +1,221 @@
+package com.example.eventix.service;
+
+import com.example.eventix.dto.CheckInBatchDTO;
+import com.example.eventix.dto.CheckInResultDTO;
+import com.example.eventix.dto.CheckInScanDTO;
+import com.example.eventix.dto.TicketDTO;
+import com.example.eventix.dto.TicketEventDTO;
+import com.example.eventix.dto.TicketSyncDTO;
+import com.example.eventix.exception.BadRequestException;
+import com.example.eventix.exception.ResourceNotFoundException;
+import com.example.eventix.model.DomainEventType;
+import com.example.eventix.model.TicketStatus;
+import com.example.eventix.repository.EventRepository;
+import com.example.eventix.repository.TicketRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Bulk API for scanners that work offline: upload a backlog of scans in one request and
+// pull an event's ticket set, or only what changed since the last pull.
+@Service
+@Transactional
+public class TicketSyncService {
+
+    // Earliest scan wins: a later scan already stored is overwritten, an earlier one is kept.
+    private static final String CHECK_IN_SQL = "UPDATE tickets SET checked_in = TRUE, checked_in_at = ? " +
+            "WHERE id = ? AND status <> ? AND (checked_in = FALSE OR checked_in_at > ?)";
+
+    static final String ADMITTED = "ADMITTED";
+    static final String ALREADY_CHECKED_IN = "ALREADY_CHECKED_IN";
+    static final String CANCELED = "CANCELED";
+    static final String NOT_FOUND = "NOT_FOUND";
+    static final String INVALID = "INVALID";
+
+    private final TicketRepository ticketRepository;
+    private final EventRepository eventRepository;
+    private final TicketCodeGenerator ticketCodeGenerator;
+    private final CheckInIndex checkInIndex;
+    private final EventStatsService eventStats;
+    private final Outbox outbox;
+    private final TicketSyncVersions syncVersions;
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxBatchSize;
+    private final int syncPageSize;
+
+    public TicketSyncService(TicketRepository ticketRepository,
+                             EventRepository eventRepository,
+                             TicketCodeGenerator ticketCodeGenerator,
+                             CheckInIndex checkInIndex,
+                             EventStatsService eventStats,
+                             Outbox outbox,
+                             TicketSyncVersions syncVersions,
+                             JdbcTemplate jdbcTemplate,
+                             @Value("${eventix.checkin.max-batch-size:1000}") int maxBatchSize,
+                             @Value("${eventix.checkin.sync-page-size:5000}") int syncPageSize) {
+        this.ticketRepository = ticketRepository;
+        this.eventRepository = eventRepository;
+        this.ticketCodeGenerator = ticketCodeGenerator;
+        this.checkInIndex = checkInIndex;
+        this.eventStats = eventStats;
+        this.outbox = outbox;
+        this.syncVersions = syncVersions;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxBatchSize = maxBatchSize;
+        this.syncPageSize = syncPageSize;
+    }
+
+    public List<CheckInResultDTO> checkInBatch(CheckInBatchDTO batch) {
+        List<CheckInScanDTO> scans = batch.getScans();
+        if (scans == null || scans.isEmpty()) {
+            throw new BadRequestException("No scans in batch");
+        }
+        if (scans.size() > maxBatchSize) {
+            throw new BadRequestException("Batch too large: " + scans.size() + " scans, at most " + maxBatchSize + " allowed");
+        }
+
+        // Earliest scan per ticket within the batch.
+        LocalDateTime now = LocalDateTime.now();
+        List<String> codes = new ArrayList<>(scans.size());
+        Map<String, LocalDateTime> earliest = new HashMap<>();
+        for (CheckInScanDTO scan : scans) {
+            String code = ticketCodeGenerator.normalize(scan.getTicketCode());
+            codes.add(code);
+            if (code != null) {
+                LocalDateTime scannedAt = scan.getScannedAt() != null ? scan.getScannedAt() : now;
+                earliest.merge(code, scannedAt, (a, b) -> a.isBefore(b) ? a : b);
+            }
+        }
+
+        Map<String, TicketRepository.ScanTarget> targets = earliest.isEmpty() ? Map.of()
+                : ticketRepository.findScanTargetsByTicketCodeIn(earliest.keySet()).stream()
+                .collect(Collectors.toMap(TicketRepository.ScanTarget::getTicketCode, Function.identity()));
+
+        Map<String, String> outcomes = new HashMap<>();
+        List<String> candidates = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        List<TicketRepository.ScanTarget> updated = new ArrayList<>();
+        earliest.forEach((code, scannedAt) -> {
+            TicketRepository.ScanTarget target = targets.get(code);
+            if (target == null) {
+                outcomes.put(code, NOT_FOUND);
+            } else if (target.getStatus() == TicketStatus.CANCELED) {
+                outcomes.put(code, CANCELED);
+            } else if (target.getCheckedIn() && (target.getCheckedInAt() == null || !target.getCheckedInAt().isAfter(scannedAt))) {
+                outcomes.put(code, ALREADY_CHECKED_IN);
+            } else {
+                candidates.add(code);
+                updated.add(target);
+                updates.add(new Object[]{scannedAt, target.getId(), TicketStatus.CANCELED.ordinal(), scannedAt});
+            }
+        });
+
+        // One batched statement for every scan that should win.
+        // Locked first, so an earlier scan replacing a later one is not counted as a new check-in.
+        Map<Long, Long> unchecked = eventStats.lockUnchecked(updated.stream().map(TicketRepository.ScanTarget::getId).toList());
+        int[] counts = updates.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(CHECK_IN_SQL, updates);
+        List<String> admitted = new ArrayList<>(candidates.size());
+        List<TicketEventDTO> checkedIn = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            // 0 rows: a concurrent scan got there first, or the ticket was cancelled meanwhile.
+            boolean won = counts[i] != 0;
+            TicketRepository.ScanTarget target = updated.get(i);
+            Long eventId = unchecked.get(target.getId());
+            if (won && eventId != null) {
+                eventStats.checkedIn(eventId, 1);
+                checkedIn.add(new TicketEventDTO(target.getId(), eventId, (LocalDateTime) updates.get(i)[0]));
+            }
+            outcomes.put(candidates.get(i), won ? ADMITTED : ALREADY_CHECKED_IN);
+            if (won) {
+                admitted.add(candidates.get(i));
+                syncVersions.changed(target.getEventId(), List.of(target.getId()));
+            }
+        }
+        checkInIndex.checkedIn(admitted);
+        outbox.publishAll(DomainEventType.TICKET_CHECKED_IN, checkedIn, TicketEventDTO::getTicket_id);
+
+        // One result per uploaded scan; repeats of a ticket within the batch report as already checked in.
+        List<CheckInResultDTO> results = new ArrayList<>(scans.size());
+        Set<String> reported = new HashSet<>();
+        for (int i = 0; i < scans.size(); i++) {
+            String code = codes.get(i);
+            TicketRepository.ScanTarget target = code != null ? targets.get(code) : null;
+            String outcome = code == null ? INVALID : outcomes.get(code);
+            if (code != null && !reported.add(code) && ADMITTED.equals(outcome)) {
+                outcome = ALREADY_CHECKED_IN;
+            }
+            results.add(CheckInResultDTO.builder()
+                    .ticketCode(code != null ? code : scans.get(i).getTicketCode())
+                    .ticket_id(target != null ? target.getId() : null)
+                    .result(outcome)
+                    .checkedInAt(ADMITTED.equals(outcomes.get(code)) ? earliest.get(code)
+                            : target != null ? target.getCheckedInAt() : null)
+                    .build());
+        }
+        System.out.println("📲 Batch check-in from device " + batch.getDevice_id() + ": " + scans.size() + " scans, " + admitted.size() + " admitted");
+        return results;
+    }
+
+    public TicketSyncDTO sync(Long eventId, Long since) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event not found: " + eventId);
+        }
+        // Read before the tickets, so every change up to it is in this response.
+        long version = syncVersions.current(eventId);
+        boolean more = false;
+        List<TicketRepository.GateTicketRow> rows;
+        if (since == null) {
+            rows = ticketRepository.findGateTicketsByEventId(eventId);
+        } else {
+            rows = ticketRepository.findGateTicketsByEventIdChangedSince(eventId, since, Limit.of(syncPageSize + 1));
+            if (rows.size() > syncPageSize) {
+                // A page ends on a version boundary, so the next pull resumes right after it.
+                long cut = rows.get(syncPageSize).getSyncVersion();
+                rows = rows.stream().filter(row -> row.getSyncVersion() < cut).toList();
+                if (rows.isEmpty()) {
+                    // One transaction changed more tickets than a page holds; they go out together.
+                    rows = ticketRepository.findGateTicketsByEventIdAndSyncVersion(eventId, cut);
+                    version = cut;
+                } else {
+                    version = rows.get(rows.size() - 1).getSyncVersion();
+                }
+                more = true;
+            }
+        }
+
+        List<TicketDTO> tickets = rows.stream()
+                .map(row -> TicketDTO.builder()
+                        .id(row.getId())
+                        .reservation_id(row.getReservationId())
+                        .ticketCode(row.getTicketCode())
+                        .checked_in(row.getCheckedIn())
+                        .checkedInAt(row.getCheckedInAt())
+                        .status(row.getStatus() != null ? row.getStatus().toString() : "ACTIVE")
+                        .section_id(row.getSectionId())
+                        .sectionName(row.getSectionName())
+                        .seatRow(row.getSeatRow())
+                        .seatNumber(row.getSeatNumber())
+                        .build())
+                .collect(Collectors.toList());
+
+        return TicketSyncDTO.builder()
+                .event_id(eventId)
+                .version(version)
+                .full(since == null)
+                .more(more)
+                .tickets(tickets)
+                .build();
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.eventix.service;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.core.Ordered;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Sync versions of tickets, assigned by the database from a counter row per event in
+// ticket_sync_versions.
+//
+// Write paths report the tickets they change. Just before commit, each event's counter is bumped,
+// in event id order, and the new value stamped on those tickets. The counter row stays locked until
+// commit, so the transaction holding version v has committed before another can take v + 1: once a
+// reader sees the counter at v, every ticket stamped v or lower is visible to it. This runs ahead of
+// the event_stats writes, which lock their rows the same way.
+@Service
+public class TicketSyncVersions {
+
+    private static final String BUMP_SQL = "UPDATE ticket_sync_versions SET version = version + 1 WHERE event_id = :eventId";
+    private static final String SELECT_SQL = "SELECT version FROM ticket_sync_versions WHERE event_id = :eventId";
+    private static final String INSERT_SQL = "INSERT INTO ticket_sync_versions (event_id, version) VALUES (:eventId, :version)";
+    private static final String DELETE_SQL = "DELETE FROM ticket_sync_versions WHERE event_id = :eventId";
+    private static final String MAX_STAMPED_SQL = "SELECT MAX(t.sync_version) FROM tickets t " +
+            "JOIN reservations r ON r.id = t.reservation_id WHERE r.event_id = :eventId";
+    private static final String STAMP_SQL = "UPDATE tickets SET sync_version = :version WHERE id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    public TicketSyncVersions(NamedParameterJdbcTemplate jdbcTemplate, EntityManager entityManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+    }
+
+    // Tickets of the event this transaction inserted or changed in a way scanners must pick up.
+    public void changed(Long eventId, Collection<Long> ticketIds) {
+        if (ticketIds.isEmpty()) {
+            return;
+        }
+        Map<Long, List<Long>> changes = pendingChanges();
+        if (changes == null) {
+            Map<Long, List<Long>> single = new TreeMap<>();
+            single.put(eventId, new ArrayList<>(ticketIds));
+            stamp(single);
+            return;
+        }
+        changes.computeIfAbsent(eventId, id -> new ArrayList<>()).addAll(ticketIds);
+    }
+
+    // Highest committed version of the event's tickets. Read it before the tickets: everything
+    // stamped up to it is then in the read, later changes get a higher version.
+    public long current(Long eventId) {
+        MapSqlParameterSource byEvent = new MapSqlParameterSource("eventId", eventId);
+        List<Long> version = jdbcTemplate.queryForList(SELECT_SQL, byEvent, Long.class);
+        if (!version.isEmpty()) {
+            return version.get(0);
+        }
+        create(eventId);
+        return jdbcTemplate.queryForObject(SELECT_SQL, byEvent, Long.class);
+    }
+
+    public void deleted(Long eventId) {
+        Map<Long, List<Long>> changes = pendingChanges();
+        if (changes != null) {
+            changes.remove(eventId);
+        }
+        jdbcTemplate.update(DELETE_SQL, new MapSqlParameterSource("eventId", eventId));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, List<Long>> pendingChanges() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Map<Long, List<Long>> changes = (Map<Long, List<Long>>) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            Map<Long, List<Long>> created = new TreeMap<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                // Before the stats writes, whatever order the two were first used in.
+                @Override
+                public int getOrder() {
+                    return Ordered.HIGHEST_PRECEDENCE;
+                }
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    // Pending entity updates write every column; flushed now, they cannot overwrite the stamp.
+                    entityManager.flush();
+                    stamp(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TicketSyncVersions.this);
+                }
+            });
+            changes = created;
+        }
+        return changes;
+    }
+
+    private void stamp(Map<Long, List<Long>> changes) {
+        changes.forEach((eventId, ticketIds) -> {
+            MapSqlParameterSource byEvent = new MapSqlParameterSource("eventId", eventId);
+            if (jdbcTemplate.update(BUMP_SQL, byEvent) == 0) {
+                create(eventId);
+                jdbcTemplate.update(BUMP_SQL, byEvent);
+            }
+            Long version = jdbcTemplate.queryForObject(SELECT_SQL, byEvent, Long.class);
+            jdbcTemplate.update(STAMP_SQL, new MapSqlParameterSource()
+                    .addValue("version", version)
+                    .addValue("ids", ticketIds));
+        });
+    }
+
+    // Counters start from the clock, above the epoch-millis versions stamped before they existed
+    // and any version a scanner was handed for them.
+    private void create(Long eventId) {
+        Long stamped = jdbcTemplate.queryForObject(MAX_STAMPED_SQL, new MapSqlParameterSource("eventId", eventId), Long.class);
+        long seed = Math.max(System.currentTimeMillis(), stamped != null ? stamped : 0L);
+        try {
+            jdbcTemplate.update(INSERT_SQL, new MapSqlParameterSource()
+                    .addValue("eventId", eventId)
+                    .addValue("version", seed));
+        } catch (DuplicateKeyException e) {
+            // Created concurrently; the caller goes on with that row.
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.eventix.service;
+
+import com.example.eventix.exception.BadRequestException;
+import com.example.eventix.repository.EventRepository;
+import com.example.eventix.repository.TicketRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.example.eventix.service.TransactionHooks.afterCommit;
+
+// Signed ticket tokens that can be verified without the database: base64url of
+// ticket id (8 bytes), event id (8), the ticket's status epoch (4) and a truncated
+// HMAC-SHA256 tag (16).
+//
+// A cancel bumps the ticket's status epoch, so its older tokens stop verifying. Only tickets
+// whose epoch has moved are kept in memory, and only until their event is over; after that
+// a check-in is still refused by the ticket's status at the gate or in the database.
+@Service
+public class TicketTokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int PAYLOAD_LENGTH = 20;
+    private static final int TAG_LENGTH = 16;
+    private static final int MIN_SECRET_LENGTH = 32;
+    // Status epoch of a deleted ticket: no token verifies.
+    static final int DELETED = -1;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final TicketRepository ticketRepository;
+    private final EventRepository eventRepository;
+    private final SecretKeySpec key;
+    // Mac instances are not thread-safe.
+    private final ThreadLocal<Mac> macs;
+    private final long graceHours;
+
+    // Current status epoch of tickets whose epoch has moved, for events not yet over.
+    private final Map<Long, Epoch> epochs = new ConcurrentHashMap<>();
+
+    // No default: a secret shipped with the source would let anyone forge tokens.
+    public TicketTokenService(TicketRepository ticketRepository,
+                              EventRepository eventRepository,
+                              @Value("${eventix.tickets.token-secret}") String secret,
+                              @Value("${eventix.tickets.revocation-grace-hours:24}") long graceHours) {
+        if (secret.getBytes(StandardCharsets.UTF_8).length < MIN_SECRET_LENGTH) {
+            throw new IllegalStateException("eventix.tickets.token-secret must be at least " + MIN_SECRET_LENGTH + " bytes");
+        }
+        this.ticketRepository = ticketRepository;
+        this.eventRepository = eventRepository;
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        this.graceHours = graceHours;
+        newMac();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadEpochs() {
+        for (TicketRepository.TicketEpoch row : ticketRepository.findChangedEpochs(LocalDateTime.now().minusHours(graceHours))) {
+            epochs.putIfAbsent(row.getId(), new Epoch(row.getEventId(), row.getStatusEpoch()));
+        }
+        System.out.println("🔏 Ticket token epochs loaded: " + epochs.size());
+    }
+
+    // Drops the tickets of events that are over or gone.
+    @Scheduled(cron = "${eventix.tickets.epoch-prune-cron:0 45 * * * *}")
+    public void prune() {
+        Set<Long> eventIds = new HashSet<>();
+        epochs.values().forEach(epoch -> eventIds.add(epoch.eventId()));
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        Set<Long> current = new HashSet<>(eventRepository.findIdsNotOverBefore(eventIds, LocalDateTime.now().minusHours(graceHours)));
+        int before = epochs.size();
+        epochs.values().removeIf(epoch -> !current.contains(epoch.eventId()));
+        if (epochs.size() < before) {
+            System.out.println("🔏 Ticket token epochs pruned: " + (before - epochs.size()));
+        }
+    }
+
+    public String sign(Long ticketId, Long eventId, Integer statusEpoch) {
+        ByteBuffer token = ByteBuffer.allocate(PAYLOAD_LENGTH + TAG_LENGTH)
+                .putLong(ticketId)
+                .putLong(eventId)
+                .putInt(statusEpoch != null ? statusEpoch : 0);
+        token.put(tag(token.array()));
+        return ENCODER.encodeToString(token.array());
+    }
+
+    public Verified verify(String token) {
+        byte[] bytes;
+        try {
+            bytes = DECODER.decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid ticket token");
+        }
+        if (bytes.length != PAYLOAD_LENGTH + TAG_LENGTH
+                || !MessageDigest.isEqual(tag(bytes), Arrays.copyOfRange(bytes, PAYLOAD_LENGTH, bytes.length))) {
+            throw new BadRequestException("Invalid ticket token");
+        }
+
+        ByteBuffer payload = ByteBuffer.wrap(bytes);
+        Verified verified = new Verified(payload.getLong(), payload.getLong(), payload.getInt());
+        Epoch current = epochs.get(verified.ticketId());
+        if (current != null && current.statusEpoch() != verified.statusEpoch()) {
+            throw new BadRequestException("Ticket has been canceled: " + verified.ticketId());
+        }
+        return verified;
+    }
+
+    // New status epochs by ticket id, taking effect once the change commits.
+    public void revoke(Long eventId, Map<Long, Integer> statusEpochs) {
+        if (statusEpochs.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> statusEpochs.forEach((ticketId, statusEpoch) -> epochs.put(ticketId, new Epoch(eventId, statusEpoch))));
+    }
+
+    private byte[] tag(byte[] token) {
+        Mac mac = macs.get();
+        mac.update(token, 0, PAYLOAD_LENGTH);
+        return Arrays.copyOf(mac.doFinal(), TAG_LENGTH);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise ticket token signing", e);
+        }
+    }
+
+    public record Verified(Long ticketId, Long eventId, int statusEpoch) {
+    }
+
+    private record Epoch(Long eventId, int statusEpoch) {
+    }
+}
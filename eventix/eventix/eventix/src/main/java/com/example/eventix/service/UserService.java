@@ -1,5 +1,6 @@
 package com.example.eventix.service;
 
+import com.example.eventix.dto.CursorPage;
 import com.example.eventix.dto.UserDTO;
 import com.example.eventix.dto.UserRegistrationDTO;
 import com.example.eventix.exception.BadRequestException;
@@ -8,12 +9,12 @@ import com.example.eventix.model.Role;
 import com.example.eventix.model.User;
 import com.example.eventix.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -47,11 +48,10 @@ public class UserService {
         return mapToDTO(user);
     }
 
-    public List<UserDTO> getAllUsers() {
-        return userRepository.findAll()
-                .stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    public CursorPage<UserDTO> getUsers(String role, String cursor, Integer limit) {
+        int pageSize = Cursors.pageSize(limit);
+        List<User> rows = userRepository.findPage(Cursors.afterId(cursor), Cursors.filter(Role.class, "role", role), Limit.of(pageSize + 1));
+        return Cursors.page(rows, pageSize, user -> Cursors.idKey(user.getId()), this::mapToDTO);
     }
 
 
@@ -112,6 +112,10 @@ public class UserService {
                 .build();
     }
 
+    public long countUsers() {
+        return userRepository.count();
+    }
+
     public boolean isAdmin(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
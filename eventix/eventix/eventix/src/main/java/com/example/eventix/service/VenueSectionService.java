@@ -0,0 +1,68 @@
+package com.example.eventix.service;
+
+import com.example.eventix.dto.VenueSectionDTO;
+import com.example.eventix.exception.BadRequestException;
+import com.example.eventix.exception.ResourceNotFoundException;
+import com.example.eventix.model.Event;
+import com.example.eventix.model.VenueSection;
+import com.example.eventix.repository.EventRepository;
+import com.example.eventix.repository.VenueSectionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class VenueSectionService {
+
+    private final VenueSectionRepository venueSectionRepository;
+    private final EventRepository eventRepository;
+    private final SeatMapAllocator seatMapAllocator;
+
+    public VenueSectionDTO addSection(Long eventId, VenueSectionDTO dto) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
+        if (dto.getRowCount() == null || dto.getRowCount() < 1 || dto.getSeatsPerRow() == null || dto.getSeatsPerRow() < 1) {
+            throw new BadRequestException("A section needs at least one row and one seat per row");
+        }
+
+        long mapped = venueSectionRepository.sumSeatsByEventId(eventId);
+        long added = (long) dto.getRowCount() * dto.getSeatsPerRow();
+        if (event.getTotalCapacity() != null && mapped + added > event.getTotalCapacity()) {
+            throw new BadRequestException("Seat map would exceed event capacity of " + event.getTotalCapacity());
+        }
+
+        VenueSection section = VenueSection.builder()
+                .event(event)
+                .name(dto.getName())
+                .rowCount(dto.getRowCount())
+                .seatsPerRow(dto.getSeatsPerRow())
+                .priority(dto.getPriority())
+                .build();
+        VenueSection saved = venueSectionRepository.save(section);
+        seatMapAllocator.addSection(saved);
+        return mapToDTO(saved, added);
+    }
+
+    public List<VenueSectionDTO> getSections(Long eventId) {
+        return venueSectionRepository.findByEvent_IdOrderByPriorityAscIdAsc(eventId)
+                .stream()
+                .map(section -> mapToDTO(section, seatMapAllocator.availableSeats(eventId, section.getId())))
+                .toList();
+    }
+
+    private VenueSectionDTO mapToDTO(VenueSection section, long availableSeats) {
+        return VenueSectionDTO.builder()
+                .id(section.getId())
+                .event_id(section.getEvent().getId())
+                .name(section.getName())
+                .rowCount(section.getRowCount())
+                .seatsPerRow(section.getSeatsPerRow())
+                .priority(section.getPriority())
+                .availableSeats(availableSeats)
+                .build();
+    }
+}
@@ -3,7 +3,7 @@ package com.example.eventix;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "eventix.tickets.token-secret=test-only-eventix-ticket-token-secret")
 class EventixApplicationTests {
 
 	@Test
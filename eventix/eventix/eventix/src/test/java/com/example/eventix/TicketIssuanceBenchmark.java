@@ -0,0 +1,100 @@
+package com.example.eventix;
+
+import com.example.eventix.model.Category;
+import com.example.eventix.model.Event;
+import com.example.eventix.model.Reservation;
+import com.example.eventix.model.ReservationStatus;
+import com.example.eventix.model.Role;
+import com.example.eventix.model.User;
+import com.example.eventix.repository.CategoryRepository;
+import com.example.eventix.repository.EventRepository;
+import com.example.eventix.repository.ReservationRepository;
+import com.example.eventix.repository.UserRepository;
+import com.example.eventix.service.TicketService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Ticket issuance time per ticket as the reservation grows. Needs a database:
+// mvn test -Dtest=TicketIssuanceBenchmark -Dbenchmark=true
+@SpringBootTest(properties = "eventix.tickets.token-secret=test-only-eventix-ticket-token-secret")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TicketIssuanceBenchmark {
+
+	private static final int[] SIZES = {1, 5, 20, 100, 500};
+	private static final int WARMUP_ROUNDS = 3;
+	private static final int ROUNDS = 10;
+
+	@Autowired
+	private TicketService ticketService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private ReservationRepository reservationRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void issuanceTimePerTicket() {
+		User user = userRepository.save(User.builder()
+				.name("benchmark")
+				.email("benchmark-" + System.nanoTime() + "@eventix.local")
+				.password("benchmark")
+				.role(Role.USER)
+				.build());
+		Category category = categoryRepository.save(Category.builder().name("Benchmark").build());
+		Event event = eventRepository.save(Event.builder()
+				.name("Ticket issuance benchmark")
+				.location("Benchmark")
+				.category(category)
+				.user(user)
+				.date(LocalDateTime.now().plusDays(30))
+				.totalCapacity(1_000_000L)
+				.availableSeats(1_000_000L)
+				.priceBase(BigDecimal.ONE)
+				.build());
+
+		System.out.println("size\tms/reservation\tus/ticket");
+		for (int size : SIZES) {
+			for (int i = 0; i < WARMUP_ROUNDS; i++) {
+				issue(user, event, size);
+			}
+			long total = 0;
+			for (int i = 0; i < ROUNDS; i++) {
+				total += issue(user, event, size);
+			}
+			double perReservation = total / (double) ROUNDS;
+			System.out.printf("%d\t%.2f\t%.1f%n", size, perReservation / 1_000_000, perReservation / size / 1_000);
+		}
+	}
+
+	// Nanoseconds for one issuance transaction, commit included.
+	private long issue(User user, Event event, int size) {
+		Reservation reservation = reservationRepository.save(Reservation.builder()
+				.user(user)
+				.event(event)
+				.seats((long) size)
+				.status(ReservationStatus.PAID)
+				.createdAt(LocalDateTime.now())
+				.expiresAt(LocalDateTime.now())
+				.build());
+
+		long start = System.nanoTime();
+		transactionTemplate.executeWithoutResult(status -> ticketService.generateTicketsForReservation(reservation));
+		return System.nanoTime() - start;
+	}
+}
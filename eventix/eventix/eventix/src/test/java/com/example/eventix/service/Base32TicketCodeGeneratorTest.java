@@ -0,0 +1,124 @@
+package com.example.eventix.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Base32TicketCodeGeneratorTest {
+
+	private static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+	private static final int PREFIX_LENGTH = "TKT-".length();
+
+	private final Base32TicketCodeGenerator generator = new Base32TicketCodeGenerator(7);
+
+	@Test
+	void issuedCodesAreCanonical() {
+		for (int i = 0; i < 1000; i++) {
+			String code = generator.next();
+			assertEquals(18, code.length());
+			assertTrue(code.startsWith("TKT-"));
+			assertEquals(code, generator.normalize(code));
+		}
+	}
+
+	@Test
+	void issuedCodesAreUniqueAcrossThreads() throws Exception {
+		Set<String> codes = ConcurrentHashMap.newKeySet();
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> done = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				done.add(pool.submit(() -> {
+					for (int i = 0; i < 10_000; i++) {
+						codes.add(generator.next());
+					}
+				}));
+			}
+			for (Future<?> future : done) {
+				future.get();
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		assertEquals(80_000, codes.size());
+	}
+
+	@Test
+	void typedVariantsNormalizeToTheIssuedCode() {
+		String code = generator.next();
+		assertEquals(code, generator.normalize(code.toLowerCase()));
+
+		// Crockford reads I and L as 1 and O as 0.
+		String body = code.substring(PREFIX_LENGTH);
+		String misread = "tkt-" + body.replace('1', 'I').replace('0', 'O');
+		assertEquals(code, generator.normalize(misread));
+	}
+
+	@Test
+	void everySingleCharacterTypoIsRejected() {
+		String code = generator.next();
+		for (int i = PREFIX_LENGTH; i < code.length(); i++) {
+			for (char c : ALPHABET.toCharArray()) {
+				if (c != code.charAt(i)) {
+					String typo = code.substring(0, i) + c + code.substring(i + 1);
+					assertNull(generator.normalize(typo), typo);
+				}
+			}
+		}
+	}
+
+	@Test
+	void adjacentTranspositionsAreRejected() {
+		Set<String> missed = new HashSet<>();
+		for (int n = 0; n < 200; n++) {
+			String code = generator.next();
+			for (int i = PREFIX_LENGTH; i < code.length() - 1; i++) {
+				char a = code.charAt(i);
+				char b = code.charAt(i + 1);
+				if (a == b) {
+					continue;
+				}
+				String swapped = code.substring(0, i) + b + a + code.substring(i + 2);
+				if (generator.normalize(swapped) != null) {
+					missed.add("" + (char) Math.min(a, b) + (char) Math.max(a, b));
+				}
+			}
+		}
+		// Like decimal Luhn with 0 and 9, only swapping the lowest and highest digit goes unnoticed.
+		assertTrue(Set.of("0Z").containsAll(missed), missed.toString());
+	}
+
+	@Test
+	void malformedCodesAreRejected() {
+		assertNull(generator.normalize(null));
+		assertNull(generator.normalize(""));
+		assertNull(generator.normalize("garbage"));
+		assertNull(generator.normalize("TKT-0000000000000U"));
+		assertNull(generator.normalize(generator.next().substring(1)));
+	}
+
+	@Test
+	void legacyCodesPassThrough() {
+		assertEquals("TKT-1735689600000-0a1b2c3d", generator.normalize("TKT-1735689600000-0a1b2c3d"));
+		assertNull(generator.normalize("TKT-1735689600000-0a1b2c3"));
+		assertNull(generator.normalize("TKT-17356896x0000-0a1b2c3d"));
+	}
+
+	@Test
+	void nodeIdMustFitTenBits() {
+		assertThrows(IllegalStateException.class, () -> new Base32TicketCodeGenerator(-1));
+		assertThrows(IllegalStateException.class, () -> new Base32TicketCodeGenerator(1024));
+	}
+}
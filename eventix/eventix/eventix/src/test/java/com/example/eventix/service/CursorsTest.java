@@ -0,0 +1,110 @@
+package com.example.eventix.service;
+
+import com.example.eventix.dto.CursorPage;
+import com.example.eventix.exception.BadRequestException;
+import com.example.eventix.model.ReservationStatus;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CursorsTest {
+
+	@Test
+	void pageSizeDefaultsAndIsCapped() {
+		assertEquals(Cursors.DEFAULT_PAGE_SIZE, Cursors.pageSize(null));
+		assertEquals(1, Cursors.pageSize(1));
+		assertEquals(Cursors.MAX_PAGE_SIZE, Cursors.pageSize(Cursors.MAX_PAGE_SIZE + 1));
+		assertThrows(BadRequestException.class, () -> Cursors.pageSize(0));
+	}
+
+	@Test
+	void idCursorRoundTrips() {
+		CursorPage<Long> page = Cursors.page(ids(1, 4), 3, Cursors::idKey, Function.identity());
+		assertEquals(List.of(1L, 2L, 3L), page.getItems());
+		assertEquals(3L, Cursors.afterId(page.getNextCursor()));
+		assertEquals(0L, Cursors.afterId(null));
+		assertEquals(0L, Cursors.afterId(" "));
+	}
+
+	@Test
+	void dateCursorRoundTrips() {
+		LocalDateTime date = LocalDateTime.of(2026, 3, 14, 19, 30, 15, 123_000_000);
+		CursorPage<Long> page = Cursors.page(ids(41, 42), 1, id -> Cursors.dateKey(date, id), Function.identity());
+		Cursors.DateKey key = Cursors.afterDate(page.getNextCursor());
+		assertEquals(date, key.date());
+		assertEquals(41L, key.id());
+
+		Cursors.DateKey start = Cursors.afterDate(null);
+		assertNull(start.date());
+		assertEquals(0L, start.id());
+	}
+
+	@Test
+	void pageBoundaries() {
+		// Exactly a page: the limit + 1 read came back short, so there is nothing after it.
+		CursorPage<Long> full = Cursors.page(ids(1, 3), 3, Cursors::idKey, Function.identity());
+		assertEquals(3, full.getItems().size());
+		assertNull(full.getNextCursor());
+
+		CursorPage<Long> empty = Cursors.page(List.<Long>of(), 3, Cursors::idKey, Function.identity());
+		assertEquals(List.of(), empty.getItems());
+		assertNull(empty.getNextCursor());
+
+		// Walking pages visits every row once.
+		List<Long> rows = ids(1, 10);
+		List<Long> seen = new ArrayList<>();
+		long afterId = 0L;
+		String cursor;
+		do {
+			long from = afterId;
+			List<Long> read = rows.stream().filter(id -> id > from).limit(4).toList();
+			CursorPage<Long> page = Cursors.page(read, 3, Cursors::idKey, Function.identity());
+			seen.addAll(page.getItems());
+			cursor = page.getNextCursor();
+			afterId = Cursors.afterId(cursor);
+		} while (cursor != null);
+		assertEquals(rows, seen);
+	}
+
+	@Test
+	void itemsAreMappedButTheCursorComesFromTheRow() {
+		CursorPage<String> page = Cursors.page(ids(5, 7), 2, Cursors::idKey, id -> "#" + id);
+		assertEquals(List.of("#5", "#6"), page.getItems());
+		assertEquals(6L, Cursors.afterId(page.getNextCursor()));
+	}
+
+	@Test
+	void tamperedCursorsAreBadRequests() {
+		assertThrows(BadRequestException.class, () -> Cursors.afterId("not base64!"));
+		assertThrows(BadRequestException.class, () -> Cursors.afterId(encoded("abc")));
+		assertThrows(BadRequestException.class, () -> Cursors.afterDate(encoded("42")));
+		assertThrows(BadRequestException.class, () -> Cursors.afterDate(encoded("yesterday|42")));
+	}
+
+	@Test
+	void enumFilters() {
+		assertNull(Cursors.filter(ReservationStatus.class, "status", null));
+		assertNull(Cursors.filter(ReservationStatus.class, "status", ""));
+		assertEquals(ReservationStatus.PAID, Cursors.filter(ReservationStatus.class, "status", " paid "));
+		assertThrows(BadRequestException.class, () -> Cursors.filter(ReservationStatus.class, "status", "refunded"));
+	}
+
+	private static List<Long> ids(long from, long to) {
+		return LongStream.rangeClosed(from, to).boxed().toList();
+	}
+
+	// The cursor format is opaque to clients, but a tampered one is still base64url.
+	private static String encoded(String key) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,155 @@
+package com.example.eventix.service;
+
+import com.example.eventix.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class EventSearchIndexTest {
+
+	private static final long MUSIC = 1L;
+	private static final long SPORTS = 2L;
+	private static final LocalDateTime JUNE = LocalDateTime.of(2026, 6, 1, 20, 0);
+	private static final LocalDateTime JULY = LocalDateTime.of(2026, 7, 1, 20, 0);
+
+	private final EventSearchIndex index = new EventSearchIndex(mock(EventRepository.class));
+
+	@Test
+	void wordsMatchAsPrefixes() {
+		event(1, "Jazz Night", "Live quartet", "Blue Note", "Music");
+		event(2, "Jazzfest", "Three stages", "Riverside Park", "Music");
+		event(3, "Rock Night", "Loud", "Arena", "Music");
+
+		assertEquals(List.of(1L, 2L), search("jaz"));
+		assertEquals(List.of(1L, 3L), search("night"));
+		assertEquals(List.of(), search("jazzy"));
+	}
+
+	@Test
+	void singleLettersMatchOnlyWholeWords() {
+		event(1, "A Night Out", null, null, null);
+		event(2, "Acoustic Afternoon", null, null, null);
+
+		assertEquals(List.of(1L), search("a"));
+		assertEquals(List.of(1L), search("a nig"));
+		assertEquals(List.of(), search("a n"));
+	}
+
+	@Test
+	void everyWordMustMatch() {
+		event(1, "Jazz Night", null, "Berlin", null);
+		event(2, "Jazz Brunch", null, "Paris", null);
+
+		assertEquals(List.of(2L), search("jazz paris"));
+		assertEquals(List.of(2L), search("par jaz"));
+		assertEquals(List.of(), search("jazz london"));
+	}
+
+	@Test
+	void exactWordsOutrankPrefixes() {
+		event(1, "Jazzfest", null, null, null);
+		event(2, "Jazz", null, null, null);
+
+		assertEquals(List.of(2L, 1L), search("jazz"));
+	}
+
+	@Test
+	void limitedMultiWordSearchesRankOnTheFullScore() {
+		// Event 1 leads on "paris" alone, event 2 once "rock" is added.
+		event(1, "A", "rock", "paris", null);
+		event(2, "Rock", "paris", null, null);
+
+		assertEquals(List.of(2L, 1L), search("paris rock"));
+		assertEquals(List.of(2L), index.search("paris rock", null, null, null, null, 1));
+		assertEquals(List.of(2L), index.search("rock paris", null, null, null, null, 1));
+	}
+
+	@Test
+	void fieldsAreWeighted() {
+		event(1, "Summer Gala", "with jazz after dinner", null, null);
+		event(2, "Summer Gala", null, "Jazz Club", null);
+		event(3, "Summer Gala", null, null, "Jazz");
+		event(4, "Jazz Gala", null, null, null);
+
+		// name, then category, then location, then description
+		assertEquals(List.of(4L, 3L, 2L, 1L), search("jazz"));
+	}
+
+	@Test
+	void aWordInSeveralFieldsScoresEach() {
+		event(1, "Opera Night", null, null, null);
+		event(2, "Opera Night", "opera in three acts", null, null);
+
+		assertEquals(List.of(2L, 1L), search("opera"));
+	}
+
+	@Test
+	void tiesGoToTheOlderEvent() {
+		event(7, "Comedy Hour", null, null, null);
+		event(3, "Comedy Hour", null, null, null);
+		event(5, "Comedy Hour", null, null, null);
+
+		assertEquals(List.of(3L, 5L, 7L), search("comedy"));
+		assertEquals(List.of(3L, 5L), index.search("comedy", null, null, null, null, 2));
+	}
+
+	@Test
+	void accentsAndCaseAreFolded() {
+		event(1, "Café Olé", null, "Zürich", null);
+
+		assertEquals(List.of(1L), search("CAFE"));
+		assertEquals(List.of(1L), search("zurich ole"));
+		assertEquals(List.of(), search("  ... "));
+	}
+
+	@Test
+	void filtersNarrowTheMatches() {
+		index.put(1L, MUSIC, 10L, JUNE, "Jazz Night", null, null, null);
+		index.put(2L, SPORTS, 10L, JULY, "Jazz Run", null, null, null);
+		index.put(3L, MUSIC, 20L, JULY, "Jazz Picnic", null, null, null);
+
+		assertEquals(List.of(1L, 3L), index.search("jazz", MUSIC, null, null, null, 10));
+		assertEquals(List.of(1L, 2L), index.search("jazz", null, 10L, null, null, 10));
+		assertEquals(List.of(2L, 3L), index.search("jazz", null, null, JULY, null, 10));
+		// to is exclusive
+		assertEquals(List.of(1L), index.search("jazz", null, null, null, JULY, 10));
+	}
+
+	@Test
+	void updatesReplaceTheOldTerms() {
+		event(1, "Jazz Night", null, null, null);
+		event(1, "Blues Night", null, null, null);
+
+		assertEquals(List.of(), search("jazz"));
+		assertEquals(List.of(1L), search("blues"));
+
+		index.remove(1L);
+		assertEquals(List.of(), search("night"));
+	}
+
+	@Test
+	void writesApplyOnlyAfterCommit() {
+		TestTransactions.begin();
+		event(1, "Jazz Night", null, null, null);
+		assertEquals(List.of(), search("jazz"));
+		TestTransactions.rollback();
+		assertEquals(List.of(), search("jazz"));
+
+		TestTransactions.begin();
+		event(1, "Jazz Night", null, null, null);
+		TestTransactions.commit();
+		assertEquals(List.of(1L), search("jazz"));
+	}
+
+	private void event(long id, String name, String description, String location, String categoryName) {
+		index.put(id, MUSIC, 10L, JUNE, name, description, location, categoryName);
+	}
+
+	private List<Long> search(String query) {
+		return index.search(query, null, null, null, null, 10);
+	}
+}
@@ -0,0 +1,199 @@
+package com.example.eventix.service;
+
+import com.example.eventix.model.DomainEventType;
+import com.example.eventix.model.OutboxStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Drives Outbox.poll against a stubbed JDBC template: the claimed batch is given, and every
+// statement the outbox runs afterwards is recorded with its parameters at the time it ran.
+class OutboxTest {
+
+	private static final int MAX_ATTEMPTS = 10;
+
+	private final NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+	private final Outbox outbox = new Outbox(jdbcTemplate, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+			JsonMapper.builder().build(), 4, 100, 500, 30_000, MAX_ATTEMPTS, 24);
+
+	private final List<Map<String, Object>> dispatched = new ArrayList<>();
+	private final List<Map<String, Object>> released = new ArrayList<>();
+	private final List<Map<String, Object>> failed = new ArrayList<>();
+	private final List<String> delivered = new ArrayList<>();
+
+	@Test
+	void anAggregateIsDeliveredInIdOrder() {
+		subscribe();
+		claimed(row(1, 7, "r7-created"), row(2, 8, "r8-created"), row(3, 7, "r7-paid"), row(4, 7, "r7-cancelled"));
+
+		assertEquals(4, outbox.poll(3));
+		assertEquals(List.of("r7-created", "r8-created", "r7-paid", "r7-cancelled"), delivered);
+		assertEquals(List.of(List.of(1L, 2L, 3L, 4L)), ids(dispatched));
+		assertEquals(List.of(), released);
+	}
+
+	@Test
+	void aFailureHoldsBackItsAggregateOnly() {
+		subscribe();
+		claimed(row(1, 7, "fail"), row(2, 8, "r8-created"), row(3, 7, "r7-paid"), row(4, 8, "r8-paid"));
+
+		outbox.poll(3);
+		// r7-paid must not overtake the failed event before it; aggregate 8 is unaffected.
+		assertEquals(List.of("r8-created", "r8-paid"), delivered);
+		assertEquals(List.of(List.of(2L, 4L)), ids(dispatched));
+		assertEquals(List.of(List.of(3L)), ids(released));
+		assertEquals(1, failed.size());
+		assertEquals(1L, failed.get(0).get("id"));
+	}
+
+	@Test
+	void retriesBackOffExponentially() {
+		subscribe();
+		claimed(row(1, 1, "fail", 0), row(2, 2, "fail", 1), row(3, 3, "fail", 2), row(4, 4, "fail", 5));
+
+		LocalDateTime before = LocalDateTime.now();
+		outbox.poll(0);
+		assertEquals(4, failed.size());
+		long[] expectedSeconds = {1, 2, 4, 32};
+		for (int i = 0; i < failed.size(); i++) {
+			Map<String, Object> update = failed.get(i);
+			assertEquals(OutboxStatus.PENDING.ordinal(), update.get("status"));
+			assertBackoff(before, expectedSeconds[i], update);
+		}
+		assertEquals(List.of(1, 2, 3, 6), failed.stream().map(update -> update.get("attempts")).toList());
+		assertEquals("boom", failed.get(0).get("error"));
+	}
+
+	@Test
+	void backoffIsCapped() {
+		subscribe();
+		claimed(row(1, 1, "fail", 8));
+
+		LocalDateTime before = LocalDateTime.now();
+		outbox.poll(0);
+		assertBackoff(before, 256, failed.get(0));
+
+		failed.clear();
+		Outbox patient = new Outbox(jdbcTemplate, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+				JsonMapper.builder().build(), 4, 100, 500, 30_000, 100, 24);
+		patient.subscribe(DomainEventType.RESERVATION_CANCELLED, String.class, payload -> {
+			throw new IllegalStateException("boom");
+		});
+		claimed(row(1, 1, "fail", 40));
+		patient.poll(0);
+		assertBackoff(before, 300, failed.get(0));
+	}
+
+	@Test
+	void theLastAttemptParksTheEvent() {
+		subscribe();
+		claimed(row(1, 1, "fail", MAX_ATTEMPTS - 1));
+
+		outbox.poll(0);
+		Map<String, Object> update = failed.get(0);
+		assertEquals(OutboxStatus.FAILED.ordinal(), update.get("status"));
+		assertEquals(MAX_ATTEMPTS, update.get("attempts"));
+		assertNull(update.get("until"));
+	}
+
+	@Test
+	void nothingClaimedDoesNothing() {
+		subscribe();
+		when(jdbcTemplate.queryForList(anyString(), any(SqlParameterSource.class), eq(Long.class))).thenReturn(List.of());
+
+		assertEquals(0, outbox.poll(0));
+		assertEquals(List.of(), delivered);
+		assertEquals(List.of(), dispatched);
+	}
+
+	private void subscribe() {
+		outbox.subscribe(DomainEventType.RESERVATION_CANCELLED, String.class, payload -> {
+			if (payload.equals("fail")) {
+				throw new IllegalStateException("boom");
+			}
+			delivered.add(payload);
+		});
+	}
+
+	// The batch the claim query returns; every later statement is recorded by its kind.
+	@SuppressWarnings("unchecked")
+	private void claimed(Object[]... rows) {
+		List<Long> ids = new ArrayList<>();
+		for (Object[] row : rows) {
+			ids.add((Long) row[0]);
+		}
+		when(jdbcTemplate.queryForList(anyString(), any(SqlParameterSource.class), eq(Long.class))).thenReturn(ids);
+		when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class))).thenAnswer(invocation -> {
+			RowMapper<Object> mapper = invocation.getArgument(2);
+			List<Object> mapped = new ArrayList<>();
+			for (int i = 0; i < rows.length; i++) {
+				mapped.add(mapper.mapRow(resultSet(rows[i]), i));
+			}
+			return mapped;
+		});
+		when(jdbcTemplate.update(anyString(), any(SqlParameterSource.class))).thenAnswer(invocation -> {
+			String sql = invocation.getArgument(0);
+			Map<String, Object> params = new HashMap<>(((MapSqlParameterSource) invocation.getArgument(1)).getValues());
+			if (sql.contains("last_error")) {
+				failed.add(params);
+			} else if (sql.contains("SET status = :dispatched")) {
+				dispatched.add(params);
+			} else if (sql.contains("SET claimed_until = NULL")) {
+				released.add(params);
+			}
+			return 1;
+		});
+	}
+
+	private static Object[] row(long id, long aggregateId, String payload) {
+		return row(id, aggregateId, payload, 0);
+	}
+
+	private static Object[] row(long id, long aggregateId, String payload, int attempts) {
+		return new Object[]{id, aggregateId, "\"" + payload + "\"", attempts};
+	}
+
+	private static ResultSet resultSet(Object[] row) throws Exception {
+		ResultSet rs = mock(ResultSet.class);
+		when(rs.getLong("id")).thenReturn((Long) row[0]);
+		when(rs.getInt("type")).thenReturn(DomainEventType.RESERVATION_CANCELLED.ordinal());
+		when(rs.getString("aggregate_type")).thenReturn("reservation");
+		when(rs.getLong("aggregate_id")).thenReturn((Long) row[1]);
+		when(rs.getString("payload")).thenReturn((String) row[2]);
+		when(rs.getInt("attempts")).thenReturn((Integer) row[3]);
+		return rs;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<List<Long>> ids(List<Map<String, Object>> updates) {
+		return updates.stream().map(update -> (List<Long>) update.get("ids")).toList();
+	}
+
+	private static void assertBackoff(LocalDateTime before, long seconds, Map<String, Object> update) {
+		Duration backoff = Duration.between(before, (LocalDateTime) update.get("until"));
+		assertTrue(backoff.compareTo(Duration.ofSeconds(seconds)) >= 0, backoff.toString());
+		assertTrue(backoff.compareTo(Duration.ofSeconds(seconds + 5)) < 0, backoff.toString());
+	}
+}
@@ -0,0 +1,216 @@
+package com.example.eventix.service;
+
+import com.example.eventix.exception.ResourceNotFoundException;
+import com.example.eventix.model.ReservationStatus;
+import com.example.eventix.repository.EventRepository;
+import com.example.eventix.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SeatInventoryTest {
+
+	private static final long EVENT = 1L;
+	private static final int THREADS = 16;
+
+	private final EventRepository eventRepository = mock(EventRepository.class);
+	private final ReservationRepository reservationRepository = mock(ReservationRepository.class);
+	private final SeatInventory inventory = new SeatInventory(eventRepository, reservationRepository, null, null);
+
+	@Test
+	void loadsFromTheLedger() {
+		event(100, seats(ReservationStatus.PAID, 30), seats(ReservationStatus.HELD, 5));
+		assertEquals(65, inventory.available(EVENT));
+		assertEquals(5, inventory.held(EVENT));
+	}
+
+	@Test
+	void unknownEventIsNotFound() {
+		when(eventRepository.findTotalCapacityById(anyLong())).thenReturn(Optional.empty());
+		assertThrows(ResourceNotFoundException.class, () -> inventory.available(EVENT));
+		assertFalse(inventory.soldOut(EVENT));
+	}
+
+	@Test
+	void holdsNeverOversellUnderContention() throws Exception {
+		event(100);
+		List<Boolean> results = race(1000, () -> inventory.tryHold(EVENT, 1));
+		assertEquals(100, results.stream().filter(held -> held).count());
+		assertEquals(0, inventory.available(EVENT));
+		assertEquals(100, inventory.held(EVENT));
+		assertTrue(inventory.soldOut(EVENT));
+
+		// Paying for the holds turns them into sales: nothing comes free.
+		race(100, () -> {
+			inventory.confirmHold(EVENT, 1);
+			return true;
+		});
+		assertEquals(0, inventory.available(EVENT));
+		assertEquals(0, inventory.held(EVENT));
+
+		race(100, () -> {
+			inventory.release(EVENT, 1);
+			return true;
+		});
+		assertEquals(100, inventory.available(EVENT));
+	}
+
+	@Test
+	void mixedRequestsTakeNoMoreThanCapacity() throws Exception {
+		event(50);
+		// 3 seats each: 16 of them fit in 50, with 2 left that no request can use.
+		List<Boolean> results = race(200, () -> inventory.tryReserve(EVENT, 3));
+		assertEquals(16, results.stream().filter(reserved -> reserved).count());
+		assertEquals(2, inventory.available(EVENT));
+		assertFalse(inventory.tryHold(EVENT, 3));
+		assertTrue(inventory.tryHold(EVENT, 2));
+	}
+
+	@Test
+	void rollbackGivesTheHoldBack() {
+		event(10);
+		TestTransactions.begin();
+		assertTrue(inventory.tryHold(EVENT, 4));
+		assertEquals(6, inventory.available(EVENT));
+		TestTransactions.rollback();
+		assertEquals(10, inventory.available(EVENT));
+		assertEquals(0, inventory.held(EVENT));
+	}
+
+	@Test
+	void rollbackOfAConfirmationKeepsTheHold() {
+		event(10);
+		assertTrue(inventory.tryHold(EVENT, 4));
+		TestTransactions.begin();
+		inventory.confirmHold(EVENT, 4);
+		TestTransactions.rollback();
+		assertEquals(4, inventory.held(EVENT));
+		assertEquals(6, inventory.available(EVENT));
+	}
+
+	@Test
+	void releasesWaitForTheCommit() {
+		event(10);
+		assertTrue(inventory.tryHold(EVENT, 4));
+		assertTrue(inventory.tryReserve(EVENT, 3));
+
+		TestTransactions.begin();
+		inventory.releaseHold(EVENT, 4);
+		inventory.release(EVENT, 3);
+		assertEquals(3, inventory.available(EVENT));
+		TestTransactions.rollback();
+		assertEquals(3, inventory.available(EVENT));
+		assertEquals(4, inventory.held(EVENT));
+
+		TestTransactions.begin();
+		inventory.releaseHold(EVENT, 4);
+		inventory.release(EVENT, 3);
+		TestTransactions.commit();
+		assertEquals(10, inventory.available(EVENT));
+		assertEquals(0, inventory.held(EVENT));
+	}
+
+	@Test
+	void capacityNeverDropsBelowWhatIsTaken() {
+		event(10, seats(ReservationStatus.PAID, 4));
+		assertTrue(inventory.tryHold(EVENT, 3));
+
+		assertFalse(inventory.resize(EVENT, -4));
+		assertEquals(3, inventory.available(EVENT));
+		assertTrue(inventory.resize(EVENT, -3));
+		assertEquals(0, inventory.available(EVENT));
+		assertFalse(inventory.tryHold(EVENT, 1));
+	}
+
+	@Test
+	void resizingFollowsTheTransaction() {
+		event(10);
+		TestTransactions.begin();
+		assertTrue(inventory.resize(EVENT, -4));
+		assertEquals(6, inventory.available(EVENT));
+		TestTransactions.rollback();
+		assertEquals(10, inventory.available(EVENT));
+
+		// Added seats only become free once the new capacity is committed.
+		TestTransactions.begin();
+		assertTrue(inventory.resize(EVENT, 5));
+		assertEquals(10, inventory.available(EVENT));
+		TestTransactions.commit();
+		assertEquals(15, inventory.available(EVENT));
+	}
+
+	@Test
+	void changesAreReportedToListeners() {
+		event(10);
+		List<Long> changed = new ArrayList<>();
+		inventory.addListener(changed::add);
+		long version = inventory.version();
+		inventory.tryHold(EVENT, 1);
+		assertEquals(List.of(EVENT), changed);
+		assertTrue(inventory.version() > version);
+	}
+
+	private void event(long capacity, ReservationRepository.EventSeatSum... ledger) {
+		when(eventRepository.findTotalCapacityById(EVENT)).thenReturn(Optional.of(capacity));
+		when(reservationRepository.sumSeatsByEventIdAndStatus(eq(EVENT), any())).thenReturn(List.of(ledger));
+	}
+
+	private static ReservationRepository.EventSeatSum seats(ReservationStatus status, long seats) {
+		return new ReservationRepository.EventSeatSum() {
+			@Override
+			public Long getEventId() {
+				return EVENT;
+			}
+
+			@Override
+			public ReservationStatus getStatus() {
+				return status;
+			}
+
+			@Override
+			public Long getSeats() {
+				return seats;
+			}
+		};
+	}
+
+	// Runs the attempts on THREADS threads released together; results in no particular order.
+	private static List<Boolean> race(int attempts, Callable<Boolean> attempt) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<Boolean>> futures = new ArrayList<>();
+			for (int i = 0; i < attempts; i++) {
+				futures.add(pool.submit(() -> {
+					start.await();
+					return attempt.call();
+				}));
+			}
+			start.countDown();
+			List<Boolean> results = new ArrayList<>();
+			for (Future<Boolean> future : futures) {
+				results.add(future.get());
+			}
+			return results;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+}
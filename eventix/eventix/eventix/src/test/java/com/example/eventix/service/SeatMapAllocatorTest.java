@@ -0,0 +1,186 @@
+package com.example.eventix.service;
+
+import com.example.eventix.model.VenueSection;
+import com.example.eventix.repository.TicketRepository;
+import com.example.eventix.repository.VenueSectionRepository;
+import com.example.eventix.service.SeatMapAllocator.SeatAssignment;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SeatMapAllocatorTest {
+
+	private static final long EVENT = 1L;
+	private static final long STALLS = 10L;
+	private static final long BALCONY = 20L;
+
+	private final VenueSectionRepository venueSectionRepository = mock(VenueSectionRepository.class);
+	private final TicketRepository ticketRepository = mock(TicketRepository.class);
+	private final SeatMapAllocator allocator = new SeatMapAllocator(venueSectionRepository, ticketRepository);
+
+	@Test
+	void generalAdmissionHasNoSeats() {
+		sections();
+		assertFalse(allocator.hasSeatMap(EVENT));
+		assertEquals(0, allocator.mappedSeats(EVENT));
+		assertEquals(List.of(), allocator.allocate(EVENT, 2));
+	}
+
+	@Test
+	void adjacentSeatsInTheBestRow() {
+		sections(section(STALLS, 1, 3, 4));
+		assertEquals(12, allocator.mappedSeats(EVENT));
+
+		assertEquals(List.of(seat(STALLS, 1, 1), seat(STALLS, 1, 2), seat(STALLS, 1, 3)), allocator.allocate(EVENT, 3));
+		// One seat left in row 1, so a pair goes to the front of row 2.
+		assertEquals(List.of(seat(STALLS, 2, 1), seat(STALLS, 2, 2)), allocator.allocate(EVENT, 2));
+		assertEquals(List.of(seat(STALLS, 1, 4)), allocator.allocate(EVENT, 1));
+		assertEquals(6, allocator.availableSeats(EVENT, STALLS));
+	}
+
+	@Test
+	void adjacentSeatsSkipOverTakenOnes() {
+		sections(section(STALLS, 1, 1, 6));
+		sold(seat(STALLS, 1, 3));
+		assertEquals(List.of(seat(STALLS, 1, 4), seat(STALLS, 1, 5), seat(STALLS, 1, 6)), allocator.allocate(EVENT, 3));
+	}
+
+	@Test
+	void sectionsAreFilledByPriority() {
+		sections(section(BALCONY, 2, 2, 2), section(STALLS, 1, 1, 2));
+		assertEquals(List.of(seat(STALLS, 1, 1), seat(STALLS, 1, 2)), allocator.allocate(EVENT, 2));
+		assertEquals(List.of(seat(BALCONY, 1, 1), seat(BALCONY, 1, 2)), allocator.allocate(EVENT, 2));
+	}
+
+	@Test
+	void scatteredWhenNoRowHasRoom() {
+		sections(section(STALLS, 1, 2, 3), section(BALCONY, 2, 1, 3));
+		sold(seat(STALLS, 1, 2), seat(STALLS, 2, 2), seat(BALCONY, 1, 2));
+
+		// No row has 2 together: the best single seats, front row and best section first.
+		assertEquals(List.of(seat(STALLS, 1, 1), seat(STALLS, 1, 3)), allocator.allocate(EVENT, 2));
+		assertEquals(List.of(seat(STALLS, 2, 1), seat(STALLS, 2, 3), seat(BALCONY, 1, 1)), allocator.allocate(EVENT, 3));
+	}
+
+	@Test
+	void moreThanARowIsScattered() {
+		sections(section(STALLS, 1, 2, 3));
+		List<SeatAssignment> seats = allocator.allocate(EVENT, 4);
+		assertEquals(List.of(seat(STALLS, 1, 1), seat(STALLS, 1, 2), seat(STALLS, 1, 3), seat(STALLS, 2, 1)), seats);
+	}
+
+	@Test
+	void runsShortInsteadOfFailing() {
+		sections(section(STALLS, 1, 1, 2));
+		assertEquals(2, allocator.allocate(EVENT, 3).size());
+		assertEquals(List.of(), allocator.allocate(EVENT, 1));
+	}
+
+	@Test
+	void concurrentAllocationsNeverShareASeat() throws Exception {
+		sections(section(STALLS, 1, 20, 25));
+		Set<SeatAssignment> taken = ConcurrentHashMap.newKeySet();
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			Thread thread = new Thread(() -> {
+				for (int i = 0; i < 20; i++) {
+					for (SeatAssignment seat : allocator.allocate(EVENT, 3)) {
+						assertTrue(taken.add(seat), seat.toString());
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(480, taken.size());
+		assertEquals(20, allocator.availableSeats(EVENT, STALLS));
+	}
+
+	@Test
+	void rollbackReleasesTheSeats() {
+		sections(section(STALLS, 1, 1, 4));
+		TestTransactions.begin();
+		assertEquals(3, allocator.allocate(EVENT, 3).size());
+		assertEquals(1, allocator.availableSeats(EVENT, STALLS));
+		TestTransactions.rollback();
+		assertEquals(4, allocator.availableSeats(EVENT, STALLS));
+		assertEquals(List.of(seat(STALLS, 1, 1), seat(STALLS, 1, 2), seat(STALLS, 1, 3)), allocator.allocate(EVENT, 3));
+	}
+
+	@Test
+	void commitKeepsTheSeats() {
+		sections(section(STALLS, 1, 1, 4));
+		TestTransactions.begin();
+		allocator.allocate(EVENT, 3);
+		TestTransactions.commit();
+		assertEquals(1, allocator.availableSeats(EVENT, STALLS));
+	}
+
+	@Test
+	void cancelledSeatsComeBackOnlyAfterCommit() {
+		sections(section(STALLS, 1, 1, 4));
+		List<SeatAssignment> seats = allocator.allocate(EVENT, 2);
+
+		TestTransactions.begin();
+		allocator.releaseAfterCommit(EVENT, seats);
+		TestTransactions.rollback();
+		assertEquals(2, allocator.availableSeats(EVENT, STALLS));
+
+		TestTransactions.begin();
+		allocator.releaseAfterCommit(EVENT, seats);
+		TestTransactions.commit();
+		assertEquals(4, allocator.availableSeats(EVENT, STALLS));
+		assertEquals(new HashSet<>(seats), new HashSet<>(allocator.allocate(EVENT, 2)));
+	}
+
+	private void sections(VenueSection... sections) {
+		when(venueSectionRepository.findByEvent_IdOrderByPriorityAscIdAsc(EVENT)).thenReturn(List.of(sections));
+		when(ticketRepository.findAssignedSeatsByEventId(eq(EVENT), any())).thenReturn(List.of());
+	}
+
+	private void sold(SeatAssignment... seats) {
+		List<TicketRepository.AssignedSeat> rows = new ArrayList<>();
+		for (SeatAssignment seat : seats) {
+			rows.add(new TicketRepository.AssignedSeat() {
+				@Override
+				public Long getSectionId() {
+					return seat.sectionId();
+				}
+
+				@Override
+				public Integer getSeatRow() {
+					return seat.row();
+				}
+
+				@Override
+				public Integer getSeatNumber() {
+					return seat.seat();
+				}
+			});
+		}
+		when(ticketRepository.findAssignedSeatsByEventId(eq(EVENT), any())).thenReturn(rows);
+	}
+
+	private static VenueSection section(Long id, int priority, int rows, int seatsPerRow) {
+		return VenueSection.builder().id(id).priority(priority).rowCount(rows).seatsPerRow(seatsPerRow).build();
+	}
+
+	private static SeatAssignment seat(Long sectionId, int row, int seat) {
+		return new SeatAssignment(sectionId, row, seat);
+	}
+}
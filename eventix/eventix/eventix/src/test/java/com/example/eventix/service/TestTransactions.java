@@ -0,0 +1,37 @@
+package com.example.eventix.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+// Stands in for a transaction manager: opens a synchronization scope and ends it the way a
+// commit or a rollback would, so TransactionHooks can be tested without a database.
+final class TestTransactions {
+
+	private TestTransactions() {
+	}
+
+	static void begin() {
+		TransactionSynchronizationManager.initSynchronization();
+	}
+
+	static void commit() {
+		end(TransactionSynchronization.STATUS_COMMITTED);
+	}
+
+	static void rollback() {
+		end(TransactionSynchronization.STATUS_ROLLED_BACK);
+	}
+
+	private static void end(int status) {
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		for (TransactionSynchronization synchronization : synchronizations) {
+			if (status == TransactionSynchronization.STATUS_COMMITTED) {
+				synchronization.afterCommit();
+			}
+			synchronization.afterCompletion(status);
+		}
+	}
+}
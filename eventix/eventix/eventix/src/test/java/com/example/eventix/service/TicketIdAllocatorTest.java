@@ -0,0 +1,150 @@
+package com.example.eventix.service;
+
+import com.example.eventix.model.IdBlock;
+import com.example.eventix.repository.IdBlockRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// The id_blocks row is a field here, and the row lock is a lock the stub transaction manager
+// holds from begin to commit, as SELECT ... FOR UPDATE would. Each allocator is one node.
+class TicketIdAllocatorTest {
+
+	private static final long MAX_TICKET_ID = 41L;
+
+	private final AtomicReference<Long> nextId = new AtomicReference<>();
+	private final ReentrantLock rowLock = new ReentrantLock();
+	private final IdBlockRepository idBlockRepository = mock(IdBlockRepository.class);
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+	private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+	TicketIdAllocatorTest() {
+		when(idBlockRepository.findByNameForUpdate("tickets")).thenAnswer(invocation ->
+				Optional.ofNullable(nextId.get()).map(id -> IdBlock.builder().name("tickets").nextId(id).build()));
+		when(idBlockRepository.save(any(IdBlock.class))).thenAnswer(invocation -> {
+			IdBlock block = invocation.getArgument(0);
+			nextId.set(block.getNextId());
+			return block;
+		});
+		when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(MAX_TICKET_ID);
+		when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+			rowLock.lock();
+			return mock(TransactionStatus.class);
+		});
+		doAnswer(invocation -> {
+			rowLock.unlock();
+			return null;
+		}).when(transactionManager).commit(any());
+		doAnswer(invocation -> {
+			rowLock.unlock();
+			return null;
+		}).when(transactionManager).rollback(any());
+	}
+
+	@Test
+	void firstBlockContinuesAfterExistingTickets() {
+		assertArrayEquals(new long[]{42, 43}, allocator(10).allocate(2));
+		assertEquals(52L, nextId.get());
+	}
+
+	@Test
+	void blocksRollOver() {
+		TicketIdAllocator allocator = allocator(3);
+		assertArrayEquals(new long[]{42, 43}, allocator.allocate(2));
+		// One id left in the block, the second comes from the next one.
+		assertArrayEquals(new long[]{44, 45}, allocator.allocate(2));
+		assertEquals(48L, nextId.get());
+		assertArrayEquals(new long[]{46, 47}, allocator.allocate(2));
+		assertEquals(48L, nextId.get());
+		assertArrayEquals(new long[]{48}, allocator.allocate(1));
+		assertEquals(51L, nextId.get());
+	}
+
+	@Test
+	void aRequestLargerThanABlockGetsOneBlockForTheRest() {
+		TicketIdAllocator allocator = allocator(3);
+		assertArrayEquals(new long[]{42}, allocator.allocate(1));
+		long[] ids = allocator.allocate(7);
+		assertArrayEquals(new long[]{43, 44, 45, 46, 47, 48, 49}, ids);
+		assertEquals(50L, nextId.get());
+	}
+
+	@Test
+	void nodesNeverShareAnId() throws Exception {
+		List<TicketIdAllocator> nodes = List.of(allocator(5), allocator(5), allocator(7), allocator(50));
+		ExecutorService pool = Executors.newFixedThreadPool(16);
+		List<Future<List<Long>>> results = new ArrayList<>();
+		try {
+			for (int t = 0; t < 16; t++) {
+				TicketIdAllocator node = nodes.get(t % nodes.size());
+				int count = t % 4 + 1;
+				results.add(pool.submit(() -> {
+					List<Long> ids = new ArrayList<>();
+					for (int i = 0; i < 500; i++) {
+						for (long id : node.allocate(count)) {
+							ids.add(id);
+						}
+					}
+					return ids;
+				}));
+			}
+			Set<Long> seen = new HashSet<>();
+			int total = 0;
+			for (Future<List<Long>> result : results) {
+				for (Long id : result.get()) {
+					assertTrue(seen.add(id), "id " + id + " issued twice");
+					assertTrue(id > MAX_TICKET_ID && id < nextId.get());
+					total++;
+				}
+			}
+			assertEquals(500 * (4 * (1 + 2 + 3 + 4)), total);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	void aConcurrentSeedIsRetried() {
+		// Another node inserted the row between our read and our insert.
+		AtomicBoolean raced = new AtomicBoolean();
+		when(idBlockRepository.save(any(IdBlock.class))).thenAnswer(invocation -> {
+			IdBlock block = invocation.getArgument(0);
+			if (raced.compareAndSet(false, true)) {
+				nextId.set(100L);
+				throw new DataIntegrityViolationException("Duplicate entry 'tickets'");
+			}
+			nextId.set(block.getNextId());
+			return block;
+		});
+		assertArrayEquals(new long[]{100, 101}, allocator(10).allocate(2));
+		assertEquals(110L, nextId.get());
+	}
+
+	private TicketIdAllocator allocator(int blockSize) {
+		return new TicketIdAllocator(idBlockRepository, jdbcTemplate, transactionManager, blockSize);
+	}
+}
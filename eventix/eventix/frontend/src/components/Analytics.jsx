@@ -1,7 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import { motion } from 'framer-motion';
 import { useNavigate } from 'react-router-dom';
-import api from '../services/api';
+import { adminService, eventService } from '../services/api';
 import '../styles/Analytics.css';
 import { BarChart, Bar, LineChart, Line, PieChart, Pie, Cell, XAxis, YAxis, CartesianGrid, Tooltip, Legend, ResponsiveContainer } from 'recharts';
 import { TrendingUp, Users, Calendar, DollarSign, Award, Activity } from 'lucide-react';
@@ -28,84 +28,40 @@ const Analytics = () => {
   const fetchAnalytics = async () => {
     try {
       setLoading(true);
-      const [eventsRes, reservationsRes, usersRes, categoriesRes] = await Promise.all([
-        api.get('/events'),
-        api.get('/admin/reservations'),
-        api.get('/users'),
-        api.get('/categories')
-      ]);
+      // Totals and per-event/per-category sales are aggregated on the server.
+      const { data } = await adminService.getAnalytics(8);
 
-      const events = eventsRes.data || [];
-      const reservations = reservationsRes.data || [];
-      const users = usersRes.data || [];
-      const categories = categoriesRes.data || [];
+      // Best event: most seats sold.
+      const best = data.topEventsBySeats?.[0];
+      const bestEvent = best ? (await eventService.getEventById(best.id)).data : null;
 
-      // Calculate total revenue
-      const totalRevenue = reservations.reduce((sum, res) => {
-        const eventPrice = events.find(e => e.id === res.event_id)?.priceBase || 0;
-        return sum + (eventPrice * (res.seats_reserved || 1));
-      }, 0);
+      const eventChartData = (data.topEventsBySeats || []).map(event => ({
+        name: (event.name || `Event #${event.id}`).substring(0, 15),
+        reservations: event.reservations,
+        seats: event.seatsSold
+      }));
 
-      // Find best event
-      const eventReservationCount = {};
-      reservations.forEach(res => {
-        eventReservationCount[res.event_id] = (eventReservationCount[res.event_id] || 0) + res.seats_reserved;
-      });
-
-      const bestEventId = Object.entries(eventReservationCount).sort((a, b) => b[1] - a[1])[0]?.[0];
-      const bestEvent = bestEventId ? events.find(e => e.id === parseInt(bestEventId)) : null;
-
-      // Prepare event data for bar chart
-      const eventChartData = events
+      const revenueChartData = (data.topEventsByRevenue || [])
+        .filter(event => event.revenueCents > 0)
         .map(event => ({
-          name: event.name.substring(0, 15),
-          reservations: reservations.filter(r => r.event_id === event.id).length,
-          seats: reservations
-            .filter(r => r.event_id === event.id)
-            .reduce((sum, r) => sum + (r.seats_reserved || 0), 0)
-        }))
-        .sort((a, b) => b.reservations - a.reservations)
-        .slice(0, 8);
+          name: (event.name || `Event #${event.id}`).substring(0, 15),
+          revenue: event.revenueCents / 100
+        }));
 
-      // Prepare revenue trend data (by event)
-      const revenueChartData = events
-        .map(event => {
-          const eventRevenue = reservations
-            .filter(r => r.event_id === event.id)
-            .reduce((sum, r) => sum + (event.priceBase * (r.seats_reserved || 0)), 0);
-          return {
-            name: event.name.substring(0, 15),
-            revenue: parseFloat(eventRevenue.toFixed(2))
-          };
-        })
-        .filter(item => item.revenue > 0)
-        .sort((a, b) => b.revenue - a.revenue)
-        .slice(0, 8);
-
-      // Prepare category distribution data
-      const categoryData = categories.map(category => {
-        const categoryReservations = reservations.filter(res => {
-          const event = events.find(e => e.id === res.event_id);
-          return event?.category_id === category.id;
-        }).length;
-        return {
+      const categoryData = (data.categories || [])
+        .map(category => ({
           name: category.name,
-          value: categoryReservations
-        };
-      }).filter(item => item.value > 0);
-
-      // Get top 5 reservations
-      const topReservations = reservations
-        .sort((a, b) => (b.seats_reserved || 0) - (a.seats_reserved || 0))
-        .slice(0, 5);
+          value: category.reservations
+        }))
+        .filter(item => item.value > 0);
 
       setStats({
-        totalEvents: events.length,
-        totalReservations: reservations.length,
-        totalUsers: users.length,
-        totalRevenue: totalRevenue.toFixed(2),
+        totalEvents: data.totalEvents,
+        totalReservations: data.reservations,
+        totalUsers: data.totalUsers,
+        totalRevenue: (data.revenueCents / 100).toFixed(2),
         bestEvent,
-        topReservations,
+        topReservations: (data.topReservations || []).slice(0, 5),
         eventData: eventChartData,
         revenueData: revenueChartData,
         categoryData
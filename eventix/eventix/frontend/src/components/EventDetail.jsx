@@ -31,6 +31,15 @@ const EventDetail = () => {
     fetchEvent();
   }, [eventId]);
 
+  // Seat count pushed by the server as it changes; the browser reconnects on its own.
+  useEffect(() => {
+    const source = eventService.watchAvailability(eventId, ({ availableSeats }) => {
+      setEvent(prev => prev && { ...prev, availableSeats });
+      setQuantity(prev => Math.max(1, Math.min(prev, availableSeats)));
+    });
+    return () => source.close();
+  }, [eventId]);
+
   const handleReservation = async () => {
     try {
       setSubmitting(true);
@@ -54,6 +63,7 @@ const EventDetail = () => {
   if (!event) return <div className="container" style={{ padding: '150px 0', textAlign: 'center' }}><h2>LOG NOT FOUND</h2></div>;
 
   const totalPrice = (event.priceBase * quantity).toFixed(2);
+  const soldOut = event.availableSeats <= 0;
 
   return (
     <div className="container" style={{ paddingTop: '160px', paddingBottom: '150px' }}>
@@ -113,7 +123,7 @@ const EventDetail = () => {
             </div>
             <div style={{ display: 'flex', alignItems: 'center', gap: '1rem', color: 'var(--text-dim)' }}>
               <Users size={20} color="var(--primary)" />
-              <span style={{ fontWeight: 600 }}>{event.availableSeats} LEFT</span>
+              <span style={{ fontWeight: 600 }}>{soldOut ? 'SOLD OUT' : `${event.availableSeats} LEFT`}</span>
             </div>
           </div>
 
@@ -163,9 +173,9 @@ const EventDetail = () => {
             className="btn-primary"
             style={{ width: '100%', padding: '1.5rem' }}
             onClick={handleReservation}
-            disabled={submitting || success}
+            disabled={submitting || success || soldOut}
           >
-            {submitting ? 'PROCESSING...' : success ? 'ACCESS GRANTED' : 'RESERVE NOW'}
+            {submitting ? 'PROCESSING...' : success ? 'ACCESS GRANTED' : soldOut ? 'SOLD OUT' : 'RESERVE NOW'}
           </button>
 
           <div style={{ marginTop: '2rem', display: 'flex', alignItems: 'center', justifyContent: 'center', gap: '0.8rem', color: 'var(--text-muted)', fontSize: '0.75rem' }}>
@@ -10,7 +10,10 @@ const Events = () => {
   const navigate = useNavigate();
   const { user } = useAuth();
   const [events, setEvents] = useState([]);
+  const [nextCursor, setNextCursor] = useState();
+  const [loadingMore, setLoadingMore] = useState(false);
   const [categories, setCategories] = useState([]);
+  const [facets, setFacets] = useState(null);
   const [loading, setLoading] = useState(true);
   const [selectedCategory, setSelectedCategory] = useState(null);
   const [searchQuery, setSearchQuery] = useState('');
@@ -25,34 +28,72 @@ const Events = () => {
   useEffect(() => {
     const fetchData = async () => {
       try {
-        const [eventsRes, categoriesRes] = await Promise.all([
-          eventService.getAllEvents(),
-          categoryService.getAllCategories()
+        const [categoriesRes, facetsRes] = await Promise.all([
+          categoryService.getAllCategories(),
+          eventService.getFacets()
         ]);
-        setEvents(eventsRes.data || []);
         setCategories(categoriesRes.data || []);
-        setFilteredEvents(eventsRes.data || []);
+        setFacets(facetsRes.data || null);
       } catch (error) {
         console.error('Error fetching data:', error);
-      } finally {
-        setLoading(false);
       }
     };
     fetchData();
   }, []);
 
+  // The category filter runs on the server; a new category starts over from the first page.
   useEffect(() => {
-    let filtered = events;
-    if (selectedCategory) {
-      filtered = filtered.filter(event => event.category_id === selectedCategory);
+    let cancelled = false;
+    const fetchFirstPage = async () => {
+      try {
+        const page = await eventService.getEventsPage({ categoryId: selectedCategory || undefined });
+        if (cancelled) return;
+        setEvents(page.items);
+        setNextCursor(page.nextCursor);
+      } catch (error) {
+        console.error('Error fetching events:', error);
+      } finally {
+        if (!cancelled) setLoading(false);
+      }
+    };
+    fetchFirstPage();
+    return () => {
+      cancelled = true;
+    };
+  }, [selectedCategory]);
+
+  const loadMore = async () => {
+    try {
+      setLoadingMore(true);
+      const page = await eventService.getEventsPage({ categoryId: selectedCategory || undefined }, nextCursor);
+      setEvents(prev => [...prev, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (error) {
+      console.error('Error fetching events:', error);
+    } finally {
+      setLoadingMore(false);
     }
-    if (searchQuery) {
-      filtered = filtered.filter(event =>
-        event.name.toLowerCase().includes(searchQuery.toLowerCase()) ||
-        event.location.toLowerCase().includes(searchQuery.toLowerCase())
-      );
+  };
+
+  useEffect(() => {
+    if (!searchQuery.trim()) {
+      setFilteredEvents(events);
+      return;
     }
-    setFilteredEvents(filtered);
+    // Ranked search runs on the server; wait for a pause in typing before asking.
+    let cancelled = false;
+    const timer = setTimeout(async () => {
+      try {
+        const response = await eventService.searchEvents(searchQuery, selectedCategory);
+        if (!cancelled) setFilteredEvents(response.data || []);
+      } catch (error) {
+        console.error('Error searching events:', error);
+      }
+    }, 250);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
   }, [selectedCategory, searchQuery, events]);
 
   const openEventModal = (event) => {
@@ -113,6 +154,26 @@ const Events = () => {
         </div>
       </div>
 
+      {facets && (
+        <div className="category-filter">
+          <button
+            className={`category-btn ${selectedCategory === null ? 'active' : ''}`}
+            onClick={() => setSelectedCategory(null)}
+          >
+            ALL ({facets.total})
+          </button>
+          {categories.filter(category => facets.categories?.[category.id]).map(category => (
+            <button
+              key={category.id}
+              className={`category-btn ${selectedCategory === category.id ? 'active' : ''}`}
+              onClick={() => setSelectedCategory(category.id)}
+            >
+              {category.name} ({facets.categories[category.id]})
+            </button>
+          ))}
+        </div>
+      )}
+
       <div className="events-grid">
         {filteredEvents.map((event, index) => (
           <motion.div
@@ -176,6 +237,14 @@ const Events = () => {
         ))}
       </div>
 
+      {!searchQuery.trim() && nextCursor && (
+        <div style={{ display: 'flex', justifyContent: 'center', marginTop: '3rem' }}>
+          <button className="btn-primary" disabled={loadingMore} onClick={loadMore}>
+            {loadingMore ? 'LOADING...' : 'LOAD MORE'}
+          </button>
+        </div>
+      )}
+
       <AnimatePresence>
         {activeEvent && (
           <div className="modal-overlay" onClick={() => setActiveEvent(null)}>
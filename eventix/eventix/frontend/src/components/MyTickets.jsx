@@ -17,6 +17,11 @@ const MyTickets = () => {
   useEffect(() => {
     if (!user) { navigate('/login'); return; }
 
+    // Tickets are issued shortly after the payment commits; poll a few times while any are missing.
+    let retryTimer;
+    let attempts = 0;
+    let unmounted = false;
+
     const fetchTickets = async () => {
       try {
         const reservationsRes = await reservationService.getReservationsByUser(user.id);
@@ -31,6 +36,7 @@ const MyTickets = () => {
 
         const ticketsData = [];
         const eventsData = {};
+        let issuing = false;
 
         for (const reservation of reservations) {
           if (!eventsData[reservation.event_id]) {
@@ -42,9 +48,11 @@ const MyTickets = () => {
             }
           }
 
+          let issued = false;
           try {
             const ticketRes = await ticketService.getAllTicketsByReservation(reservation.id);
             const ticketsArray = Array.isArray(ticketRes.data) ? ticketRes.data : [ticketRes.data];
+            issued = ticketsArray.some(ticket => ticket);
             ticketsArray.forEach(ticket => {
               // Only include tickets that are not cancelled
               if (ticket.status !== 'CANCELED') {
@@ -60,10 +68,15 @@ const MyTickets = () => {
             console.error(`Error fetching tickets for reservation ${reservation.id}:`, error.message);
             // Don't create placeholder tickets - wait for real tickets to be saved to database
           }
+          if (reservation.status === 'PAID' && !issued) issuing = true;
         }
 
         setTickets(ticketsData);
         setEvents(eventsData);
+        if (issuing && attempts < 5 && !unmounted) {
+          attempts += 1;
+          retryTimer = setTimeout(fetchTickets, 1500);
+        }
       } catch (error) {
         console.error('Error fetching reservations:', error);
       } finally {
@@ -72,6 +85,7 @@ const MyTickets = () => {
     };
 
     fetchTickets();
+    return () => { unmounted = true; clearTimeout(retryTimer); };
   }, [user, navigate]);
 
   const handleCopyCode = (code) => {
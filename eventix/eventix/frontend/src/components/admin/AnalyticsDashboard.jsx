@@ -1,6 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import { motion } from 'framer-motion';
-import api from '../../services/api';
+import { adminService, eventService } from '../../services/api';
+import LiveSales from './LiveSales';
 import '../../styles/AnalyticsDashboard.css';
 import { TrendingUp, Users, Calendar, Zap, DollarSign, Award } from 'lucide-react';
 
@@ -11,7 +12,8 @@ const AnalyticsDashboard = () => {
     totalUsers: 0,
     totalRevenue: 0,
     bestEvent: null,
-    topReservations: []
+    topReservations: [],
+    topEvents: []
   });
   const [loading, setLoading] = useState(true);
 
@@ -22,43 +24,21 @@ const AnalyticsDashboard = () => {
   const fetchAnalytics = async () => {
     try {
       setLoading(true);
-      const [eventsRes, reservationsRes, usersRes] = await Promise.all([
-        api.get('/events'),
-        api.get('/admin/reservations'),
-        api.get('/users')
-      ]);
+      // Totals and per-event sales are aggregated on the server.
+      const { data } = await adminService.getAnalytics(5);
 
-      const events = eventsRes.data || [];
-      const reservations = reservationsRes.data || [];
-      const users = usersRes.data || [];
-
-      // Calculate total revenue (assuming each seat has a base price)
-      const totalRevenue = reservations.reduce((sum, res) => {
-        const eventPrice = events.find(e => e.id === res.event_id)?.priceBase || 0;
-        return sum + (eventPrice * (res.seats_reserved || 1));
-      }, 0);
-
-      // Find best event (most reservations)
-      const eventReservationCount = {};
-      reservations.forEach(res => {
-        eventReservationCount[res.event_id] = (eventReservationCount[res.event_id] || 0) + res.seats_reserved;
-      });
-
-      const bestEventId = Object.entries(eventReservationCount).sort((a, b) => b[1] - a[1])[0]?.[0];
-      const bestEvent = bestEventId ? events.find(e => e.id === parseInt(bestEventId)) : null;
-
-      // Get top 5 reservations by seats
-      const topReservations = reservations
-        .sort((a, b) => (b.seats_reserved || 0) - (a.seats_reserved || 0))
-        .slice(0, 5);
+      // Best event: most seats sold.
+      const best = data.topEventsBySeats?.[0];
+      const bestEvent = best ? (await eventService.getEventById(best.id)).data : null;
 
       setStats({
-        totalEvents: events.length,
-        totalReservations: reservations.length,
-        totalUsers: users.length,
-        totalRevenue: totalRevenue.toFixed(2),
+        totalEvents: data.totalEvents,
+        totalReservations: data.reservations,
+        totalUsers: data.totalUsers,
+        totalRevenue: (data.revenueCents / 100).toFixed(2),
         bestEvent,
-        topReservations
+        topReservations: data.topReservations || [],
+        topEvents: data.topEventsBySeats || []
       });
     } catch (error) {
       console.error('Error fetching analytics:', error);
@@ -185,6 +165,18 @@ const AnalyticsDashboard = () => {
         </motion.div>
       </div>
 
+      {stats.topEvents.length > 0 && (
+        <div className="dashboard-section">
+          <motion.div
+            initial={{ opacity: 0, y: 20 }}
+            animate={{ opacity: 1, y: 0 }}
+            transition={{ duration: 0.6, delay: 0.25 }}
+          >
+            <LiveSales events={stats.topEvents} />
+          </motion.div>
+        </div>
+      )}
+
       <div className="dashboard-section">
         <motion.div
           initial={{ opacity: 0, y: 20 }}
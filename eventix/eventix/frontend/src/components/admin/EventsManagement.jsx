@@ -1,9 +1,11 @@
 import React, { useState, useEffect } from 'react';
-import api from '../../services/api';
+import api, { adminService, eventService } from '../../services/api';
 import '../../styles/Management.css';
 
 const EventsManagement = () => {
   const [events, setEvents] = useState([]);
+  const [nextCursor, setNextCursor] = useState();
+  const [stats, setStats] = useState({});
   const [categories, setCategories] = useState([]);
   const [showForm, setShowForm] = useState(false);
   const [editingId, setEditingId] = useState(null);
@@ -29,24 +31,39 @@ const EventsManagement = () => {
     fetchCategories();
   }, []);
 
-  const fetchEvents = async () => {
+  // Without a cursor, starts over from the first page; with one, appends the next page.
+  const fetchEvents = async (cursor) => {
     try {
       setLoading(true);
-      const response = await api.get('/events');
-      console.log('✅ Events fetched:', response.data);
-      console.log('📸 First event imageUrl:', response.data[0]?.imageUrl);
-      console.log('📸 First event full data:', response.data[0]);
+      const page = await eventService.getEventsPage({}, cursor);
+      console.log('✅ Events fetched:', page.items);
+      console.log('📸 First event imageUrl:', page.items[0]?.imageUrl);
+      console.log('📸 First event full data:', page.items[0]);
       
-      const eventsData = Array.isArray(response.data) ? response.data : [];
-      setEvents(eventsData);
+      const eventsData = Array.isArray(page.items) ? page.items : [];
+      setEvents(prev => cursor ? [...prev, ...eventsData] : eventsData);
+      setNextCursor(page.nextCursor);
+      fetchStats(cursor);
     } catch (error) {
       console.error('❌ Error fetching events:', error);
-      setEvents([]); 
+      if (!cursor) setEvents([]);
     } finally {
       setLoading(false);
     }
   };
 
+  // Both lists are ordered by event id, so the same cursor gives the stats of the same events.
+  const fetchStats = async (cursor) => {
+    try {
+      const page = await adminService.getEventStatsPage(cursor);
+      const byEvent = {};
+      page.items.forEach(row => { byEvent[row.event_id] = row; });
+      setStats(prev => cursor ? { ...prev, ...byEvent } : byEvent);
+    } catch (error) {
+      console.error('❌ Error fetching event stats:', error);
+    }
+  };
+
   const fetchCategories = async () => {
     try {
       const response = await api.get('/categories');
@@ -415,6 +432,22 @@ const EventsManagement = () => {
                 <span className="label">🎫 Seats:</span>
                 <span>{event.availableSeats} / {event.totalCapacity}</span>
               </div>
+              {stats[event.id] && (
+                <>
+                  <div className="detail-item">
+                    <span className="label">✅ Sold:</span>
+                    <span>{stats[event.id].seatsSold} seats ({stats[event.id].heldSeats} held, {stats[event.id].cancelledSeats} cancelled)</span>
+                  </div>
+                  <div className="detail-item">
+                    <span className="label">🚪 Checked in:</span>
+                    <span>{stats[event.id].ticketsCheckedIn}</span>
+                  </div>
+                  <div className="detail-item">
+                    <span className="label">💵 Revenue:</span>
+                    <span>${(stats[event.id].revenueCents / 100).toFixed(2)}</span>
+                  </div>
+                </>
+              )}
             </div>
             <div className="card-actions">
               <button
@@ -433,6 +466,14 @@ const EventsManagement = () => {
           </div>
         ))}
       </div>
+
+      {nextCursor && (
+        <div className="load-more">
+          <button className="btn btn-secondary" disabled={loading} onClick={() => fetchEvents(nextCursor)}>
+            {loading ? 'Loading...' : 'Load more events'}
+          </button>
+        </div>
+      )}
     </div>
   );
 };
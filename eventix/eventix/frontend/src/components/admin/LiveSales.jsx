@@ -0,0 +1,73 @@
+import React, { useState, useEffect } from 'react';
+import { BarChart, Bar, XAxis, YAxis, CartesianGrid, Tooltip, ResponsiveContainer } from 'recharts';
+import { adminService } from '../../services/api';
+
+// Minutes shown in the chart.
+const WINDOW = 30;
+
+const timeLabel = (at) => new Date(at).toLocaleTimeString([], { hour: '2-digit', minute: '2-digit' });
+const dollars = (cents) => `$${((cents || 0) / 100).toFixed(2)}`;
+
+const LiveSales = ({ events }) => {
+  const [eventId, setEventId] = useState(events[0]?.id);
+  const [minutes, setMinutes] = useState([]);
+  const [current, setCurrent] = useState(null);
+
+  useEffect(() => {
+    if (!eventId) return undefined;
+    let source;
+    let cancelled = false;
+    setCurrent(null);
+
+    adminService.getSalesHistory(eventId, 'minute')
+      .then(res => {
+        if (cancelled) return;
+        setMinutes(res.data.slice(-WINDOW));
+        // Each update carries the current minute: replace the last bar, or start a new one.
+        source = adminService.streamSales(eventId, update => {
+          setCurrent(update);
+          setMinutes(prev => {
+            const point = update.minute;
+            if (prev.length > 0 && prev[prev.length - 1].at === point.at) {
+              return [...prev.slice(0, -1), point];
+            }
+            return [...prev, point].slice(-WINDOW);
+          });
+        });
+      })
+      .catch(error => console.error('Error fetching sales:', error));
+
+    return () => {
+      cancelled = true;
+      if (source) source.close();
+    };
+  }, [eventId]);
+
+  if (events.length === 0) return null;
+
+  return (
+    <div className="top-reservations-card">
+      <h2 className="section-title">⚡ LIVE SALES</h2>
+      <div style={{ display: 'flex', gap: '1.5rem', alignItems: 'center', flexWrap: 'wrap', marginBottom: '1rem' }}>
+        <select value={eventId} onChange={(e) => setEventId(Number(e.target.value))}>
+          {events.map(event => (
+            <option key={event.id} value={event.id}>{event.name || `Event #${event.id}`}</option>
+          ))}
+        </select>
+        <span>THIS MINUTE: <strong>{current?.minute.seats ?? 0} 🎫 · {dollars(current?.minute.revenueCents)}</strong></span>
+        <span>THIS HOUR: <strong>{current?.hour.seats ?? 0} 🎫 · {dollars(current?.hour.revenueCents)}</strong></span>
+      </div>
+      <ResponsiveContainer width="100%" height={220}>
+        <BarChart data={minutes.map(point => ({ time: timeLabel(point.at), seats: point.seats }))}>
+          <CartesianGrid strokeDasharray="3 3" />
+          <XAxis dataKey="time" />
+          <YAxis allowDecimals={false} />
+          <Tooltip />
+          <Bar dataKey="seats" fill="#F4793A" />
+        </BarChart>
+      </ResponsiveContainer>
+    </div>
+  );
+};
+
+export default LiveSales;
@@ -1,26 +1,29 @@
 import React, { useState, useEffect } from 'react';
-import api from '../../services/api';
+import api, { adminService } from '../../services/api';
 import '../../styles/Management.css';
 
 const ReservationsManagement = () => {
   const [reservations, setReservations] = useState([]);
+  const [nextCursor, setNextCursor] = useState();
   const [loading, setLoading] = useState(false);
 
   useEffect(() => {
     fetchReservations();
   }, []);
 
-  const fetchReservations = async () => {
+  // Without a cursor, starts over from the first page; with one, appends the next page.
+  const fetchReservations = async (cursor) => {
     try {
       setLoading(true);
-      const response = await api.get('/admin/reservations');
-      console.log('✅ Reservations fetched:', response.data);
+      const page = await adminService.getReservationsPage({}, cursor);
+      console.log('✅ Reservations fetched:', page.items);
       
-      const reservationsData = Array.isArray(response.data) ? response.data : [];
-      setReservations(reservationsData);
+      const reservationsData = Array.isArray(page.items) ? page.items : [];
+      setReservations(prev => cursor ? [...prev, ...reservationsData] : reservationsData);
+      setNextCursor(page.nextCursor);
     } catch (error) {
       console.error('❌ Error fetching reservations:', error);
-      setReservations([]); 
+      if (!cursor) setReservations([]);
     } finally {
       setLoading(false);
     }
@@ -33,13 +36,21 @@ const ReservationsManagement = () => {
       console.log('📤 Cancelling Reservation:', id);
       await api.delete(`/admin/reservations/${id}`);
       console.log('✅ Reservation cancelled successfully!');
-      fetchReservations();
+      // Updated in place, so the pages already loaded stay on screen.
+      setReservations(prev => prev.map(r => r.id === id ? { ...r, status: 'CANCELLED' } : r));
     } catch (error) {
       console.error('❌ Error cancelling reservation:', error);
       alert('Failed to cancel reservation: ' + (error.response?.data?.message || error.message));
     }
   };
 
+  // The response is an attachment, so following the link downloads it and the page stays put.
+  const handleExport = (table) => {
+    const link = document.createElement('a');
+    link.href = adminService.exportUrl(table, 'csv');
+    link.click();
+  };
+
   return (
     <div className="management-container">
       <div className="management-header">
@@ -47,6 +58,13 @@ const ReservationsManagement = () => {
           <h2>🎫 Reservations Management</h2>
           <p className="subtitle">View and manage all ticket reservations</p>
         </div>
+        <div style={{ display: 'flex', gap: '0.5rem' }}>
+          {['reservations', 'tickets', 'payments'].map(table => (
+            <button key={table} className="btn btn-secondary" onClick={() => handleExport(table)}>
+              ⬇️ Export {table} CSV
+            </button>
+          ))}
+        </div>
       </div>
 
       <div className={`reservations-grid ${loading ? 'loading' : ''}`}>
@@ -87,6 +105,14 @@ const ReservationsManagement = () => {
           </div>
         ))}
       </div>
+
+      {nextCursor && (
+        <div className="load-more">
+          <button className="btn btn-secondary" disabled={loading} onClick={() => fetchReservations(nextCursor)}>
+            {loading ? 'Loading...' : 'Load more reservations'}
+          </button>
+        </div>
+      )}
     </div>
   );
 };
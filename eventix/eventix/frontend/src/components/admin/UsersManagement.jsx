@@ -1,26 +1,29 @@
 import React, { useState, useEffect } from 'react';
-import api from '../../services/api';
+import { adminService } from '../../services/api';
 import '../../styles/Management.css';
 
 const UsersManagement = () => {
   const [users, setUsers] = useState([]);
+  const [nextCursor, setNextCursor] = useState();
   const [loading, setLoading] = useState(false);
 
   useEffect(() => {
     fetchUsers();
   }, []);
 
-  const fetchUsers = async () => {
+  // Without a cursor, starts over from the first page; with one, appends the next page.
+  const fetchUsers = async (cursor) => {
     try {
       setLoading(true);
-      const response = await api.get('/admin/users');
-      console.log('✅ Users fetched:', response.data);
+      const page = await adminService.getUsersPage({}, cursor);
+      console.log('✅ Users fetched:', page.items);
       
-      const usersData = Array.isArray(response.data) ? response.data : [];
-      setUsers(usersData);
+      const usersData = Array.isArray(page.items) ? page.items : [];
+      setUsers(prev => cursor ? [...prev, ...usersData] : usersData);
+      setNextCursor(page.nextCursor);
     } catch (error) {
       console.error('❌ Error fetching users:', error);
-      setUsers([]); 
+      if (!cursor) setUsers([]);
     } finally {
       setLoading(false);
     }
@@ -70,6 +73,14 @@ const UsersManagement = () => {
           </tbody>
         </table>
       </div>
+
+      {nextCursor && (
+        <div className="load-more">
+          <button className="btn btn-secondary" disabled={loading} onClick={() => fetchUsers(nextCursor)}>
+            {loading ? 'Loading...' : 'Load more users'}
+          </button>
+        </div>
+      )}
     </div>
   );
 };
@@ -27,6 +27,17 @@ api.interceptors.response.use(
 );
 
 
+export const PAGE_SIZE = 50;
+
+// List endpoints are paged; the cursor for the next page comes back in X-Next-Cursor.
+// Resolves to one page: { items, nextCursor }, with nextCursor undefined on the last page.
+// Screens load the next page when asked rather than walking the whole table up front.
+export const getPage = async (path, params = {}, cursor) => {
+  const response = await api.get(path, { params: { ...params, limit: PAGE_SIZE, cursor } });
+  return { items: response.data || [], nextCursor: response.headers['x-next-cursor'] };
+};
+
+
 export const authService = {
   register: (data) => api.post('/auth/register', data),
   login: (email, password) => api.post('/auth/login', null, {
@@ -36,10 +47,17 @@ export const authService = {
 
 
 export const eventService = {
-  getAllEvents: () => api.get('/events'),
+  getEventsPage: (params = {}, cursor) => getPage('/events', params, cursor),
   getEventById: (id) => api.get(`/events/${id}`),
   getEventsByCategory: (categoryId) => api.get(`/events/byCategory/${categoryId}`),
-  searchEvents: (query) => api.get('/events', { params: { search: query } }),
+  searchEvents: (query, categoryId) => api.get('/events', { params: { search: query, categoryId: categoryId || undefined } }),
+  getFacets: (filters = {}) => api.get('/events/facets', { params: filters }),
+  // Server-Sent Events with the seat count; close() the returned source to stop.
+  watchAvailability: (id, onUpdate) => {
+    const source = new EventSource(`${API_BASE_URL}/events/${id}/availability/stream`);
+    source.addEventListener('availability', (event) => onUpdate(JSON.parse(event.data)));
+    return source;
+  },
 };
 
 
@@ -50,7 +68,10 @@ export const categoryService = {
 
 
 export const reservationService = {
-  createReservation: (data) => api.post('/reservations', data),
+  createReservation: (data, queueToken) => api.post('/reservations', data,
+    queueToken ? { headers: { 'X-Queue-Token': queueToken } } : undefined),
+  joinQueue: (eventId) => api.post(`/reservations/queue/${eventId}`),
+  getQueuePosition: (eventId, token) => api.get(`/reservations/queue/${eventId}/${token}`),
   getReservationsByUser: (userId) => api.get(`/reservations/${userId}`),
   getReservationById: (id) => api.get(`/reservations/detail/${id}`),
   cancelReservation: (id) => api.delete(`/reservations/${id}`),
@@ -67,13 +88,13 @@ export const ticketService = {
   getTicketByReservation: (reservationId) => api.get(`/tickets/reservation/${reservationId}`),
   getAllTicketsByReservation: (reservationId) => api.get(`/tickets/byReservation/${reservationId}`),
   getTicketByCode: (code) => api.get(`/tickets/code/${code}`),
-  getAllTickets: () => api.get('/tickets'),
+  getTicketsPage: (params = {}, cursor) => getPage('/tickets', params, cursor),
 };
 
 
 export const userService = {
   getUserById: (id) => api.get(`/users/${id}`),
-  getAllUsers: () => api.get('/users'),
+  getUsersPage: (params = {}, cursor) => getPage('/users', params, cursor),
   checkIsAdmin: (userId) => api.get(`/users/${userId}/is-admin`),
 };
 
@@ -83,14 +104,33 @@ export const adminService = {
   createEvent: (data) => api.post('/admin/events', data),
   updateEvent: (id, data) => api.put(`/admin/events/${id}`, data),
   deleteEvent: (id) => api.delete(`/admin/events/${id}`),
+  // One row per event: reservations and seats by status, check-ins and revenue in cents.
+  getEventStatsPage: (cursor) => getPage('/admin/events/stats', {}, cursor),
+  getEventStats: (id) => api.get(`/admin/events/${id}/stats`),
 
 
   createCategory: (data) => api.post('/admin/categories', data),
   deleteCategory: (id) => api.delete(`/admin/categories/${id}`),
 
 
-  getAllReservations: () => api.get('/admin/reservations'),
+  getReservationsPage: (params = {}, cursor) => getPage('/admin/reservations', params, cursor),
+  getUsersPage: (params = {}, cursor) => getPage('/admin/users', params, cursor),
   cancelReservation: (id) => api.delete(`/admin/reservations/${id}`),
+
+  getAnalytics: (limit = 8) => api.get('/admin/analytics', { params: { limit } }),
+  getSalesHistory: (eventId, resolution = 'minute') =>
+    api.get(`/admin/events/${eventId}/sales`, { params: { resolution } }),
+  // Server-Sent Events with the current second, minute and hour; close() the returned source to stop.
+  streamSales: (eventId, onUpdate) => {
+    const source = new EventSource(`${API_BASE_URL}/admin/events/${eventId}/sales/stream`, { withCredentials: true });
+    source.addEventListener('sales', (event) => onUpdate(JSON.parse(event.data)));
+    return source;
+  },
+  // table: reservations | tickets | payments; format: csv | ndjson
+  // The browser downloads it itself, sending the session cookie: no request timeout cuts off
+  // a long export, and the file streams to disk instead of building up in memory as a blob.
+  exportUrl: (table, format = 'csv', params = {}) =>
+    `${API_BASE_URL}/admin/exports/${table}?${new URLSearchParams({ format, ...params })}`,
 };
 
 export default api;